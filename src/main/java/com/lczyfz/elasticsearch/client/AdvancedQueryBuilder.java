@@ -0,0 +1,309 @@
+package com.lczyfz.elasticsearch.client;
+
+import static com.lczyfz.elasticsearch.constant.MatchMethod.*;
+
+import com.lczyfz.elasticsearch.entity.AdvancedSearchCondition;
+import com.lczyfz.elasticsearch.entity.HighlightSetting;
+import com.lczyfz.elasticsearch.entity.SearchField;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.elasticsearch.index.query.BoolQueryBuilder;
+import org.elasticsearch.index.query.QueryBuilder;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.fetch.subphase.highlight.HighlightBuilder;
+
+/**
+ * Build elasticsearch query from search condition.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+final class AdvancedQueryBuilder {
+
+    /**
+     * Query string search format.
+     */
+    private static final String QUERY_STRING_FORMAT = "*%s*";
+
+    /**
+     * Highlight every field the keyword matched.
+     */
+    static final List<String> ALL_FIELDS = Collections.singletonList("*");
+
+    /**
+     * Unified highlighter type.
+     */
+    private static final String UNIFIED_HIGHLIGHTER = "unified";
+
+    /**
+     * Hide constructor.
+     */
+    private AdvancedQueryBuilder() {
+    }
+
+    /**
+     * Create bool query of advanced search condition.
+     *
+     * @param condition The user selected condition.
+     * @return Bool query.
+     * @throws ParseException If something goes wrong.
+     */
+    static BoolQueryBuilder build(final AdvancedSearchCondition condition)
+        throws ParseException {
+        return build(condition, Collections.emptyMap());
+    }
+
+    /**
+     * Create bool query of advanced search condition, a field without
+     * type name takes the type of the index mapping and the search group
+     * is flattened into the bool query.
+     *
+     * @param condition The user selected condition.
+     * @param fieldTypes Elasticsearch field types key as field name.
+     * @return Bool query.
+     * @throws ParseException If something goes wrong.
+     */
+    static BoolQueryBuilder build(final AdvancedSearchCondition condition,
+        final Map<String, String> fieldTypes) throws ParseException {
+
+        // The search method and the search group are combined by AND.
+        return GroupQueryBuilder.build(condition.getSearchMethod(),
+            condition.getSearchGroup(), fieldTypes);
+    }
+
+    /**
+     * Convert and validate the fields of the condition, fields of types
+     * that can not be searched are left out.
+     *
+     * @param condition The user selected condition.
+     * @param fieldTypes Elasticsearch field types key as field name.
+     * @return Field conditions.
+     * @throws ParseException If a time is not a valid date.
+     */
+    static List<FieldCondition> compile(
+        final AdvancedSearchCondition condition,
+        final Map<String, String> fieldTypes) throws ParseException {
+        return compile(condition.getSearchMethod(), fieldTypes);
+    }
+
+    /**
+     * Convert and validate search fields, fields of types that can not be
+     * searched are left out.
+     *
+     * @param searchFields Search fields, may be null.
+     * @param fieldTypes Elasticsearch field types key as field name.
+     * @return Field conditions.
+     * @throws ParseException If a time is not a valid date.
+     */
+    static List<FieldCondition> compile(final List<SearchField> searchFields,
+        final Map<String, String> fieldTypes) throws ParseException {
+        List<FieldCondition> fields = new ArrayList<>();
+        if (searchFields != null) {
+            for (final SearchField field : searchFields) {
+                FieldCondition compiled =
+                    FieldCondition.of(field, typeName(field, fieldTypes));
+                if (compiled != null) {
+                    fields.add(compiled);
+                }
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * Routing value of the condition, present when every index shares
+     * the same routing field and the condition requires it to be equal
+     * to a single value.
+     *
+     * @param condition The user selected condition.
+     * @param routingFields Routing field key as index name.
+     * @return Routing value, or null to search every shard.
+     */
+    static String routing(final AdvancedSearchCondition condition,
+        final Map<String, String> routingFields) {
+
+        String routingField = null;
+        boolean shared = condition.getIndexName() != null
+            && condition.getIndexName().length > 0;
+        if (shared) {
+            for (final String indexName : condition.getIndexName()) {
+                String field = routingFields.get(indexName);
+                if (field == null
+                    || routingField != null && !routingField.equals(field)) {
+                    shared = false;
+                }
+                routingField = field;
+            }
+        }
+
+        String routing = null;
+        if (shared && condition.getSearchMethod() != null) {
+            for (final SearchField field : condition.getSearchMethod()) {
+                if (EQUALS.equals(field.getMethod())
+                    && routingField.equals(field.getFieldName())) {
+                    routing = field.getValue();
+                }
+            }
+        }
+
+        return routing;
+    }
+
+    /**
+     * Fields the condition matches text in, CONTAINS and LIKE fields.
+     *
+     * @param condition The user selected condition.
+     * @return Field names.
+     */
+    static List<String> matchFields(final AdvancedSearchCondition condition) {
+        List<String> fields = new ArrayList<>();
+        for (final SearchField field : allFields(condition)) {
+            if (CONTAINS.equals(field.getMethod())
+                || LIKE.equals(field.getMethod())) {
+                fields.add(field.getFieldName());
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * Add the unified highlighter and the source projection.
+     *
+     * @param source The search source.
+     * @param setting Highlight setting, null means no highlight.
+     * @param matchFields Fields highlighted when the setting has none.
+     */
+    static void highlight(final SearchSourceBuilder source,
+        final HighlightSetting setting, final List<String> matchFields) {
+        if (setting == null) {
+            return;
+        }
+        List<String> fields = setting.getFields();
+        if (fields == null) {
+            fields = matchFields;
+        }
+        if (!fields.isEmpty()) {
+            HighlightBuilder highlighter = new HighlightBuilder()
+                .highlighterType(UNIFIED_HIGHLIGHTER)
+                .fragmentSize(setting.getFragmentSize())
+                .numOfFragments(setting.getNumberOfFragments())
+                .preTags(setting.getPreTag())
+                .postTags(setting.getPostTag());
+            for (final String field : fields) {
+                highlighter.field(field);
+            }
+            source.highlighter(highlighter);
+        }
+        if (setting.getSourceFields() != null) {
+            if (setting.getSourceFields().isEmpty()) {
+                source.fetchSource(false);
+            } else {
+                source.fetchSource(
+                    setting.getSourceFields().toArray(new String[0]), null
+                );
+            }
+        }
+    }
+
+    /**
+     * Create date query.
+     *
+     * @param field Search field.
+     * @return Query.
+     * @throws ParseException If something goes wrong.
+     */
+    static QueryBuilder crateQuery(final SearchField field)
+        throws ParseException {
+        return crateQuery(field, field.getTypeName());
+    }
+
+    /**
+     * Whether any field of the condition lacks a type name.
+     *
+     * @param condition The user selected condition.
+     * @return True if the mapping is needed.
+     */
+    static boolean needsFieldTypes(final AdvancedSearchCondition condition) {
+        boolean needs = false;
+        for (final SearchField field : allFields(condition)) {
+            needs |= field.getTypeName() == null;
+        }
+        return needs;
+    }
+
+    /**
+     * Fields of the search method and the search group.
+     *
+     * @param condition The user selected condition.
+     * @return Search fields.
+     */
+    private static List<SearchField> allFields(
+        final AdvancedSearchCondition condition) {
+        List<SearchField> fields = new ArrayList<>();
+        if (condition.getSearchMethod() != null) {
+            fields.addAll(condition.getSearchMethod());
+        }
+        GroupQueryBuilder.fields(condition.getSearchGroup(), fields);
+        return fields;
+    }
+
+    /**
+     * Type name of the field, the declared one or the mapped one.
+     *
+     * @param field Search field.
+     * @param fieldTypes Elasticsearch field types key as field name.
+     * @return Phoenix type name.
+     */
+    private static String typeName(final SearchField field,
+        final Map<String, String> fieldTypes) {
+        String typeName = field.getTypeName();
+        if (typeName == null) {
+            typeName = DataTypeMapping.phoenixType(
+                fieldTypes.get(field.getFieldName())
+            );
+            if (typeName == null) {
+                throw new IllegalArgumentException(
+                    "Unknown field type: " + field.getFieldName()
+                );
+            }
+        }
+        return typeName;
+    }
+
+    /**
+     * Create query of the type.
+     *
+     * @param field Search field.
+     * @param declaredType Phoenix type name.
+     * @return Query.
+     * @throws ParseException If something goes wrong.
+     */
+    private static QueryBuilder crateQuery(final SearchField field,
+        final String declaredType) throws ParseException {
+        FieldCondition condition = FieldCondition.of(field, declaredType);
+        return condition == null ? null : condition.toQuery();
+    }
+
+    /**
+     * Generate query statements based on keywords.
+     *
+     * @param keyword The keyword.
+     * @return QueryBuilder.
+     */
+    static QueryBuilder crateQuery(final String keyword) {
+        QueryBuilder query = null;
+        if (keyword == null || "".equals(keyword)) {
+            query = QueryBuilders.matchAllQuery();
+        } else {
+            query = QueryBuilders
+                .queryStringQuery(String
+                    .format(QUERY_STRING_FORMAT, keyword));
+        }
+
+        return query;
+    }
+}
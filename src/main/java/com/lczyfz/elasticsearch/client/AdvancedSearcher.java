@@ -0,0 +1,397 @@
+package com.lczyfz.elasticsearch.client;
+
+import com.lczyfz.elasticsearch.entity.AdvancedSearchCondition;
+import com.lczyfz.elasticsearch.entity.AggregationField;
+import com.lczyfz.elasticsearch.entity.AggregationResult;
+import com.lczyfz.elasticsearch.entity.SearchResult;
+import com.lczyfz.elasticsearch.entity.SortField;
+import java.io.IOException;
+import java.text.ParseException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import org.elasticsearch.action.search.MultiSearchRequest;
+import org.elasticsearch.action.search.MultiSearchResponse;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.index.query.BoolQueryBuilder;
+import org.elasticsearch.index.query.QueryBuilder;
+import org.elasticsearch.search.SearchHits;
+import org.elasticsearch.search.aggregations.Aggregations;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.sort.SortBuilder;
+
+/**
+ * Execute advanced search conditions, page search, count and
+ * aggregations.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+final class AdvancedSearcher {
+
+    /**
+     * Accurate total relation.
+     */
+    private static final String TOTAL_RELATION_EQ = "eq";
+
+    /**
+     * Lower bound total relation.
+     */
+    private static final String TOTAL_RELATION_GTE = "gte";
+
+    /**
+     * Max from and size of a page search.
+     */
+    private static final int MAX_RESULT_WINDOW = 10000;
+
+    /**
+     * Search executor.
+     */
+    private final SearchExecutor executor;
+
+    /**
+     * Routing field key as index name.
+     */
+    private final Map<String, String> routingFields;
+
+    /**
+     * Index metadata cache.
+     */
+    private final IndexMetadataCache metadata;
+
+    /**
+     * Search profiler, null means profiling is off.
+     */
+    private volatile SearchProfiler profiler;
+
+    /**
+     * Advanced searcher constructor.
+     *
+     * @param executor Search executor.
+     * @param routingFields Routing field key as index name.
+     * @param metadata Index metadata cache.
+     */
+    AdvancedSearcher(final SearchExecutor executor,
+        final Map<String, String> routingFields,
+        final IndexMetadataCache metadata) {
+        this.executor = executor;
+        this.routingFields = routingFields;
+        this.metadata = metadata;
+    }
+
+    /**
+     * Sets profiler.
+     *
+     * @param profiler Simple param.
+     */
+    void setProfiler(final SearchProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    /**
+     * Advanced search.
+     *
+     * @param condition The user selected condition.
+     * @param pageNo The page number.
+     * @param pageSize The page size.
+     * @return Result or return null if condition doesn't meet specifications.
+     * @throws IOException If something goes wrong.
+     * @throws ParseException If something goes wrong.
+     */
+    SearchResult search(final AdvancedSearchCondition condition,
+        final Integer pageNo, final Integer pageSize)
+        throws IOException, ParseException {
+
+        SearchProfiler.Trace trace = SearchProfiler.start(this.profiler);
+        List<SortField> sortFields = SortFactory.sortFields(condition);
+        Map<String, String> fieldTypes = this.fieldTypes(condition,
+            AdvancedQueryBuilder.needsFieldTypes(condition)
+                || SortFactory.needsFieldTypes(sortFields,
+                    condition.getTiebreakerField())
+                || AggregationFactory.needsFieldTypes(
+                    condition.getAggregations()));
+        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
+        searchSourceBuilder.query(
+            AdvancedQueryBuilder.build(condition, fieldTypes)
+        );
+        searchSourceBuilder.size(pageSize);
+        for (final SortBuilder<?> sort
+            : SortFactory.create(sortFields, fieldTypes,
+                condition.getTiebreakerField())) {
+            searchSourceBuilder.sort(sort);
+        }
+        addAggregations(searchSourceBuilder, condition, fieldTypes);
+        AdvancedQueryBuilder.highlight(searchSourceBuilder,
+            condition.getHighlight(),
+            AdvancedQueryBuilder.matchFields(condition));
+        trace.built(searchSourceBuilder);
+
+        SearchResult result;
+        SearchRequest searchRequest =
+            this.searchRequest(condition, searchSourceBuilder);
+        Integer threshold = condition.getTrackTotalHitsUpTo();
+        if (threshold != null && pageNo * pageSize <= MAX_RESULT_WINDOW) {
+            result = this.thresholdSearch(
+                condition, searchSourceBuilder, pageNo, trace
+            );
+        } else {
+            searchRequest.scroll(EasyRestHighLevelClient.DEFAULT_SCROLL);
+
+            // Execute query, aggregations only come with the first page.
+            AtomicReference<SearchResponse> first = new AtomicReference<>();
+            SearchHits searchHits = this.executor.scrollSearch(
+                searchRequest, pageNo, first::set,
+                condition.getScrollSession());
+            trace.responded(first.get());
+            trace.waited();
+            result = withAggregations(SearchResults.result(
+                searchHits, condition.getHighlight()
+            ), first.get().getAggregations(), condition);
+        }
+        trace.finish(searchRequest, pageNo, result);
+
+        return result;
+    }
+
+    /**
+     * Run the aggregations of the condition without fetching hits.
+     *
+     * @param condition The user selected condition.
+     * @return Aggregation results in the order of the condition.
+     * @throws IOException If something goes wrong.
+     * @throws ParseException If something goes wrong.
+     */
+    List<AggregationResult> aggregate(final AdvancedSearchCondition condition)
+        throws IOException, ParseException {
+
+        Map<String, String> fieldTypes = this.fieldTypes(condition,
+            AdvancedQueryBuilder.needsFieldTypes(condition)
+                || AggregationFactory.needsFieldTypes(
+                    condition.getAggregations()));
+        SearchRequest request = this.countRequest(condition,
+            AdvancedQueryBuilder.build(condition, fieldTypes), null);
+        addAggregations(request.source(), condition, fieldTypes);
+        SearchResponse response =
+            this.executor.search(request);
+        return AggregationFactory.extract(
+            response.getAggregations(), condition.getAggregations()
+        );
+    }
+
+    /**
+     * Count the documents matching the condition without fetching them.
+     *
+     * @param condition The user selected condition.
+     * @return Document count.
+     * @throws IOException If something goes wrong.
+     * @throws ParseException If something goes wrong.
+     */
+    long count(final AdvancedSearchCondition condition)
+        throws IOException, ParseException {
+
+        SearchRequest request = this.countRequest(
+            condition, this.query(condition), null
+        );
+        return this.executor.search(request)
+            .getHits().getTotalHits();
+    }
+
+    /**
+     * Create the query, fields without type name take the type of the
+     * cached index mapping.
+     *
+     * @param condition The user selected condition.
+     * @return Bool query.
+     * @throws IOException If something goes wrong.
+     * @throws ParseException If something goes wrong.
+     */
+    private BoolQueryBuilder query(final AdvancedSearchCondition condition)
+        throws IOException, ParseException {
+        return AdvancedQueryBuilder.build(condition, this.fieldTypes(
+            condition, AdvancedQueryBuilder.needsFieldTypes(condition)
+        ));
+    }
+
+    /**
+     * Cached field types of the condition indices, the first index wins
+     * a conflict.
+     *
+     * @param condition The user selected condition.
+     * @param needed Whether the field types are needed.
+     * @return Field types, empty if not needed.
+     * @throws IOException If something goes wrong.
+     */
+    private Map<String, String> fieldTypes(
+        final AdvancedSearchCondition condition, final boolean needed)
+        throws IOException {
+        Map<String, String> fieldTypes = new HashMap<>();
+        if (needed) {
+            for (final String indexName : condition.getIndexName()) {
+                this.metadata.fieldTypes(indexName).forEach(
+                    fieldTypes::putIfAbsent
+                );
+            }
+        }
+        return fieldTypes;
+    }
+
+    /**
+     * Add the aggregations of the condition to the search source.
+     *
+     * @param source The search source.
+     * @param condition The user selected condition.
+     * @param fieldTypes Elasticsearch field types key as field name.
+     */
+    private static void addAggregations(final SearchSourceBuilder source,
+        final AdvancedSearchCondition condition,
+        final Map<String, String> fieldTypes) {
+        if (condition.getAggregations() != null) {
+            for (final AggregationField field : condition.getAggregations()) {
+                source.aggregation(
+                    AggregationFactory.create(field, fieldTypes)
+                );
+            }
+        }
+    }
+
+    /**
+     * Page search with a total hits threshold, the page and the early
+     * terminated count are sent in one multi search request.
+     *
+     * <p>terminate_after stops every shard on its own, so a terminated
+     * count is the sum of the shard counts and only a lower bound of the
+     * real total. Any count at or over the threshold is reported as the
+     * threshold with relation gte.
+     *
+     * @param condition The user selected condition.
+     * @param source The page search source.
+     * @param pageNo The page number.
+     * @param trace The search trace.
+     * @return Search result, total relation is gte if the count stopped
+     *  at the threshold.
+     * @throws IOException If something goes wrong.
+     */
+    private SearchResult thresholdSearch(
+        final AdvancedSearchCondition condition,
+        final SearchSourceBuilder source, final Integer pageNo,
+        final SearchProfiler.Trace trace) throws IOException {
+
+        int threshold = condition.getTrackTotalHitsUpTo();
+        source.from(Math.max(0, (pageNo - 1) * source.size()));
+        source.trackTotalHits(false);
+        MultiSearchRequest request = new MultiSearchRequest();
+        request.add(this.searchRequest(condition, source));
+        request.add(this.countRequest(condition, source.query(), threshold));
+
+        MultiSearchResponse.Item[] responses =
+            this.executor.msearch(request).getResponses();
+        for (final MultiSearchResponse.Item item : responses) {
+            if (item.isFailure()) {
+                throw new IOException(item.getFailure());
+            }
+        }
+
+        SearchResponse count = responses[1].getResponse();
+        long total = count.getHits().getTotalHits();
+        SearchResponse page = responses[0].getResponse();
+        trace.responded(page);
+        trace.waited();
+        SearchResult result = withAggregations(SearchResults.result(
+            page.getHits(), condition.getHighlight()
+        ), page.getAggregations(), condition);
+
+        return withThreshold(
+            result, total, count.isTerminatedEarly(), threshold
+        );
+    }
+
+    /**
+     * Copy of the result with the total of a terminated count.
+     *
+     * @param result The search result.
+     * @param total The summed shard counts.
+     * @param terminatedEarly Whether a shard stopped counting.
+     * @param threshold The total hits threshold.
+     * @return Search result, total relation is gte if the count reached
+     *  the threshold.
+     */
+    static SearchResult withThreshold(final SearchResult result,
+        final long total, final Boolean terminatedEarly,
+        final int threshold) {
+        SearchResult counted;
+        if (Boolean.TRUE.equals(terminatedEarly) || total >= threshold) {
+            counted = result.withTotal(
+                Math.min(total, threshold), TOTAL_RELATION_GTE
+            );
+        } else {
+            counted = result.withTotal(total, TOTAL_RELATION_EQ);
+        }
+        return counted;
+    }
+
+    /**
+     * Copy of the result with the typed aggregation results.
+     *
+     * @param result The search result.
+     * @param aggregations The response aggregations.
+     * @param condition The user selected condition.
+     * @return Search result.
+     */
+    private static SearchResult withAggregations(final SearchResult result,
+        final Aggregations aggregations,
+        final AdvancedSearchCondition condition) {
+        SearchResult typed = result;
+        if (condition.getAggregations() != null) {
+            typed = result.withAggregations(AggregationFactory.extract(
+                aggregations, condition.getAggregations()
+            ));
+        }
+        return typed;
+    }
+
+    /**
+     * Create search request on the condition indices with routing, a
+     * search breaking ties by index order without a preference gets a
+     * stable one.
+     *
+     * @param condition The user selected condition.
+     * @param source The search source.
+     * @return Search request.
+     */
+    private SearchRequest searchRequest(
+        final AdvancedSearchCondition condition,
+        final SearchSourceBuilder source) {
+        String routing =
+            AdvancedQueryBuilder.routing(condition, this.routingFields);
+        String preference = condition.getPreference() == null
+            ? SortFactory.preference(source) : condition.getPreference();
+        return new SearchRequest(condition.getIndexName())
+            .routing(routing)
+            .preference(preference)
+            .source(source);
+    }
+
+    /**
+     * Create count request.
+     *
+     * @param condition The user selected condition.
+     * @param query The query.
+     * @param terminateAfter Stop counting after this many documents
+     *                       per shard, null means accurate.
+     * @return Search request without hits.
+     */
+    SearchRequest countRequest(
+        final AdvancedSearchCondition condition, final QueryBuilder query,
+        final Integer terminateAfter) {
+
+        SearchSourceBuilder source = new SearchSourceBuilder();
+        source.query(query);
+        source.size(0);
+        if (terminateAfter != null) {
+            source.terminateAfter(terminateAfter);
+        }
+        return this.searchRequest(condition, source);
+    }
+}
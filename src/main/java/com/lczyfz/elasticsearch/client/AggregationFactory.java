@@ -0,0 +1,268 @@
+package com.lczyfz.elasticsearch.client;
+
+import static com.lczyfz.elasticsearch.constant.AggregationMethod.*;
+
+import com.lczyfz.elasticsearch.constant.PhoenixDataTypes;
+import com.lczyfz.elasticsearch.entity.AggregationBucket;
+import com.lczyfz.elasticsearch.entity.AggregationField;
+import com.lczyfz.elasticsearch.entity.AggregationResult;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.elasticsearch.search.aggregations.Aggregation;
+import org.elasticsearch.search.aggregations.AggregationBuilder;
+import org.elasticsearch.search.aggregations.AggregationBuilders;
+import org.elasticsearch.search.aggregations.Aggregations;
+import org.elasticsearch.search.aggregations.bucket.MultiBucketsAggregation;
+import org.elasticsearch.search.aggregations.bucket.histogram.DateHistogramInterval;
+import org.elasticsearch.search.aggregations.bucket.range.RangeAggregationBuilder;
+import org.elasticsearch.search.aggregations.metrics.NumericMetricsAggregation;
+
+/**
+ * Build aggregations of advanced search and extract typed results.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+final class AggregationFactory {
+
+    /**
+     * Default terms bucket count.
+     */
+    private static final int DEFAULT_TERMS_SIZE = 10;
+
+    /**
+     * Text type, not aggregatable.
+     */
+    private static final String TEXT = "text";
+
+    /**
+     * Keyword type.
+     */
+    private static final String KEYWORD = "keyword";
+
+    /**
+     * Hide constructor.
+     */
+    private AggregationFactory() {
+    }
+
+    /**
+     * Whether any aggregation needs the mapped field types.
+     *
+     * @param fields The aggregation fields, may be null.
+     * @return True if a terms aggregation is present.
+     */
+    static boolean needsFieldTypes(final List<AggregationField> fields) {
+        boolean needs = false;
+        if (fields != null) {
+            for (final AggregationField field : fields) {
+                needs |= TERMS.equals(field.getMethod());
+            }
+        }
+        return needs;
+    }
+
+    /**
+     * Create aggregation builder.
+     *
+     * @param field The aggregation field.
+     * @param fieldTypes Elasticsearch field types key as field name.
+     * @return Aggregation builder.
+     */
+    static AggregationBuilder create(final AggregationField field,
+        final Map<String, String> fieldTypes) {
+        String method = field.getMethod();
+        String typeName = PhoenixDataTypes.baseType(field.getTypeName());
+        AggregationBuilder builder;
+        if (TERMS.equals(method)) {
+            builder = AggregationBuilders.terms(field.getName())
+                .field(termsField(field.getFieldName(), fieldTypes))
+                .size(sizeOf(field));
+        } else if (DATE_HISTOGRAM.equals(method)) {
+            require(field, PhoenixDataTypes.validateDate(typeName));
+            builder = AggregationBuilders.dateHistogram(field.getName())
+                .field(field.getFieldName())
+                .dateHistogramInterval(
+                    new DateHistogramInterval(field.getInterval())
+                )
+                .minDocCount(1);
+        } else if (RANGE.equals(method)) {
+            require(field, PhoenixDataTypes.validateNumeric(typeName));
+            builder = createRange(field);
+        } else if (MIN.equals(method) || MAX.equals(method)) {
+            require(field, PhoenixDataTypes.validateNumeric(typeName)
+                || PhoenixDataTypes.validateDate(typeName));
+            builder = createMetric(field);
+        } else if (AVG.equals(method)) {
+            require(field, PhoenixDataTypes.validateNumeric(typeName));
+            builder = createMetric(field);
+        } else {
+            throw new IllegalArgumentException(
+                "Unknown aggregation method: " + method
+            );
+        }
+
+        return builder;
+    }
+
+    /**
+     * Extract typed results in the order of the aggregation fields.
+     *
+     * @param aggregations The response aggregations, may be null.
+     * @param fields The aggregation fields.
+     * @return Aggregation results.
+     */
+    static List<AggregationResult> extract(final Aggregations aggregations,
+        final List<AggregationField> fields) {
+
+        List<AggregationResult> results = new ArrayList<>(fields.size());
+        if (aggregations != null) {
+            for (final AggregationField field : fields) {
+                Aggregation aggregation = aggregations.get(field.getName());
+                if (aggregation instanceof MultiBucketsAggregation) {
+                    results.add(new AggregationResult(
+                        field.getName(),
+                        buckets((MultiBucketsAggregation) aggregation), null
+                    ));
+                } else if (aggregation
+                    instanceof NumericMetricsAggregation.SingleValue) {
+                    double value = ((NumericMetricsAggregation.SingleValue)
+                        aggregation).value();
+                    results.add(new AggregationResult(
+                        field.getName(), null, value
+                    ));
+                }
+            }
+        }
+
+        return results;
+    }
+
+    /**
+     * Extract buckets.
+     *
+     * @param aggregation The bucket aggregation.
+     * @return Bucket list.
+     */
+    private static List<AggregationBucket> buckets(
+        final MultiBucketsAggregation aggregation) {
+
+        List<AggregationBucket> buckets = Collections.emptyList();
+        if (!aggregation.getBuckets().isEmpty()) {
+            buckets = new ArrayList<>(aggregation.getBuckets().size());
+            for (final MultiBucketsAggregation.Bucket bucket
+                : aggregation.getBuckets()) {
+                buckets.add(new AggregationBucket(
+                    bucket.getKeyAsString(), bucket.getDocCount()
+                ));
+            }
+        }
+
+        return buckets;
+    }
+
+    /**
+     * Create range aggregation, both ends are open.
+     *
+     * @param field The aggregation field.
+     * @return Range aggregation.
+     */
+    private static AggregationBuilder createRange(
+        final AggregationField field) {
+
+        List<Double> ranges = field.getRanges();
+        if (ranges == null || ranges.isEmpty()) {
+            throw new IllegalArgumentException(
+                "Range aggregation requires ranges: " + field.getName()
+            );
+        }
+        RangeAggregationBuilder builder =
+            AggregationBuilders.range(field.getName())
+                .field(field.getFieldName());
+        builder.addUnboundedTo(ranges.get(0));
+        for (int i = 1; i < ranges.size(); i++) {
+            builder.addRange(ranges.get(i - 1), ranges.get(i));
+        }
+        builder.addUnboundedFrom(ranges.get(ranges.size() - 1));
+
+        return builder;
+    }
+
+    /**
+     * Create metric aggregation.
+     *
+     * @param field The aggregation field.
+     * @return Metric aggregation.
+     */
+    private static AggregationBuilder createMetric(
+        final AggregationField field) {
+
+        AggregationBuilder builder;
+        if (MIN.equals(field.getMethod())) {
+            builder = AggregationBuilders.min(field.getName())
+                .field(field.getFieldName());
+        } else if (MAX.equals(field.getMethod())) {
+            builder = AggregationBuilders.max(field.getName())
+                .field(field.getFieldName());
+        } else {
+            builder = AggregationBuilders.avg(field.getName())
+                .field(field.getFieldName());
+        }
+
+        return builder;
+    }
+
+    /**
+     * Terms field, a text field is aggregated on its keyword sub field.
+     *
+     * @param name Field name.
+     * @param fieldTypes Elasticsearch field types key as field name.
+     * @return Aggregated field name.
+     */
+    private static String termsField(final String name,
+        final Map<String, String> fieldTypes) {
+        String field = name;
+        if (TEXT.equals(fieldTypes.get(name))) {
+            field = name + '.' + DataTypeMapping.KEYWORD_FIELD;
+            if (!KEYWORD.equals(fieldTypes.get(field))) {
+                throw new IllegalArgumentException(
+                    "Text field without keyword can not be aggregated: "
+                        + name
+                );
+            }
+        }
+        return field;
+    }
+
+    /**
+     * Terms bucket count.
+     *
+     * @param field The aggregation field.
+     * @return Bucket count.
+     */
+    private static int sizeOf(final AggregationField field) {
+        int size = DEFAULT_TERMS_SIZE;
+        if (field.getSize() != null) {
+            size = field.getSize();
+        }
+        return size;
+    }
+
+    /**
+     * Validate the field type fits the method.
+     *
+     * @param field The aggregation field.
+     * @param valid Whether the type is valid.
+     */
+    private static void require(final AggregationField field,
+        final boolean valid) {
+        if (!valid) {
+            throw new IllegalArgumentException(String.format(
+                "Aggregation %s does not support type %s of field %s",
+                field.getMethod(), field.getTypeName(), field.getFieldName()
+            ));
+        }
+    }
+}
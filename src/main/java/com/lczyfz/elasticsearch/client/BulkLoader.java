@@ -0,0 +1,345 @@
+package com.lczyfz.elasticsearch.client;
+
+import com.lczyfz.elasticsearch.entity.DumpCondition;
+import com.lczyfz.elasticsearch.entity.LoadResult;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkResponse;
+
+/**
+ * Pipelined bulk loader, reads the next batch while the worker pool
+ * converts rows and keeps bulk requests in flight.
+ *
+ * <p>Rows are read on the calling thread, a JDBC result set is not
+ * thread safe. Conversion and {@link EasyRestHighLevelClient#dump} run on
+ * the workers, at most {@code concurrentRequests} batches are in flight
+ * and the reader waits for a free slot.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+public final class BulkLoader {
+
+    /**
+     * Date time format of date columns, a mapped date format.
+     */
+    private static final DateTimeFormatter DATE_TIME =
+        DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS")
+            .withZone(ZoneId.systemDefault());
+
+    /**
+     * Easy client.
+     */
+    private final EasyRestHighLevelClient client;
+
+    /**
+     * The index name.
+     */
+    private final String indexName;
+
+    /**
+     * The dump condition, null means auto generated id.
+     */
+    private DumpCondition condition;
+
+    /**
+     * Rows per bulk request.
+     */
+    private int batchSize = 1000;
+
+    /**
+     * Bulk requests in flight, also the worker count.
+     */
+    private int concurrentRequests = 2;
+
+    /**
+     * Bulk loader constructor.
+     *
+     * @param client Easy client.
+     * @param indexName The index name.
+     */
+    public BulkLoader(final EasyRestHighLevelClient client,
+        final String indexName) {
+        this.client = client;
+        this.indexName = indexName;
+    }
+
+    /**
+     * Sets condition.
+     *
+     * @param condition Simple param.
+     */
+    public void setCondition(final DumpCondition condition) {
+        this.condition = condition;
+    }
+
+    /**
+     * Sets batchSize.
+     *
+     * @param batchSize Simple param.
+     */
+    public void setBatchSize(final int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException(
+                "Batch size must be positive: " + batchSize
+            );
+        }
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Sets concurrentRequests.
+     *
+     * @param concurrentRequests Simple param.
+     */
+    public void setConcurrentRequests(final int concurrentRequests) {
+        if (concurrentRequests < 1) {
+            throw new IllegalArgumentException(
+                "Concurrent requests must be positive: " + concurrentRequests
+            );
+        }
+        this.concurrentRequests = concurrentRequests;
+    }
+
+    /**
+     * Load every row of the result set, columns are named by their label
+     * and columns of unknown phoenix types are skipped.
+     *
+     * @param resultSet The result set, not closed by the loader.
+     * @return Load result.
+     * @throws IOException If a bulk request fails.
+     * @throws SQLException If reading fails.
+     */
+    public LoadResult load(final ResultSet resultSet)
+        throws IOException, SQLException {
+
+        ResultSetMetaData meta = resultSet.getMetaData();
+        String[] columns = new String[meta.getColumnCount()];
+        for (int i = 0; i < columns.length; i++) {
+            if (DataTypeMapping.field(meta.getColumnTypeName(i + 1), null)
+                != null) {
+                columns[i] = meta.getColumnLabel(i + 1);
+            }
+        }
+
+        return this.pipeline(() -> {
+            List<Object[]> values = new ArrayList<>(this.batchSize);
+            while (values.size() < this.batchSize && resultSet.next()) {
+                Object[] value = new Object[columns.length];
+                for (int i = 0; i < columns.length; i++) {
+                    if (columns[i] != null) {
+                        value[i] = resultSet.getObject(i + 1);
+                    }
+                }
+                values.add(value);
+            }
+            return values.isEmpty() ? null : new Batch(values.size(),
+                () -> rows(columns, values));
+        });
+    }
+
+    /**
+     * Load every row of the iterator.
+     *
+     * @param rows The rows.
+     * @return Load result.
+     * @throws IOException If a bulk request fails.
+     */
+    public LoadResult load(final Iterator<Map<String, String>> rows)
+        throws IOException {
+
+        return this.pipeline(() -> {
+            List<Map<String, String>> data = new ArrayList<>(this.batchSize);
+            while (data.size() < this.batchSize && rows.hasNext()) {
+                data.add(rows.next());
+            }
+            return data.isEmpty() ? null : new Batch(data.size(), () -> data);
+        });
+    }
+
+    /**
+     * Convert raw column values to data rows.
+     *
+     * @param columns Column names, null for skipped columns.
+     * @param values Raw column values.
+     * @return Data rows.
+     */
+    static List<Map<String, String>> rows(final String[] columns,
+        final List<Object[]> values) {
+        List<Map<String, String>> data = new ArrayList<>(values.size());
+        for (final Object[] value : values) {
+            Map<String, String> row = new HashMap<>(columns.length * 2);
+            for (int i = 0; i < columns.length; i++) {
+                if (columns[i] != null && value[i] != null) {
+                    row.put(columns[i], text(value[i]));
+                }
+            }
+            data.add(row);
+        }
+        return data;
+    }
+
+    /**
+     * Text of a column value in the mapped format.
+     *
+     * @param value Column value.
+     * @return Text.
+     */
+    private static String text(final Object value) {
+        String text;
+        if (value instanceof Date) {
+            text = DATE_TIME.format(
+                Instant.ofEpochMilli(((Date) value).getTime())
+            );
+        } else if (value instanceof BigDecimal) {
+            text = ((BigDecimal) value).toPlainString();
+        } else {
+            text = value.toString();
+        }
+        return text;
+    }
+
+    /**
+     * Run the pipeline until the reader is exhausted or a batch fails,
+     * it returns or throws only after every batch in flight completed.
+     *
+     * @param reader Batch reader.
+     * @param <E> Read exception type.
+     * @return Load result.
+     * @throws IOException If a bulk request fails.
+     * @throws E If reading fails.
+     */
+    private <E extends Exception> LoadResult pipeline(
+        final BatchReader<E> reader) throws IOException, E {
+
+        long start = System.nanoTime();
+        int slots = this.concurrentRequests;
+        ExecutorService workers = Executors.newFixedThreadPool(slots);
+        Semaphore inFlight = new Semaphore(slots);
+        AtomicLong rows = new AtomicLong();
+        AtomicLong failedRows = new AtomicLong();
+        AtomicLong batches = new AtomicLong();
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        try {
+            Batch batch;
+            while (failure.get() == null && (batch = reader.next()) != null) {
+                rows.addAndGet(batch.size);
+                inFlight.acquire();
+                Batch current = batch;
+                workers.execute(() -> {
+                    try {
+                        BulkResponse response = this.client.dump(
+                            this.indexName, current.data.call(), this.condition
+                        );
+                        batches.incrementAndGet();
+                        failedRows.addAndGet(failures(response));
+                    } catch (final Exception ex) {
+                        failure.compareAndSet(null, ex);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException(ex);
+        } finally {
+            // Wait for the batches in flight, also when reading failed, so
+            // nothing is written after the load returned.
+            inFlight.acquireUninterruptibly(slots);
+            workers.shutdown();
+        }
+
+        Exception ex = failure.get();
+        if (ex instanceof IOException) {
+            throw (IOException) ex;
+        } else if (ex != null) {
+            throw new IOException(ex);
+        }
+
+        return new LoadResult(rows.get(), failedRows.get(), batches.get(),
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * Count the failed items of a bulk response.
+     *
+     * @param response Bulk response.
+     * @return Failed items.
+     */
+    private static long failures(final BulkResponse response) {
+        long failed = 0;
+        if (response.hasFailures()) {
+            for (final BulkItemResponse item : response.getItems()) {
+                if (item.isFailed()) {
+                    failed++;
+                }
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * Batch reader.
+     *
+     * @param <E> Read exception type.
+     */
+    private interface BatchReader<E extends Exception> {
+
+        /**
+         * Read the next batch.
+         *
+         * @return Batch, null when exhausted.
+         * @throws E If reading fails.
+         */
+        Batch next() throws E;
+    }
+
+    /**
+     * Read batch, converted on a worker.
+     */
+    private static final class Batch {
+
+        /**
+         * Rows of the batch.
+         */
+        private final int size;
+
+        /**
+         * Data conversion.
+         */
+        private final Callable<List<Map<String, String>>> data;
+
+        /**
+         * Batch constructor.
+         *
+         * @param size Rows of the batch.
+         * @param data Data conversion.
+         */
+        Batch(final int size,
+            final Callable<List<Map<String, String>>> data) {
+            this.size = size;
+            this.data = data;
+        }
+    }
+}
@@ -0,0 +1,381 @@
+package com.lczyfz.elasticsearch.client;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.apache.http.HttpHost;
+import org.elasticsearch.common.unit.TimeValue;
+
+/**
+ * Registry of named shared clients, a client is created on first use and
+ * kept until the registry is closed.
+ *
+ * <p>Registering new hosts for a name swaps the client, the next lease
+ * gets a new client and the old one is closed once its leases are
+ * released and the retire grace has passed, so requests in flight
+ * finish. A client taken with {@link #client(String)} has no lease, only
+ * the grace protects it. The settings made on the old client, such as
+ * routing fields, hedging, profiling, sniffing and concurrency limits,
+ * are applied to the new client when it is created.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+public final class ClientRegistry implements Closeable {
+
+    /**
+     * Name of the default client.
+     */
+    public static final String DEFAULT_NAME = "default";
+
+    /**
+     * The shared registry.
+     */
+    private static final ClientRegistry SHARED = new ClientRegistry();
+
+    /**
+     * Default retire grace in milliseconds.
+     */
+    private static final long DEFAULT_GRACE_MILLIS = 60000L;
+
+    /**
+     * Hosts key as client name.
+     */
+    private final Map<String, List<HttpHost>> hosts = new HashMap<>();
+
+    /**
+     * Current handle key as client name.
+     */
+    private final Map<String, Handle> current = new HashMap<>();
+
+    /**
+     * Settings of the swapped client key as client name, applied to the
+     * next client.
+     */
+    private final Map<String, ClientSettings> inherited = new HashMap<>();
+
+    /**
+     * Retire grace in milliseconds.
+     */
+    private volatile long graceMillis = DEFAULT_GRACE_MILLIS;
+
+    /**
+     * Closer of retired clients, created on the first swap.
+     */
+    private ScheduledExecutorService closer;
+
+    /**
+     * Whether the registry is closed.
+     */
+    private boolean closed;
+
+    /**
+     * The shared registry of {@link EasyRestHighLevelClient#defaultClient()},
+     * close it only on shutdown.
+     *
+     * @return Registry.
+     */
+    public static ClientRegistry shared() {
+        return SHARED;
+    }
+
+    /**
+     * Set the time a swapped client stays open for requests in flight.
+     *
+     * @param grace Retire grace.
+     */
+    public void retireGrace(final TimeValue grace) {
+        this.graceMillis = grace.millis();
+    }
+
+    /**
+     * Register the hosts of a client, changed hosts swap the client.
+     *
+     * @param name Client name.
+     * @param httpHosts Http hosts, copied.
+     */
+    public synchronized void register(final String name,
+        final List<HttpHost> httpHosts) {
+        this.checkOpen();
+        if (httpHosts.isEmpty()) {
+            throw new IllegalArgumentException("No hosts for client: " + name);
+        }
+        if (httpHosts.equals(this.hosts.get(name))) {
+            return;
+        }
+        this.hosts.put(name,
+            Collections.unmodifiableList(new ArrayList<>(httpHosts)));
+        Handle handle = this.current.remove(name);
+        if (handle != null) {
+            this.inherited.put(name, handle.client.settings());
+            this.retire(handle);
+        }
+    }
+
+    /**
+     * Lease the client, release it by closing the lease.
+     *
+     * @param name Client name.
+     * @return Lease.
+     */
+    public synchronized Lease lease(final String name) {
+        Handle handle = this.handle(name);
+        handle.leases++;
+        return new Lease(this, handle);
+    }
+
+    /**
+     * The current client without a lease, closing it has no effect.
+     *
+     * @param name Client name.
+     * @return Client.
+     */
+    public synchronized EasyRestHighLevelClient client(final String name) {
+        return this.handle(name).client;
+    }
+
+    /**
+     * The current client of a shared host list, registered again only
+     * when the list changed. The list is copied while holding its lock.
+     *
+     * @param name Client name.
+     * @param httpHosts Http hosts, changed under their own lock.
+     * @return Client.
+     */
+    EasyRestHighLevelClient client(final String name,
+        final List<HttpHost> httpHosts) {
+        List<HttpHost> copy;
+        synchronized (httpHosts) {
+            copy = new ArrayList<>(httpHosts);
+        }
+        synchronized (this) {
+            this.register(name, copy);
+            return this.handle(name).client;
+        }
+    }
+
+    /**
+     * Close every client, leased clients are closed when released and
+     * swapped clients when their grace ends.
+     *
+     * @throws IOException If a client fails to close.
+     */
+    @Override
+    public void close() throws IOException {
+        List<Handle> idle = new ArrayList<>();
+        synchronized (this) {
+            if (this.closed) {
+                return;
+            }
+            this.closed = true;
+            for (final Handle handle : this.current.values()) {
+                handle.retired = true;
+                if (handle.leases == 0) {
+                    handle.closed = true;
+                    idle.add(handle);
+                }
+            }
+            this.current.clear();
+            this.hosts.clear();
+            this.inherited.clear();
+            if (this.closer != null) {
+                this.closer.shutdown();
+            }
+        }
+
+        IOException failure = null;
+        for (final Handle handle : idle) {
+            try {
+                handle.client.shutdown();
+            } catch (final IOException ex) {
+                failure = ex;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * The current handle, created on first use.
+     *
+     * @param name Client name.
+     * @return Handle.
+     */
+    private Handle handle(final String name) {
+        this.checkOpen();
+        Handle handle = this.current.get(name);
+        if (handle == null) {
+            List<HttpHost> httpHosts = this.hosts.get(name);
+            if (httpHosts == null) {
+                throw new IllegalArgumentException("Unknown client: " + name);
+            }
+            EasyRestHighLevelClient client = new EasyRestHighLevelClient(
+                httpHosts.toArray(new HttpHost[0])
+            );
+            client.markShared();
+            ClientSettings settings = this.inherited.remove(name);
+            if (settings != null) {
+                settings.applyTo(client);
+            }
+            handle = new Handle(client);
+            this.current.put(name, handle);
+        }
+        return handle;
+    }
+
+    /**
+     * Retire a swapped handle, closed after the grace once idle.
+     *
+     * @param handle The handle.
+     */
+    private void retire(final Handle handle) {
+        handle.retired = true;
+        handle.retiredAt = System.currentTimeMillis();
+        if (this.closer == null) {
+            this.closer = Executors.newSingleThreadScheduledExecutor(
+                runnable -> {
+                    Thread thread =
+                        new Thread(runnable, "client-registry-closer");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            );
+        }
+        this.closer.schedule(() -> this.closeIfIdle(handle),
+            this.graceMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Close a retired handle without leases after the grace.
+     *
+     * @param handle The handle.
+     */
+    private void closeIfIdle(final Handle handle) {
+        synchronized (this) {
+            if (!handle.retired || handle.closed || handle.leases > 0
+                || System.currentTimeMillis() - handle.retiredAt
+                < this.graceMillis && !this.closed) {
+                return;
+            }
+            handle.closed = true;
+        }
+        try {
+            handle.client.shutdown();
+        } catch (final IOException ex) {
+            // the client is dropped anyway
+        }
+    }
+
+    /**
+     * Reject use of a closed registry.
+     */
+    private void checkOpen() {
+        if (this.closed) {
+            throw new IllegalStateException("Client registry is closed");
+        }
+    }
+
+    /**
+     * Leased client, closing the lease releases it.
+     */
+    public static final class Lease implements Closeable {
+
+        /**
+         * The registry.
+         */
+        private final ClientRegistry registry;
+
+        /**
+         * The leased handle.
+         */
+        private final Handle handle;
+
+        /**
+         * Whether the lease is released.
+         */
+        private boolean released;
+
+        /**
+         * Lease constructor.
+         *
+         * @param registry The registry.
+         * @param handle The leased handle.
+         */
+        Lease(final ClientRegistry registry, final Handle handle) {
+            this.registry = registry;
+            this.handle = handle;
+        }
+
+        /**
+         * Gets client.
+         *
+         * @return Value of client.
+         */
+        public EasyRestHighLevelClient getClient() {
+            return this.handle.client;
+        }
+
+        /**
+         * Release the lease, once.
+         */
+        @Override
+        public void close() {
+            synchronized (this.registry) {
+                if (this.released) {
+                    return;
+                }
+                this.released = true;
+                this.handle.leases--;
+            }
+            this.registry.closeIfIdle(this.handle);
+        }
+    }
+
+    /**
+     * Client with its lease count.
+     */
+    private static final class Handle {
+
+        /**
+         * The client.
+         */
+        private final EasyRestHighLevelClient client;
+
+        /**
+         * Leases not released.
+         */
+        private int leases;
+
+        /**
+         * Whether the handle was swapped out.
+         */
+        private boolean retired;
+
+        /**
+         * The time the handle was retired in milliseconds.
+         */
+        private long retiredAt;
+
+        /**
+         * Whether the client is closed.
+         */
+        private boolean closed;
+
+        /**
+         * Handle constructor.
+         *
+         * @param client The client.
+         */
+        Handle(final EasyRestHighLevelClient client) {
+            this.client = client;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.lczyfz.elasticsearch.client;
+
+import com.lczyfz.elasticsearch.entity.ConcurrencySetting;
+import com.lczyfz.elasticsearch.entity.HedgeSetting;
+import com.lczyfz.elasticsearch.entity.ProfileSetting;
+import com.lczyfz.elasticsearch.entity.SniffSetting;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The settings made on a client, kept so {@link ClientRegistry} can apply
+ * them to the client that replaces it when the hosts change.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+final class ClientSettings {
+
+    /**
+     * Routing field key as index name.
+     */
+    private final Map<String, String> routingFields =
+        new ConcurrentHashMap<>();
+
+    /**
+     * Hedge setting, null means disabled.
+     */
+    private volatile HedgeSetting hedge;
+
+    /**
+     * Profile setting, null means disabled.
+     */
+    private volatile ProfileSetting profile;
+
+    /**
+     * Slow log sink of the profile setting.
+     */
+    private volatile SlowLogSink sink;
+
+    /**
+     * Sniff setting, null means no sniffing.
+     */
+    private volatile SniffSetting sniff;
+
+    /**
+     * Search concurrency setting, null means unlimited.
+     */
+    private volatile ConcurrencySetting search;
+
+    /**
+     * Bulk concurrency setting, null means unlimited.
+     */
+    private volatile ConcurrencySetting bulk;
+
+    /**
+     * Gets routingFields.
+     *
+     * @return Value of routingFields.
+     */
+    Map<String, String> getRoutingFields() {
+        return this.routingFields;
+    }
+
+    /**
+     * Sets the routing field of an index.
+     *
+     * @param indexName The index name.
+     * @param fieldName The routing field, null to remove.
+     */
+    void setRoutingField(final String indexName, final String fieldName) {
+        if (fieldName == null) {
+            this.routingFields.remove(indexName);
+        } else {
+            this.routingFields.put(indexName, fieldName);
+        }
+    }
+
+    /**
+     * Sets hedge.
+     *
+     * @param hedge Simple param.
+     */
+    void setHedge(final HedgeSetting hedge) {
+        this.hedge = hedge;
+    }
+
+    /**
+     * Sets profile and its sink.
+     *
+     * @param profile Profile setting.
+     * @param sink Slow log sink.
+     */
+    void setProfile(final ProfileSetting profile, final SlowLogSink sink) {
+        this.profile = profile;
+        this.sink = sink;
+    }
+
+    /**
+     * Sets sniff.
+     *
+     * @param sniff Simple param.
+     */
+    void setSniff(final SniffSetting sniff) {
+        this.sniff = sniff;
+    }
+
+    /**
+     * Sets search and bulk concurrency.
+     *
+     * @param search Search setting.
+     * @param bulk Bulk setting.
+     */
+    void setConcurrency(final ConcurrencySetting search,
+        final ConcurrencySetting bulk) {
+        this.search = search;
+        this.bulk = bulk;
+    }
+
+    /**
+     * Apply every setting made to another client.
+     *
+     * @param client The client.
+     */
+    void applyTo(final EasyRestHighLevelClient client) {
+        this.routingFields.forEach(client::routingField);
+        client.hedgeSetting(this.hedge);
+        client.profileSetting(this.profile, this.sink);
+        client.concurrencySetting(this.search, this.bulk);
+        if (this.sniff != null) {
+            client.sniffSetting(this.sniff);
+        }
+    }
+}
@@ -0,0 +1,310 @@
+package com.lczyfz.elasticsearch.client;
+
+import com.lczyfz.elasticsearch.constant.PhoenixDataTypes;
+import com.lczyfz.elasticsearch.entity.FieldOption;
+import com.lczyfz.elasticsearch.entity.IndexSetting;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.elasticsearch.common.settings.Settings;
+
+/**
+ * Traditional database data type mapping elasticsearch data type.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+final class DataTypeMapping {
+
+    /**
+     * Properties.
+     */
+    private static final String PROPERTIES = "properties";
+
+    /**
+     * Type.
+     */
+    private static final String TYPE = "type";
+
+    /**
+     * Text type, doc values are not supported.
+     */
+    private static final String TEXT = "text";
+
+    /**
+     * Keyword sub field of text fields, used to sort and aggregate.
+     */
+    static final String KEYWORD_FIELD = "keyword";
+
+    /**
+     * Keyword sub field values longer than this are not indexed.
+     */
+    private static final int KEYWORD_IGNORE_ABOVE = 256;
+
+    /**
+     * Date formats, the dumped string format and epoch millis.
+     */
+    private static final String DATE_FORMATS = "yyyy-MM-dd HH:mm:ss"
+        + "||yyyy-MM-dd HH:mm:ss.SSS||yyyy-MM-dd||HH:mm:ss"
+        + "||strict_date_optional_time||epoch_millis";
+
+    /**
+     * Max decimal scale stored as scaled float.
+     */
+    private static final int MAX_SCALED_FLOAT_SCALE = 6;
+
+    /**
+     * Max decimal precision stored as scaled float, the scaled value is
+     * kept in a long.
+     */
+    private static final int MAX_SCALED_FLOAT_PRECISION = 18;
+
+    /**
+     * Decimal with precision and scale, such as DECIMAL(10,2).
+     */
+    private static final Pattern DECIMAL_SCALE =
+        Pattern.compile("DECIMAL\\s*\\(\\s*(\\d+)\\s*,\\s*(\\d+)\\s*\\)");
+
+    /**
+     * Data type mapping, key as phoenix data type.
+     */
+    private static final Map<String, Map<String, Object>> MAPPING =
+        new HashMap<>(21);
+
+    /**
+     * Reverse data type mapping, key as elasticsearch data type. It only
+     * picks the query of a field, so it is lossy: every date reads as
+     * TIMESTAMP, keyword as CHAR and scaled float as DECIMAL.
+     */
+    private static final Map<String, String> REVERSE = new HashMap<>(16);
+
+    /**
+     * Data type initialization.
+     */
+    static {
+        Map<String, Object> keyword = formatter(KEYWORD_FIELD);
+        keyword.put("ignore_above", KEYWORD_IGNORE_ABOVE);
+        Map<String, Object> text = formatter(TEXT);
+        text.put("fields", Collections.singletonMap(KEYWORD_FIELD, keyword));
+        MAPPING.put("VARCHAR", text);
+        MAPPING.put("CHAR", formatter("keyword"));
+        MAPPING.put("BOOLEAN", formatter("boolean"));
+        MAPPING.put("TINYINT", formatter("byte"));
+        MAPPING.put("UNSIGNED_TINYINT", formatter("byte"));
+        MAPPING.put("SMALLINT", formatter("short"));
+        MAPPING.put("UNSIGNED_SMALLINT", formatter("short"));
+        MAPPING.put("INTEGER", formatter("integer"));
+        MAPPING.put("UNSIGNED_INT", formatter("integer"));
+        MAPPING.put("BIGINT", formatter("long"));
+        MAPPING.put("UNSIGNED_LONG", formatter("long"));
+        MAPPING.put("FLOAT", formatter("float"));
+        MAPPING.put("UNSIGNED_FLOAT", formatter("float"));
+        MAPPING.put("DOUBLE", formatter("double"));
+        MAPPING.put("UNSIGNED_DOUBLE", formatter("double"));
+        MAPPING.put("DECIMAL", formatter("double"));
+        for (final String date : new String[] {
+            "DATE", "TIME", "TIMESTAMP",
+            "UNSIGNED_DATE", "UNSIGNED_TIME", "UNSIGNED_TIMESTAMP",
+        }) {
+            Map<String, Object> field = formatter("date");
+            field.put("format", DATE_FORMATS);
+            MAPPING.put(date, field);
+        }
+
+        REVERSE.put(TEXT, "VARCHAR");
+        REVERSE.put("keyword", "CHAR");
+        REVERSE.put("boolean", "BOOLEAN");
+        REVERSE.put("byte", "TINYINT");
+        REVERSE.put("short", "SMALLINT");
+        REVERSE.put("integer", "INTEGER");
+        REVERSE.put("long", "BIGINT");
+        REVERSE.put("half_float", "FLOAT");
+        REVERSE.put("float", "FLOAT");
+        REVERSE.put("double", "DOUBLE");
+        REVERSE.put("scaled_float", "DECIMAL");
+        REVERSE.put("date", "TIMESTAMP");
+    }
+
+    /**
+     * Hide constructor.
+     */
+    private DataTypeMapping() {
+    }
+
+    /**
+     * Traditional database data type of an elasticsearch data type, the
+     * query family rather than the original column type. Declare the
+     * type name of a search field to keep the original one.
+     *
+     * @param esType Elasticsearch data type.
+     * @return Phoenix data type, null if unknown.
+     */
+    static String phoenixType(final String esType) {
+        return REVERSE.get(esType);
+    }
+
+    /**
+     * Convert index setting to elasticsearch settings.
+     *
+     * @param setting Index setting, null means empty settings.
+     * @return Settings builder.
+     */
+    static Settings.Builder settings(final IndexSetting setting) {
+        Settings.Builder builder = Settings.builder();
+        if (setting != null) {
+            if (setting.getNumberOfShards() != null) {
+                builder.put(
+                    "index.number_of_shards", setting.getNumberOfShards()
+                );
+            }
+            if (setting.getNumberOfReplicas() != null) {
+                builder.put(
+                    "index.number_of_replicas", setting.getNumberOfReplicas()
+                );
+            }
+            if (setting.getRefreshInterval() != null) {
+                builder.put(
+                    "index.refresh_interval", setting.getRefreshInterval()
+                );
+            }
+        }
+
+        return builder;
+    }
+
+    /**
+     * Create the type mapping with the field options of setting.
+     *
+     * @param fieldMapping Traditional database data type.
+     * @param setting Index setting, may be null.
+     * @return Type mapping key as type name.
+     */
+    static Map<String, Object> typeMapping(
+        final Map<String, String> fieldMapping, final IndexSetting setting) {
+        Map<String, FieldOption> fieldOptions = null;
+        if (setting != null) {
+            fieldOptions = setting.getFieldOptions();
+        }
+        Map<String, Object> jsonMap = new HashMap<>(1);
+        jsonMap.put(EasyRestHighLevelClient.DEFAULT_TYPE,
+            properties(fieldMapping, fieldOptions));
+        return jsonMap;
+    }
+
+    /**
+     * Create elasticsearch properties.
+     *
+     * @param fieldMapping Traditional database data type.
+     * @param fieldOptions Per field options, may be null.
+     * @return Properties map.
+     */
+    static Map<String, Object> properties(
+        final Map<String, String> fieldMapping,
+        final Map<String, FieldOption> fieldOptions) {
+
+        Map<String, Map<String, Object>> properties =
+            new HashMap<>(fieldMapping.size());
+        Map<String, FieldOption> options = fieldOptions;
+        if (options == null) {
+            options = Collections.emptyMap();
+        }
+        for (final Map.Entry<String, String> entry : fieldMapping.entrySet()) {
+            Map<String, Object> field = field(
+                entry.getValue(), options.get(entry.getKey())
+            );
+            // Unknown type falls back to dynamic mapping.
+            if (field != null) {
+                properties.put(entry.getKey(), field);
+            }
+        }
+        Map<String, Object> jsonMap = new HashMap<>(1);
+        jsonMap.put(PROPERTIES, properties);
+
+        return jsonMap;
+    }
+
+    /**
+     * Create single field mapping.
+     *
+     * @param dataType Traditional database data type.
+     * @param option Field option, may be null.
+     * @return Field mapping, null if the data type is unknown.
+     */
+    static Map<String, Object> field(final String dataType,
+        final FieldOption option) {
+
+        Map<String, Object> field = null;
+        Map<String, Object> base =
+            MAPPING.get(PhoenixDataTypes.baseType(dataType));
+        if (base != null) {
+            field = new HashMap<>(base);
+            Matcher decimal =
+                DECIMAL_SCALE.matcher(dataType.toUpperCase().trim());
+            if (decimal.matches()) {
+                scaledFloat(field, Integer.parseInt(decimal.group(1)),
+                    Integer.parseInt(decimal.group(2)));
+            }
+            if (option != null) {
+                applyOption(field, option);
+            }
+        }
+
+        return field;
+    }
+
+    /**
+     * Store a decimal as scaled float when every scaled value fits in a
+     * long, otherwise it stays a double and keeps about 15 significant
+     * digits.
+     *
+     * @param field Field mapping.
+     * @param precision Decimal precision.
+     * @param scale Decimal scale.
+     */
+    private static void scaledFloat(final Map<String, Object> field,
+        final int precision, final int scale) {
+        if (scale <= MAX_SCALED_FLOAT_SCALE
+            && precision <= MAX_SCALED_FLOAT_PRECISION) {
+            field.put(TYPE, "scaled_float");
+            field.put("scaling_factor", Math.pow(10, scale));
+        }
+    }
+
+    /**
+     * Apply field option.
+     *
+     * @param field Field mapping.
+     * @param option Field option.
+     */
+    private static void applyOption(final Map<String, Object> field,
+        final FieldOption option) {
+
+        if (option.getIndex() != null) {
+            field.put("index", option.getIndex());
+        }
+        if (option.getDocValues() != null && !TEXT.equals(field.get(TYPE))) {
+            field.put("doc_values", option.getDocValues());
+        }
+        if (option.getNorms() != null
+            && (TEXT.equals(field.get(TYPE))
+            || "keyword".equals(field.get(TYPE)))) {
+            field.put("norms", option.getNorms());
+        }
+    }
+
+    /**
+     * Elasticsearch data type map.
+     *
+     * @param elasticsearchDataType Elasticsearch data type.
+     * @return Elasticsearch data type map.
+     */
+    private static Map<String, Object> formatter(
+        final String elasticsearchDataType) {
+
+        Map<String, Object> field = new HashMap<>(2);
+        field.put(TYPE, elasticsearchDataType);
+        return field;
+    }
+}
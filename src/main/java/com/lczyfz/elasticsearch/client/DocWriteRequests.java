@@ -0,0 +1,230 @@
+package com.lczyfz.elasticsearch.client;
+
+import com.lczyfz.elasticsearch.constant.WriteMethod;
+import com.lczyfz.elasticsearch.entity.DumpCondition;
+import java.util.List;
+import java.util.Map;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.update.UpdateRequest;
+import org.elasticsearch.index.VersionType;
+
+/**
+ * Build document write requests from data rows.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+final class DocWriteRequests {
+
+    /**
+     * Primary key value delimiter.
+     */
+    private static final char ID_DELIMITER = '|';
+
+    /**
+     * Escape of the delimiter and of itself inside a key value.
+     */
+    private static final char ID_ESCAPE = '\\';
+
+    /**
+     * Hide constructor.
+     */
+    private DocWriteRequests() {
+    }
+
+    /**
+     * Create write request for a single row.
+     *
+     * @param indexName The index name.
+     * @param data The row data.
+     * @param condition The dump condition, null means auto generated id.
+     * @return Write request.
+     */
+    static DocWriteRequest<?> create(final String indexName,
+        final Map<String, String> data, final DumpCondition condition) {
+        return create(indexName, data, condition, null);
+    }
+
+    /**
+     * Create bulk request of the rows.
+     *
+     * @param indexName The index name.
+     * @param dataList Data list.
+     * @param condition The dump condition, null means auto generated id.
+     * @param routingField The routing field, null means default routing.
+     * @return Bulk request.
+     */
+    static BulkRequest bulk(final String indexName,
+        final List<Map<String, String>> dataList,
+        final DumpCondition condition, final String routingField) {
+        BulkRequest request = new BulkRequest();
+        for (final Map<String, String> data : dataList) {
+            request.add(create(indexName, data, condition, routingField));
+        }
+        return request;
+    }
+
+    /**
+     * Create write request for a single row with custom routing.
+     *
+     * @param indexName The index name.
+     * @param data The row data.
+     * @param condition The dump condition, null means auto generated id.
+     * @param routingField The routing field, null means default routing.
+     * @return Write request.
+     */
+    static DocWriteRequest<?> create(final String indexName,
+        final Map<String, String> data, final DumpCondition condition,
+        final String routingField) {
+
+        DocWriteRequest<?> request;
+        if (condition == null) {
+            request = new IndexRequest(
+                indexName, EasyRestHighLevelClient.DEFAULT_TYPE
+            ).source(data);
+        } else {
+            String method = condition.getWriteMethod();
+            String docId = documentId(data, condition.getPrimaryKeys());
+            if (WriteMethod.UPDATE.equals(method)
+                || WriteMethod.UPSERT.equals(method)) {
+                request = createUpdate(indexName, docId, data, condition);
+            } else if (method == null || WriteMethod.INDEX.equals(method)
+                || WriteMethod.CREATE.equals(method)) {
+                request = createIndex(indexName, docId, data, condition);
+            } else {
+                throw new IllegalArgumentException(
+                    "Unknown write method: " + method
+                );
+            }
+        }
+        if (routingField != null) {
+            String routing = data.get(routingField);
+            if (routing == null) {
+                throw new IllegalArgumentException(
+                    "Routing column is null: " + routingField
+                );
+            }
+            request.routing(routing);
+        }
+
+        return request;
+    }
+
+    /**
+     * Derive document id from primary key columns. The delimiter and the
+     * escape inside a value are escaped, so different keys never share an
+     * id and keys without them keep the plain joined id.
+     *
+     * @param data The row data.
+     * @param primaryKeys The primary key columns.
+     * @return Document id, or null when no primary key is configured.
+     */
+    static String documentId(final Map<String, String> data,
+        final List<String> primaryKeys) {
+
+        String docId = null;
+        if (primaryKeys != null && !primaryKeys.isEmpty()) {
+            StringBuilder builder = new StringBuilder();
+            for (final String primaryKey : primaryKeys) {
+                String value = data.get(primaryKey);
+                if (value == null) {
+                    throw new IllegalArgumentException(
+                        "Primary key column is null: " + primaryKey
+                    );
+                }
+                if (builder.length() > 0) {
+                    builder.append(ID_DELIMITER);
+                }
+                for (int i = 0; i < value.length(); i++) {
+                    char c = value.charAt(i);
+                    if (c == ID_DELIMITER || c == ID_ESCAPE) {
+                        builder.append(ID_ESCAPE);
+                    }
+                    builder.append(c);
+                }
+            }
+            docId = builder.toString();
+        }
+
+        return docId;
+    }
+
+    /**
+     * Create index request, plain index or create only.
+     *
+     * @param indexName The index name.
+     * @param docId The document id.
+     * @param data The row data.
+     * @param condition The dump condition.
+     * @return Index request.
+     */
+    private static IndexRequest createIndex(final String indexName,
+        final String docId, final Map<String, String> data,
+        final DumpCondition condition) {
+
+        IndexRequest request = new IndexRequest(
+            indexName, EasyRestHighLevelClient.DEFAULT_TYPE, docId
+        ).source(data);
+        if (WriteMethod.CREATE.equals(condition.getWriteMethod())) {
+            if (condition.getVersionField() != null) {
+                throw new IllegalArgumentException(
+                    "External version is not supported by create"
+                );
+            }
+            request.opType(DocWriteRequest.OpType.CREATE);
+        }
+        if (condition.getVersionField() != null) {
+            String version = data.get(condition.getVersionField());
+            if (version == null) {
+                throw new IllegalArgumentException(
+                    "Version column is null: " + condition.getVersionField()
+                );
+            }
+            try {
+                request.version(Long.parseLong(version));
+            } catch (final NumberFormatException ex) {
+                throw new IllegalArgumentException(
+                    "Version column " + condition.getVersionField()
+                        + " is not a number: " + version + ", id: " + docId,
+                    ex
+                );
+            }
+            request.versionType(VersionType.EXTERNAL);
+        }
+
+        return request;
+    }
+
+    /**
+     * Create partial update request, optionally as upsert.
+     *
+     * @param indexName The index name.
+     * @param docId The document id.
+     * @param data The row data.
+     * @param condition The dump condition.
+     * @return Update request.
+     */
+    private static UpdateRequest createUpdate(final String indexName,
+        final String docId, final Map<String, String> data,
+        final DumpCondition condition) {
+
+        if (docId == null) {
+            throw new IllegalArgumentException(
+                "Update requires primary keys"
+            );
+        }
+        if (condition.getVersionField() != null) {
+            throw new IllegalArgumentException(
+                "External version is not supported by update"
+            );
+        }
+
+        return new UpdateRequest(
+            indexName, EasyRestHighLevelClient.DEFAULT_TYPE, docId
+        ).doc(data).docAsUpsert(
+            WriteMethod.UPSERT.equals(condition.getWriteMethod())
+        );
+    }
+}
@@ -0,0 +1,454 @@
+package com.lczyfz.elasticsearch.client;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONObject;
+import com.alibaba.fastjson.TypeReference;
+import com.lczyfz.elasticsearch.entity.DumpCondition;
+import com.lczyfz.elasticsearch.entity.SpoolSetting;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import org.elasticsearch.ElasticsearchStatusException;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.rest.RestStatus;
+
+/**
+ * Durable write ahead spool of dump, batches the cluster can not take are
+ * appended to a local segment log and replayed by a background drainer
+ * once the cluster answers again.
+ *
+ * <p>Rows refused with 429 or 5xx are spooled as well. While the spool
+ * holds batches, new batches are spooled behind them, but a batch of a
+ * concurrent dump may still be written directly before an earlier one is
+ * spooled, so the write order is not guaranteed: dump with a version
+ * field when the order matters.
+ *
+ * <p>Replay is at least once: a batch the cluster failed is sent again
+ * whole, of a partly written batch only the rows refused with 429 or 5xx
+ * are spooled again, and a batch is sent again after a crash. Dump with
+ * primary keys to keep it idempotent. Rows the cluster refuses for good
+ * are moved to the dead letter spool, see {@link #takeDeadLetter()}.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+public final class DumpSpool implements Closeable {
+
+    /**
+     * Index name key of a spooled batch.
+     */
+    private static final String INDEX = "index";
+
+    /**
+     * Condition key of a spooled batch.
+     */
+    private static final String CONDITION = "condition";
+
+    /**
+     * Data key of a spooled batch.
+     */
+    private static final String DATA = "data";
+
+    /**
+     * Failure reason key of a dead letter.
+     */
+    private static final String REASON = "reason";
+
+    /**
+     * Dead letter spool directory, under the spool directory.
+     */
+    private static final String DEAD_LETTER = "dead-letter";
+
+    /**
+     * Data list type.
+     */
+    private static final TypeReference<List<Map<String, String>>> DATA_TYPE =
+        new TypeReference<List<Map<String, String>>>() { };
+
+    /**
+     * Dump call.
+     */
+    private final BatchWriter writer;
+
+    /**
+     * Whether the cluster answers.
+     */
+    private final BooleanSupplier ping;
+
+    /**
+     * The spool setting.
+     */
+    private final SpoolSetting setting;
+
+    /**
+     * The segment log.
+     */
+    private final SpoolLog log;
+
+    /**
+     * The dead letter log.
+     */
+    private final SpoolLog deadLetters;
+
+    /**
+     * Drain lock, one replay at a time.
+     */
+    private final Object drainLock = new Object();
+
+    /**
+     * Drainer thread, null until started.
+     */
+    private ScheduledExecutorService drainer;
+
+    /**
+     * Dump spool constructor, batches left by a previous run are kept.
+     *
+     * @param client Easy client.
+     * @param directory The spool directory.
+     * @param setting The spool setting.
+     * @throws IOException If the spool can not be opened.
+     */
+    public DumpSpool(final EasyRestHighLevelClient client,
+        final Path directory, final SpoolSetting setting) throws IOException {
+        this(client::dump, () -> ping(client), directory, setting);
+    }
+
+    /**
+     * Dump spool constructor.
+     *
+     * @param writer Dump call.
+     * @param ping Whether the cluster answers.
+     * @param directory The spool directory.
+     * @param setting The spool setting.
+     * @throws IOException If the spool can not be opened.
+     */
+    DumpSpool(final BatchWriter writer, final BooleanSupplier ping,
+        final Path directory, final SpoolSetting setting) throws IOException {
+        this.writer = writer;
+        this.ping = ping;
+        this.setting = setting;
+        this.log = new SpoolLog(
+            directory, setting.getSegmentBytes(), setting.getMaxSegments()
+        );
+        this.deadLetters = new SpoolLog(directory.resolve(DEAD_LETTER),
+            setting.getSegmentBytes(), setting.getMaxSegments());
+    }
+
+    /**
+     * Start the background drainer.
+     */
+    public synchronized void start() {
+        if (this.drainer == null) {
+            this.drainer = Executors.newSingleThreadScheduledExecutor(
+                runnable -> {
+                    Thread thread = new Thread(runnable, "dump-spool-drainer");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            );
+            this.drainer.scheduleWithFixedDelay(this::drainQuietly,
+                this.setting.getDrainIntervalMillis(),
+                this.setting.getDrainIntervalMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Dump data, spooled when the cluster is down, overloaded or the spool
+     * still holds earlier batches. Rows refused with 429 or 5xx are
+     * spooled, they are still reported as failed in the response.
+     *
+     * @param indexName The index name of elasticsearch.
+     * @param dataList Data list.
+     * @param condition The dump condition, null means auto generated id.
+     * @return Bulk response, null if the batch was spooled.
+     * @throws IOException If the spool is full or something goes wrong.
+     */
+    public BulkResponse dump(final String indexName,
+        final List<Map<String, String>> dataList,
+        final DumpCondition condition) throws IOException {
+
+        BulkResponse response = null;
+        if (this.log.isEmpty()) {
+            try {
+                response = this.writer.dump(indexName, dataList, condition);
+                List<Map<String, String>> retry =
+                    failedRows(dataList, response, true);
+                if (!retry.isEmpty()) {
+                    this.spool(indexName, retry, condition);
+                }
+            } catch (final IOException ex) {
+                this.spool(indexName, dataList, condition);
+            } catch (final ElasticsearchStatusException ex) {
+                if (!retryable(ex)) {
+                    throw ex;
+                }
+                this.spool(indexName, dataList, condition);
+            }
+        } else {
+            this.spool(indexName, dataList, condition);
+        }
+
+        return response;
+    }
+
+    /**
+     * Replay spooled batches until the spool is empty or the cluster
+     * fails again.
+     *
+     * @return True if the spool is empty.
+     * @throws IOException If the spool can not be read.
+     */
+    public boolean drain() throws IOException {
+        synchronized (this.drainLock) {
+            if (this.log.isEmpty() || !this.ping.getAsBoolean()) {
+                return this.log.isEmpty();
+            }
+
+            SpoolLog.Record record = this.log.peek();
+            while (record != null) {
+                if (!this.replay(record)) {
+                    return false;
+                }
+                record = this.log.peek();
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Take the oldest dead letter, a batch of rows the cluster refused
+     * for good, with the failure reason.
+     *
+     * @return Dead letter JSON with index, condition, data and reason,
+     *  null if there is none.
+     * @throws IOException If the dead letter spool can not be read.
+     */
+    public String takeDeadLetter() throws IOException {
+        SpoolLog.Record record = this.deadLetters.peek();
+        if (record == null) {
+            return null;
+        }
+        this.deadLetters.commit(record);
+        return new String(record.getPayload(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Whether every spooled batch was replayed.
+     *
+     * @return True if empty.
+     */
+    public boolean isEmpty() {
+        return this.log.isEmpty();
+    }
+
+    /**
+     * Stop the drainer and close the segment files, spooled batches are
+     * replayed by the next spool on the same directory.
+     *
+     * @throws IOException If something goes wrong.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (this.drainer != null) {
+                this.drainer.shutdown();
+                try {
+                    this.drainer.awaitTermination(1, TimeUnit.MINUTES);
+                } catch (final InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+        this.log.close();
+        this.deadLetters.close();
+    }
+
+    /**
+     * Append a batch to the spool.
+     *
+     * @param indexName The index name.
+     * @param dataList Data list.
+     * @param condition The dump condition.
+     * @throws IOException If the spool is full or something goes wrong.
+     */
+    private void spool(final String indexName,
+        final List<Map<String, String>> dataList,
+        final DumpCondition condition) throws IOException {
+        JSONObject batch = new JSONObject(3);
+        batch.put(INDEX, indexName);
+        batch.put(CONDITION, condition);
+        batch.put(DATA, dataList);
+        this.log.append(
+            batch.toJSONString().getBytes(StandardCharsets.UTF_8)
+        );
+    }
+
+    /**
+     * Replay a spooled batch and commit it unless the cluster failed. Of
+     * a partly written batch the rows refused with 429 or 5xx are spooled
+     * again and the rows refused for good are dead lettered.
+     *
+     * @param record The spooled record.
+     * @return False if the cluster failed or refused rows with 429 or
+     *  5xx, draining stops until the next round.
+     * @throws IOException If the spool or dead letter spool is full.
+     */
+    private boolean replay(final SpoolLog.Record record) throws IOException {
+        JSONObject batch = JSON.parseObject(
+            new String(record.getPayload(), StandardCharsets.UTF_8)
+        );
+        List<Map<String, String>> dataList = batch.getObject(DATA, DATA_TYPE);
+        DumpCondition condition =
+            batch.getObject(CONDITION, DumpCondition.class);
+        BulkResponse response;
+        try {
+            response = this.writer.dump(batch.getString(INDEX), dataList,
+                condition);
+        } catch (final IOException ex) {
+            return false;
+        } catch (final ElasticsearchStatusException ex) {
+            if (retryable(ex)) {
+                return false;
+            }
+            this.deadLetter(batch, ex.getMessage());
+            this.log.commit(record);
+            return true;
+        } catch (final IllegalArgumentException ex) {
+            // a batch that can never be written
+            this.deadLetter(batch, ex.getMessage());
+            this.log.commit(record);
+            return true;
+        }
+
+        List<Map<String, String>> retry =
+            failedRows(dataList, response, true);
+        if (!retry.isEmpty()) {
+            this.spool(batch.getString(INDEX), retry, condition);
+        }
+        List<Map<String, String>> refused =
+            failedRows(dataList, response, false);
+        if (!refused.isEmpty()) {
+            batch.put(DATA, refused);
+            this.deadLetter(batch, response.buildFailureMessage());
+        }
+        this.log.commit(record);
+        return retry.isEmpty();
+    }
+
+    /**
+     * Append a batch to the dead letter spool.
+     *
+     * @param batch The spooled batch.
+     * @param reason The failure reason.
+     * @throws IOException If the dead letter spool is full.
+     */
+    private void deadLetter(final JSONObject batch, final String reason)
+        throws IOException {
+        batch.put(REASON, reason);
+        this.deadLetters.append(
+            batch.toJSONString().getBytes(StandardCharsets.UTF_8)
+        );
+    }
+
+    /**
+     * The rows of the failed bulk items, one item per row.
+     *
+     * @param dataList Data list.
+     * @param response The bulk response.
+     * @param retryable True for the rows refused with 429 or 5xx, false
+     *  for the rows refused for good.
+     * @return Failed rows.
+     */
+    static List<Map<String, String>> failedRows(
+        final List<Map<String, String>> dataList,
+        final BulkResponse response, final boolean retryable) {
+        List<Map<String, String>> rows = new ArrayList<>(0);
+        if (response.hasFailures()) {
+            BulkItemResponse[] items = response.getItems();
+            for (int i = 0; i < dataList.size() && i < items.length; i++) {
+                if (items[i].isFailed()
+                    && retryable(items[i].getFailure().getStatus())
+                    == retryable) {
+                    rows.add(dataList.get(i));
+                }
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Whether the cluster answers.
+     *
+     * @param client Easy client.
+     * @return True if the ping succeeded.
+     */
+    private static boolean ping(final EasyRestHighLevelClient client) {
+        boolean up;
+        try {
+            up = client.getInternalClient().ping(RequestOptions.DEFAULT);
+        } catch (final IOException | RuntimeException ex) {
+            up = false;
+        }
+        return up;
+    }
+
+    /**
+     * Drain from the background thread.
+     */
+    private void drainQuietly() {
+        try {
+            this.drain();
+        } catch (final IOException | RuntimeException ex) {
+            // retried on the next tick
+        }
+    }
+
+    /**
+     * Whether the cluster was overloaded or failing.
+     *
+     * @param ex The exception.
+     * @return True for 429 and 5xx.
+     */
+    private static boolean retryable(final ElasticsearchStatusException ex) {
+        return retryable(ex.status());
+    }
+
+    /**
+     * Whether the status means the cluster was overloaded or failing.
+     *
+     * @param status The status.
+     * @return True for 429 and 5xx.
+     */
+    private static boolean retryable(final RestStatus status) {
+        return status == RestStatus.TOO_MANY_REQUESTS
+            || status.getStatus() >= 500;
+    }
+
+    /**
+     * Dump call throwing IOException.
+     */
+    interface BatchWriter {
+
+        /**
+         * Dump a batch.
+         *
+         * @param indexName The index name.
+         * @param dataList Data list.
+         * @param condition The dump condition.
+         * @return Bulk response.
+         * @throws IOException If something goes wrong.
+         */
+        BulkResponse dump(String indexName, List<Map<String, String>> dataList,
+            DumpCondition condition) throws IOException;
+    }
+}
@@ -1,52 +1,43 @@
 package com.lczyfz.elasticsearch.client;
 
-import static com.lczyfz.elasticsearch.constant.MatchMethod.*;
-
 import com.alibaba.fastjson.JSONObject;
-import com.lczyfz.elasticsearch.constant.PhoenixDataTypes;
 import com.lczyfz.elasticsearch.entity.AdvancedSearchCondition;
-import com.lczyfz.elasticsearch.entity.SearchField;
-import com.lczyfz.elasticsearch.entity.SortField;
+import com.lczyfz.elasticsearch.entity.AggregationResult;
+import com.lczyfz.elasticsearch.entity.ConcurrencySetting;
+import com.lczyfz.elasticsearch.entity.DumpCondition;
+import com.lczyfz.elasticsearch.entity.FederatedSearchCondition;
+import com.lczyfz.elasticsearch.entity.FieldOption;
+import com.lczyfz.elasticsearch.entity.HedgeSetting;
+import com.lczyfz.elasticsearch.entity.HighlightSetting;
+import com.lczyfz.elasticsearch.entity.IndexSetting;
+import com.lczyfz.elasticsearch.entity.ProfileSetting;
+import com.lczyfz.elasticsearch.entity.SniffSetting;
 import java.io.Closeable;
 import java.io.IOException;
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 import org.apache.http.HttpHost;
 import org.elasticsearch.action.admin.indices.create.CreateIndexRequest;
 import org.elasticsearch.action.admin.indices.create.CreateIndexResponse;
 import org.elasticsearch.action.admin.indices.delete.DeleteIndexRequest;
-import org.elasticsearch.action.admin.indices.get.GetIndexRequest;
+import org.elasticsearch.action.admin.indices.template.put.PutIndexTemplateRequest;
 import org.elasticsearch.action.bulk.BulkRequest;
 import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.get.GetRequest;
 import org.elasticsearch.action.get.GetResponse;
-import org.elasticsearch.action.index.IndexRequest;
-import org.elasticsearch.action.search.ClearScrollRequest;
 import org.elasticsearch.action.search.SearchRequest;
-import org.elasticsearch.action.search.SearchResponse;
-import org.elasticsearch.action.search.SearchScrollRequest;
 import org.elasticsearch.action.support.master.AcknowledgedResponse;
 import org.elasticsearch.client.RequestOptions;
 import org.elasticsearch.client.RestClient;
 import org.elasticsearch.client.RestHighLevelClient;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.unit.TimeValue;
-import org.elasticsearch.index.query.BoolQueryBuilder;
-import org.elasticsearch.index.query.QueryBuilder;
-import org.elasticsearch.index.query.QueryBuilders;
-import org.elasticsearch.index.query.RangeQueryBuilder;
 import org.elasticsearch.search.Scroll;
-import org.elasticsearch.search.SearchHit;
 import org.elasticsearch.search.SearchHits;
-import org.elasticsearch.search.builder.SearchSourceBuilder;
-import org.elasticsearch.search.sort.SortOrder;
 
 /**
  * Easy rest high level client.
@@ -64,29 +55,64 @@ public final class EasyRestHighLevelClient implements Closeable {
     private RestHighLevelClient client;
 
     /**
-     * Default type.
+     * Search executor.
      */
-    private static final String DEFAULT_TYPE = "_doc";
+    private final SearchExecutor executor;
 
     /**
-     * Properties.
+     * Index metadata cache.
      */
-    private static final String PROPERTIES = "properties";
+    private final IndexMetadataCache metadata;
 
     /**
-     * Type.
+     * Advanced searcher.
      */
-    private static final String TYPE = "type";
+    private final AdvancedSearcher advancedSearcher;
 
     /**
-     * Default timeout.
+     * Federated searcher.
      */
-    private static final String DEFAULT_TIMEOUT = "1m";
+    private final FederatedSearcher federatedSearcher;
+
+    /**
+     * Suggestion side indices.
+     */
+    private final SuggestIndex suggestIndex;
+
+    /**
+     * Index changes.
+     */
+    private final IndexAdmin admin;
+
+    /**
+     * Health aware node selector.
+     */
+    private final NodeBalancer balancer;
+
+    /**
+     * Whether the client is owned by a registry, close has no effect.
+     */
+    private volatile boolean shared;
+
+    /**
+     * Bulk concurrency guard, null means unlimited.
+     */
+    private volatile RequestGuard bulkGuard;
+
+    /**
+     * Settings made on the client.
+     */
+    private final ClientSettings settings = new ClientSettings();
 
     /**
-     * Query string search format.
+     * Default type.
+     */
+    static final String DEFAULT_TYPE = "_doc";
+
+    /**
+     * Default timeout.
      */
-    private static final String QUERY_STRING_FORMAT = "*%s*";
+    private static final String DEFAULT_TIMEOUT = "1m";
 
     /**
      * Total number field.
@@ -99,64 +125,49 @@ public final class EasyRestHighLevelClient implements Closeable {
     public static final String SINGLE_INDEX_DATA = "singleIndexData";
 
     /**
-     * Traditional database data type mapping elasticsearch data type.
+     * Aggregation results field.
      */
-    private static final Map<String, Map<String, String>> DATA_TYPE_MAPPING =
-        new ConcurrentHashMap<>(7);
+    public static final String AGGREGATIONS = "aggregations";
 
     /**
-     * Default scroll setting.
+     * Total number relation field, eq or gte.
      */
-    private static final Scroll DEFAULT_SCROLL =
-        new Scroll(TimeValue.timeValueMinutes(1L));
+    public static final String SINGLE_INDEX_TOTAL_RELATION =
+        "singleIndexTotalRelation";
 
     /**
-     * Data type initialization.
+     * Highlight fragments field, one map per data row key as field name.
      */
-    static {
-        DATA_TYPE_MAPPING.put(
-            "VARCHAR", elasticsearchDataTypeFormatter("text")
-        );
-        DATA_TYPE_MAPPING.put(
-            "CHAR", elasticsearchDataTypeFormatter("keyword")
-        );
-        DATA_TYPE_MAPPING.put(
-            "DATE", elasticsearchDataTypeFormatter("date")
-        );
-        DATA_TYPE_MAPPING.put(
-            "INTEGER", elasticsearchDataTypeFormatter("long")
-        );
-        DATA_TYPE_MAPPING.put(
-            "BIGINT", elasticsearchDataTypeFormatter("long")
-        );
-        DATA_TYPE_MAPPING.put(
-            "BOOLEAN", elasticsearchDataTypeFormatter("boolean")
-        );
-        DATA_TYPE_MAPPING.put(
-            "DOUBLE", elasticsearchDataTypeFormatter("double")
-        );
-    }
+    public static final String SINGLE_INDEX_HIGHLIGHT =
+        "singleIndexHighlight";
 
     /**
-     * Date formatter.
+     * Index name field of a federated search, one per data row.
      */
-    private static final SimpleDateFormat DATE_FORMAT =
-        new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+    public static final String HIT_INDEX = "hitIndex";
 
     /**
-     * Traditional database data type convert to elasticsearch
-     * data type.
-     *
-     * @param elasticsearchDataType Elasticsearch data type.
-     * @return Elasticsearch data type map.
+     * Index totals field of a federated search, key as index name.
      */
-    private static Map<String, String> elasticsearchDataTypeFormatter(
-        final String elasticsearchDataType) {
+    public static final String INDEX_TOTALS = "indexTotals";
 
-        Map<String, String> field = new HashMap<>(1);
-        field.put(TYPE, elasticsearchDataType);
-        return field;
-    }
+    /**
+     * Default setting of mapping index.
+     */
+    static final IndexSetting DEFAULT_MAPPING_SETTING =
+        new IndexSetting(1, 1);
+
+    /**
+     * Default setting of created index.
+     */
+    private static final IndexSetting DEFAULT_INDEX_SETTING =
+        new IndexSetting(3, 2);
+
+    /**
+     * Default scroll setting.
+     */
+    static final Scroll DEFAULT_SCROLL =
+        new Scroll(TimeValue.timeValueMinutes(1L));
 
     /**
      * Easy rest client constructor.
@@ -164,16 +175,33 @@ public final class EasyRestHighLevelClient implements Closeable {
      * @param httpHosts Http host configuration.
      */
     public EasyRestHighLevelClient(final HttpHost... httpHosts) {
-        this.client = new RestHighLevelClient(RestClient.builder(httpHosts));
+        this.balancer = new NodeBalancer();
+        this.client = new RestHighLevelClient(
+            this.balancer.configure(RestClient.builder(httpHosts))
+        );
+        this.executor = new SearchExecutor(this.client);
+        this.suggestIndex = new SuggestIndex(this.client, this.executor);
+        this.metadata = new IndexMetadataCache(this.client);
+        this.admin =
+            new IndexAdmin(this.client, this.metadata, this.suggestIndex);
+        this.advancedSearcher =
+            new AdvancedSearcher(
+                this.executor, this.settings.getRoutingFields(), this.metadata
+            );
+        this.federatedSearcher = new FederatedSearcher(this.executor);
     }
 
     /**
-     * Get default client.
+     * Get the shared default client of {@link #DEFAULT_HTTP_HOST_LIST},
+     * created once and swapped when the host list changes, change the list
+     * while holding its lock. The settings are applied to the swapped in
+     * client. Closing it has no effect, see {@link ClientRegistry}.
      *
      * @return Easy rest high level client.
      */
     public static EasyRestHighLevelClient defaultClient() {
-        return new EasyRestHighLevelClient(DEFAULT_HTTP_HOST_LIST.toArray(new HttpHost[0]));
+        return ClientRegistry.shared().client(
+            ClientRegistry.DEFAULT_NAME, DEFAULT_HTTP_HOST_LIST);
     }
 
     /**
@@ -184,6 +212,65 @@ public final class EasyRestHighLevelClient implements Closeable {
         return this.client;
     }
 
+    /**
+     * Enable hedged search, a duplicate search with a random preference
+     * is sent when a search is slower than the observed latency
+     * percentile. The random preference may still pick the slow copy.
+     *
+     * @param hedgeSetting Hedge setting, null to disable.
+     */
+    public void hedgeSetting(final HedgeSetting hedgeSetting) {
+        this.settings.setHedge(hedgeSetting);
+        this.executor.setHedgeSetting(hedgeSetting);
+    }
+
+    /**
+     * Profile advanced searches into the slow log, a sampled fraction
+     * with the elasticsearch profile api and every search slower than
+     * the threshold with the query and the client phase timings.
+     *
+     * @param profileSetting Profile setting, null to disable.
+     * @param sink Slow log sink.
+     */
+    public void profileSetting(final ProfileSetting profileSetting,
+        final SlowLogSink sink) {
+        SearchProfiler profiler = null;
+        if (profileSetting != null) {
+            if (sink == null) {
+                throw new IllegalArgumentException("Slow log sink is required");
+            }
+            profiler = new SearchProfiler(this.executor, profileSetting, sink);
+        }
+        this.settings.setProfile(profileSetting, sink);
+        this.advancedSearcher.setProfiler(profiler);
+    }
+
+    /**
+     * Discover the cluster nodes periodically and after a node failure,
+     * requests go to the discovered nodes.
+     *
+     * @param sniffSetting Sniff setting, null to stop sniffing.
+     */
+    public void sniffSetting(final SniffSetting sniffSetting) {
+        this.settings.setSniff(sniffSetting);
+        this.balancer.sniff(this.client.getLowLevelClient(), sniffSetting);
+    }
+
+    /**
+     * Limit in-flight search and bulk requests separately, so ingest can
+     * not starve interactive searches, and fail fast with
+     * {@link RejectedRequestException} while the cluster is failing.
+     *
+     * @param search Search setting, null means unlimited.
+     * @param bulk Bulk setting, null means unlimited.
+     */
+    public void concurrencySetting(final ConcurrencySetting search,
+        final ConcurrencySetting bulk) {
+        this.settings.setConcurrency(search, bulk);
+        this.executor.setSearchGuard(
+            search == null ? null : new RequestGuard("search", search));
+        this.bulkGuard = bulk == null ? null : new RequestGuard("bulk", bulk);
+    }
 
     /**
      * Traditional database mapping elasticsearch index.
@@ -205,6 +292,27 @@ public final class EasyRestHighLevelClient implements Closeable {
         return this.indexMapping(indexName, fieldMapping);
     }
 
+    /**
+     * Traditional database mapping elasticsearch index with setting.
+     *
+     * @param database Traditional database name.
+     * @param table Table name.
+     * @param fieldMapping Field mapping key as field name
+     *                     and value as data type.
+     * @param setting Index setting, null to use the index template.
+     * @return Index name.
+     * @throws IOException If something goes wrong.
+     */
+    public String indexMapping(final String database, final String table,
+        final Map<String, String> fieldMapping, final IndexSetting setting)
+        throws IOException {
+
+        String indexName = this.uniqueIndex(
+            database.toLowerCase(), table.toLowerCase()
+        );
+
+        return this.indexMapping(indexName, fieldMapping, setting);
+    }
 
     /**
      * Traditional database mapping elasticsearch index.
@@ -246,30 +354,91 @@ public final class EasyRestHighLevelClient implements Closeable {
      * @throws IOException If something goes wrong.
      * @return Index name.
      */
-    private String indexMapping(final String indexName,
+    String indexMapping(final String indexName,
         final Map<String, String> fieldMapping) throws IOException {
+        return this.indexMapping(
+            indexName, fieldMapping, DEFAULT_MAPPING_SETTING
+        );
+    }
+
+    /**
+     * Traditional database mapping elasticsearch index.
+     *
+     * @param indexName The index name.
+     * @param fieldMapping Field mapping key as field name
+     *                     and value as data type.
+     * @param setting Index setting, null to use the index template.
+     * @throws IOException If something goes wrong.
+     * @return Index name.
+     */
+    String indexMapping(final String indexName,
+        final Map<String, String> fieldMapping, final IndexSetting setting)
+        throws IOException {
         CreateIndexRequest request = new CreateIndexRequest(indexName);
+        this.applyMapping(request, fieldMapping, setting);
+        request.timeout(TimeValue.timeValueMinutes(1));
+        this.admin.create(request);
+        return indexName;
+    }
 
-        request.settings(Settings.builder()
-            .put("index.number_of_shards", 1)
-            .put("index.number_of_replicas", 1)
-        );
+    /**
+     * Apply settings and mapping to a create index request.
+     *
+     * @param request The create index request.
+     * @param fieldMapping Field mapping key as field name
+     *                     and value as data type.
+     */
+    void applyMapping(final CreateIndexRequest request,
+        final Map<String, String> fieldMapping) {
+        this.applyMapping(request, fieldMapping, DEFAULT_MAPPING_SETTING);
+    }
 
-        Map<String, Object> jsonMap = new HashMap<>(1);
-        jsonMap.put(DEFAULT_TYPE, this.incrementProperties(fieldMapping));
+    /**
+     * Apply settings and mapping to a create index request.
+     *
+     * @param request The create index request.
+     * @param fieldMapping Field mapping key as field name
+     *                     and value as data type.
+     * @param setting Index setting, null to use the index template.
+     */
+    void applyMapping(final CreateIndexRequest request,
+        final Map<String, String> fieldMapping, final IndexSetting setting) {
+
+        request.settings(DataTypeMapping.settings(setting));
         // Set mapping
-        request.mapping(DEFAULT_TYPE, jsonMap);
-        request.timeout(TimeValue.timeValueMinutes(1));
-        request.timeout(TimeValue.timeValueMinutes(1));
-        AcknowledgedResponse response =
-            this.client.indices().create(request, RequestOptions.DEFAULT);
-        if (response.isAcknowledged()) {
+        request.mapping(DEFAULT_TYPE,
+            DataTypeMapping.typeMapping(fieldMapping, setting));
+    }
+
+    /**
+     * Register an index template, indices matching the patterns created
+     * with a null setting take the template setting and mapping.
+     *
+     * @param templateName The template name.
+     * @param patterns The index patterns, such as {@code database_table_*}.
+     * @param setting Index setting.
+     * @param fieldMapping Field mapping key as field name
+     *                     and value as data type, may be null.
+     * @return Put template response.
+     * @throws IOException If something goes wrong.
+     */
+    public AcknowledgedResponse putIndexTemplate(final String templateName,
+        final List<String> patterns, final IndexSetting setting,
+        final Map<String, String> fieldMapping) throws IOException {
 
+        PutIndexTemplateRequest request =
+            new PutIndexTemplateRequest(templateName);
+        request.patterns(patterns);
+        request.settings(DataTypeMapping.settings(setting));
+        if (fieldMapping != null) {
+            request.mapping(DEFAULT_TYPE,
+                DataTypeMapping.typeMapping(fieldMapping, setting));
         }
-        return indexName;
+        request.masterNodeTimeout(DEFAULT_TIMEOUT);
+        return this.client.indices()
+            .putTemplate(request, RequestOptions.DEFAULT);
     }
 
-
     /**
      * Dump data to elasticsearch.
      *
@@ -281,14 +450,48 @@ public final class EasyRestHighLevelClient implements Closeable {
     public BulkResponse dump(final String indexName,
         final List<Map<String, String>> dataList) throws IOException {
 
-        BulkRequest request = new BulkRequest();
+        return this.dump(indexName, dataList, null);
+    }
+
+    /**
+     * Dump data to elasticsearch with explicit document id.
+     *
+     * <p>When primary keys are configured the document id is derived from
+     * them, so dumping the same rows again overwrites instead of
+     * duplicating. Suggest field values of the dumped rows are sent in a
+     * separate bulk afterwards, the response only covers the rows.
+     *
+     * @param indexName The index name of elasticsearch.
+     * @param dataList Data list.
+     * @param condition The dump condition, null means auto generated id.
+     * @return Bulk Response.
+     * @throws IOException If something goes wrong.
+     */
+    public BulkResponse dump(final String indexName,
+        final List<Map<String, String>> dataList,
+        final DumpCondition condition) throws IOException {
+
+        BulkRequest request = DocWriteRequests.bulk(indexName, dataList,
+            condition, this.settings.getRoutingFields().get(indexName));
         request.timeout(DEFAULT_TIMEOUT);
-        dataList.forEach(
-            data -> request.add(
-                    new IndexRequest(indexName, DEFAULT_TYPE).source(data)
-                )
-        );
-        return this.client.bulk(request, RequestOptions.DEFAULT);
+        RequestGuard.RequestCall<BulkResponse> bulk =
+            () -> this.client.bulk(request, RequestOptions.DEFAULT);
+        RequestGuard guard = this.bulkGuard;
+        BulkResponse response = guard == null ? bulk.call() : guard.call(bulk);
+        this.suggestIndex.feed(indexName, dataList, response, condition);
+        return response;
+    }
+
+    /**
+     * Declare the routing field of an index, dump routes every document
+     * by the field value and advanced search on an equal condition of the
+     * field only touches one shard.
+     *
+     * @param indexName The index name.
+     * @param fieldName The routing field, null to remove.
+     */
+    public void routingField(final String indexName, final String fieldName) {
+        this.settings.setRoutingField(indexName, fieldName);
     }
 
     /**
@@ -298,26 +501,9 @@ public final class EasyRestHighLevelClient implements Closeable {
      * @return The index name.
      */
     public String createLogIndex(final String indexName) throws IOException {
-
-        Map<String, String> fieldMapping = new HashMap<>(13);
-        fieldMapping.put("id", "VARCHAR");
-        fieldMapping.put("systemSource", "VARCHAR");
-        fieldMapping.put("ip", "VARCHAR");
-        fieldMapping.put("logMessage", "VARCHAR");
-        fieldMapping.put("logLevel", "VARCHAR");
-        fieldMapping.put("instanceId", "VARCHAR");
-        fieldMapping.put("operatorId", "VARCHAR");
-        fieldMapping.put("createTime", "DATE");
-        fieldMapping.put("className", "VARCHAR");
-        fieldMapping.put("methodName", "VARCHAR");
-        fieldMapping.put("params", "VARCHAR");
-        fieldMapping.put("userId", "VARCHAR");
-        fieldMapping.put("userName", "VARCHAR");
-
-        return this.indexMapping(indexName, fieldMapping);
+        return this.indexMapping(indexName, LogIndexManager.fieldMapping());
     }
 
-
     /**
      * Create index with a certain name.
      *
@@ -327,15 +513,24 @@ public final class EasyRestHighLevelClient implements Closeable {
      */
     public CreateIndexResponse createIndex(final String indexName)
         throws IOException {
+        return this.createIndex(indexName, DEFAULT_INDEX_SETTING);
+    }
+
+    /**
+     * Create index with a certain name and setting.
+     *
+     * @param indexName The index name.
+     * @param setting Index setting, null to use the index template.
+     * @return Create response.
+     * @throws IOException If something goes wrong.
+     */
+    public CreateIndexResponse createIndex(final String indexName,
+        final IndexSetting setting) throws IOException {
 
         CreateIndexRequest request = new CreateIndexRequest(indexName);
-        request.settings(Settings.builder()
-            .put("index.number_of_shards", 3)
-            .put("index.number_of_replicas", 2)
-        );
+        request.settings(DataTypeMapping.settings(setting));
         request.timeout(DEFAULT_TIMEOUT);
-        return this.client.indices().create(request, RequestOptions.DEFAULT);
-
+        return this.admin.create(request);
     }
 
     /**
@@ -350,8 +545,17 @@ public final class EasyRestHighLevelClient implements Closeable {
 
         DeleteIndexRequest request = new DeleteIndexRequest(indexName);
         request.timeout(DEFAULT_TIMEOUT);
-        return this.client.indices().delete(request, RequestOptions.DEFAULT);
+        return this.admin.delete(request);
+    }
 
+    /**
+     * Index changes that keep the metadata cache and the suggestion side
+     * indices in step.
+     *
+     * @return Index admin.
+     */
+    IndexAdmin admin() {
+        return this.admin;
     }
 
     /**
@@ -363,12 +567,9 @@ public final class EasyRestHighLevelClient implements Closeable {
      */
     public boolean existenceIndex(final String indexName)
         throws IOException {
-        GetIndexRequest request = new GetIndexRequest();
-        request.indices(indexName);
-        return client.indices().exists(request, RequestOptions.DEFAULT);
+        return this.metadata.exists(indexName);
     }
 
-
     /**
      * The comprehensive search for index list.
      *
@@ -379,22 +580,78 @@ public final class EasyRestHighLevelClient implements Closeable {
      */
     public JSONObject comprehensiveSearch(final String keyword,
         final List<String> indexList) throws IOException {
+        return this.comprehensiveSearch(keyword, indexList, null);
+    }
 
-        JSONObject result = new JSONObject(new HashMap<>(indexList.size()));
-        for (final String indexName : indexList) {
-            SearchRequest searchRequest = new SearchRequest(indexName);
-            SearchSourceBuilder builder = new SearchSourceBuilder();
-            builder.query(this.crateQuery(keyword));
-
-            searchRequest.source(builder);
-            SearchResponse searchResponse =
-                this.client.search(searchRequest, RequestOptions.DEFAULT);
-            // Deal with response data.
-            result.put(indexName,
-                this.extraSearchHits(searchResponse.getHits()));
-        }
+    /**
+     * The comprehensive search with match snippets.
+     *
+     * @param keyword The keyword.
+     * @param indexList The index list.
+     * @param highlight Highlight setting, null means no highlight.
+     * @return Search result key as index name.
+     * @throws IOException If something goes wrong.
+     */
+    public JSONObject comprehensiveSearch(final String keyword,
+        final List<String> indexList, final HighlightSetting highlight)
+        throws IOException {
+        return new JSONObject(new HashMap<>(this.comprehensiveSearch(
+            keyword, indexList, highlight, ResultSink.json())));
+    }
+
+    /**
+     * The comprehensive search converted by the sink, once per index.
+     *
+     * @param keyword The keyword.
+     * @param indexList The index list.
+     * @param highlight Highlight setting, null means no highlight.
+     * @param sink Result sink.
+     * @param <T> Result type.
+     * @return Converted result key as index name, in the list order.
+     * @throws IOException If something goes wrong.
+     */
+    public <T> Map<String, T> comprehensiveSearch(final String keyword,
+        final List<String> indexList, final HighlightSetting highlight,
+        final ResultSink<T> sink) throws IOException {
+        return this.federatedSearcher.comprehensive(
+            keyword, indexList, highlight, sink);
+    }
 
-        return result;
+    /**
+     * Federated search, one search over every index of the condition
+     * with a single page ranked by score.
+     *
+     * @param condition The federated condition.
+     * @param pageNo The page number.
+     * @param pageSize The page size.
+     * @return Search result with the index of every row and the totals
+     *  key as index name.
+     * @throws IOException If something goes wrong.
+     */
+    public JSONObject federatedSearch(
+        final FederatedSearchCondition condition, final Integer pageNo,
+        final Integer pageSize) throws IOException {
+        return this.federatedSearch(
+            condition, pageNo, pageSize, ResultSink.json()
+        );
+    }
+
+    /**
+     * Federated search converted by the sink.
+     *
+     * @param condition The federated condition.
+     * @param pageNo The page number.
+     * @param pageSize The page size.
+     * @param sink Result sink.
+     * @param <T> Result type.
+     * @return Converted result.
+     * @throws IOException If something goes wrong.
+     */
+    public <T> T federatedSearch(final FederatedSearchCondition condition,
+        final Integer pageNo, final Integer pageSize,
+        final ResultSink<T> sink) throws IOException {
+        return sink.accept(this.federatedSearcher.search(
+            condition, pageNo, pageSize));
     }
 
     /**
@@ -410,208 +667,148 @@ public final class EasyRestHighLevelClient implements Closeable {
     public JSONObject comprehensiveSearch(final String keyword,
         final String indexName, final Integer pageNo, final Integer pageSize)
         throws IOException {
-
-        SearchRequest searchRequest = new SearchRequest();
-        searchRequest.indices(indexName);
-        searchRequest.scroll(DEFAULT_SCROLL);
-        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
-        searchSourceBuilder.query(this.crateQuery(keyword));
-        searchSourceBuilder.size(pageSize);
-        searchRequest.source(searchSourceBuilder);
-
-        SearchHits searchHits = this.scrollSearch(searchRequest, pageNo);
-        return this.extraSearchHits(searchHits);
+        return this.comprehensiveSearch(
+            keyword, indexName, pageNo, pageSize, (HighlightSetting) null);
     }
 
     /**
-     * Advanced search.
+     * The comprehensive page search for single index with match snippets.
      *
-     * @param condition The user selected condition.
+     * @param keyword The keyword.
+     * @param indexName The index name.
      * @param pageNo The page number.
      * @param pageSize The page size.
-     * @return Result or return null if condition doesn't meet specifications.
+     * @param highlight Highlight setting, null means no highlight.
+     * @return Single index page search result.
      * @throws IOException If something goes wrong.
-     * @throws ParseException If something goes wrong.
      */
-    public JSONObject advancedSearch(final AdvancedSearchCondition condition,
-        final Integer pageNo, final Integer pageSize)
-        throws IOException, ParseException {
-
-        // Create bool query.
-        BoolQueryBuilder advantageQuery = QueryBuilders.boolQuery();
-
-        // Extra condition.
-        if (condition.getSearchMethod() != null) {
-            for (final SearchField field : condition.getSearchMethod()) {
-                QueryBuilder singleQuery = this.crateQuery(field);
-
-                if (singleQuery != null) {
-                    if (NOT_EQUALS.equals(field.getMethod())) {
-                        advantageQuery.mustNot().add(singleQuery);
-                    } else {
-                        advantageQuery.must().add(singleQuery);
-                    }
-                }
-            }
-        }
-
-        SearchRequest searchRequest = new SearchRequest();
-        searchRequest.indices(condition.getIndexName());
-        searchRequest.scroll(DEFAULT_SCROLL);
-        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
-        searchSourceBuilder.query(advantageQuery);
-        searchSourceBuilder.size(pageSize);
-        SortField sortField = condition.getSortField();
-        if (sortField != null) {
-            searchSourceBuilder.sort(sortField.getFieldName(),
-                SortOrder.valueOf(sortField.getSortType()));
-        }
-        searchRequest.source(searchSourceBuilder);
-
-
-        // Execute query.
-        SearchHits searchHits = this.scrollSearch(searchRequest, pageNo);
-        return this.extraSearchHits(searchHits);
+    public JSONObject comprehensiveSearch(final String keyword,
+        final String indexName, final Integer pageNo, final Integer pageSize,
+        final HighlightSetting highlight) throws IOException {
+        return this.comprehensiveSearch(keyword, indexName, pageNo, pageSize,
+            highlight, ResultSink.json());
     }
 
     /**
-     * Create date query.
+     * The comprehensive page search for single index converted by the sink.
      *
-     * @param field Search field.
-     * @return Query.
-     * @throws ParseException If something goes wrong.
+     * @param keyword The keyword.
+     * @param indexName The index name.
+     * @param pageNo The page number.
+     * @param pageSize The page size.
+     * @param highlight Highlight setting, null means no highlight.
+     * @param sink Result sink.
+     * @param <T> Result type.
+     * @return Converted result.
+     * @throws IOException If something goes wrong.
      */
-    private QueryBuilder crateQuery(final SearchField field)
-        throws ParseException {
-        QueryBuilder singleQuery = null;
-        String typeName = field.getTypeName().toUpperCase().trim();
-        if (PhoenixDataTypes.validateDate(typeName)) {
-            // Create date query.
-            singleQuery = this.createDateQuery(field);
-        } else if (PhoenixDataTypes.validateNumeric(typeName)) {
-            // Create numeric query.
-            singleQuery = this.createNumericQuery(field);
-        } else if (PhoenixDataTypes.validateString(typeName)) {
-            // Create string query.
-            singleQuery = this.createStringQuery(field);
-        }
-
-        return singleQuery;
+    public <T> T comprehensiveSearch(final String keyword,
+        final String indexName, final Integer pageNo, final Integer pageSize,
+        final HighlightSetting highlight, final ResultSink<T> sink)
+        throws IOException {
+        return sink.accept(this.federatedSearcher.comprehensive(
+            keyword, indexName, pageNo, pageSize, highlight));
     }
 
     /**
-     * Create date query.
+     * Set the time to live of the cached index existence, field types and
+     * settings, zero disables the cache. Indices created, mapped or
+     * deleted through this client are dropped from the cache at once.
      *
-     * @param field Search field.
-     * @return Date query.
-     * @throws ParseException If somethings goes wrong.
+     * @param ttl Time to live.
      */
-    private QueryBuilder createDateQuery(final SearchField field)
-        throws ParseException {
-
-        QueryBuilder simpleQuery = null;
-        RangeQueryBuilder dateBuilder =
-            QueryBuilders.rangeQuery(field.getFieldName());
-
-        long beginTime = DATE_FORMAT.parse(field.getBeginTime()).getTime();
-        long endTime = 0;
-        if (field.getEndTime() != null) {
-            endTime = DATE_FORMAT.parse(field.getEndTime()).getTime();
-        }
-        String method = field.getMethod();
-
-        // Build query.
-        if (EQUALS.equals(method) || NOT_EQUALS.equals(method)) {
-            simpleQuery = dateBuilder.gte(beginTime).lte(beginTime);
-        } else if (GT.equals(method)) {
-            simpleQuery = dateBuilder.gt(beginTime);
-        } else if (LT.equals(method)) {
-            simpleQuery = dateBuilder.lt(beginTime);
-        } else if (GTE.equals(method)) {
-            simpleQuery = dateBuilder.gte(beginTime);
-        } else if (LTE.equals(method)) {
-            simpleQuery = dateBuilder.lte(beginTime);
-        } else if (RANGE.equals(method)) {
-            simpleQuery = dateBuilder.gte(beginTime).lte(endTime);
-        }
-
-        return simpleQuery;
+    public void metadataTtl(final TimeValue ttl) {
+        this.metadata.setTtlMillis(ttl.millis());
     }
 
-
     /**
-     * Create numeric query.
+     * Elasticsearch field types of the index from the cached mapping.
      *
-     * @param field Search field.
-     * @return Search query.
+     * @param indexName The index or alias name.
+     * @return Field types key as field name, object fields are dotted.
+     * @throws IOException If something goes wrong.
      */
-    private QueryBuilder createNumericQuery(final SearchField field) {
-
-        QueryBuilder simpleQuery = null;
-        String method = field.getMethod();
-        String fieldName = field.getFieldName();
-        String value = field.getValue();
-
-        // Build query.
-        if (EQUALS.equals(method) || NOT_EQUALS.equals(method)) {
-            simpleQuery = QueryBuilders.termQuery(fieldName, value);
-        } else if (GT.equals(method)) {
-            simpleQuery = QueryBuilders.rangeQuery(fieldName).gt(value);
-        } else if (LT.equals(method)) {
-            simpleQuery = QueryBuilders.rangeQuery(fieldName).lt(value);
-        } else if (GTE.equals(method)) {
-            simpleQuery = QueryBuilders.rangeQuery(fieldName).gte(value);
-        } else if (LTE.equals(method)) {
-            simpleQuery = QueryBuilders.rangeQuery(fieldName).lte(value);
-        }
-
-        return simpleQuery;
-
+    public Map<String, String> fieldTypes(final String indexName)
+        throws IOException {
+        return this.metadata.fieldTypes(indexName);
     }
 
     /**
-     * Create string query.
+     * Settings of the index from the cache.
      *
-     * @param field Search field.
-     * @return Query.
+     * @param indexName The index or alias name.
+     * @return Settings, empty if the index is missing.
+     * @throws IOException If something goes wrong.
      */
-    private QueryBuilder createStringQuery(final SearchField field) {
-
-        QueryBuilder simpleQuery = null;
-        String method = field.getMethod();
-        String fieldName = field.getFieldName();
-        String value = field.getValue();
-
-        // Build query.
-        if (EQUALS.equals(method) || NOT_EQUALS.equals(method)) {
-            simpleQuery = QueryBuilders.termQuery(fieldName, value);
-        } else if (CONTAINS.equals(method)) {
-            simpleQuery = QueryBuilders.matchPhraseQuery(fieldName, value);
-        } else if (LIKE.equals(method)) {
-            simpleQuery = QueryBuilders.wildcardQuery(fieldName, "*" + value + "*");
-        }
+    public Settings indexSettings(final String indexName)
+        throws IOException {
+        return this.metadata.settings(indexName);
+    }
 
-        return simpleQuery;
+    /**
+     * Advanced search.
+     *
+     * @param condition The user selected condition.
+     * @param pageNo The page number.
+     * @param pageSize The page size.
+     * @return Result or return null if condition doesn't meet specifications.
+     * @throws IOException If something goes wrong.
+     * @throws ParseException If something goes wrong.
+     */
+    public JSONObject advancedSearch(final AdvancedSearchCondition condition,
+        final Integer pageNo, final Integer pageSize)
+        throws IOException, ParseException {
+        return this.advancedSearch(
+            condition, pageNo, pageSize, ResultSink.json()
+        );
     }
 
+    /**
+     * Advanced search converted by the sink, the immutable result is
+     * passed without a fastjson copy.
+     *
+     * @param condition The user selected condition.
+     * @param pageNo The page number.
+     * @param pageSize The page size.
+     * @param sink Result sink.
+     * @param <T> Result type.
+     * @return Converted result.
+     * @throws IOException If something goes wrong.
+     * @throws ParseException If something goes wrong.
+     */
+    public <T> T advancedSearch(final AdvancedSearchCondition condition,
+        final Integer pageNo, final Integer pageSize,
+        final ResultSink<T> sink) throws IOException, ParseException {
+        return sink.accept(
+            this.advancedSearcher.search(condition, pageNo, pageSize)
+        );
+    }
 
     /**
-     * Generate query statements based on keywords.
+     * Run the aggregations of the condition without fetching hits.
      *
-     * @param keyword The keyword.
-     * @return QueryBuilder.
-     */
-    private QueryBuilder crateQuery(final String keyword) {
-        QueryBuilder query = null;
-        if (keyword == null || "".equals(keyword)) {
-            query = QueryBuilders.matchAllQuery();
-        } else {
-            query = QueryBuilders
-                .queryStringQuery(String
-                    .format(QUERY_STRING_FORMAT, keyword));
-        }
+     * @param condition The user selected condition.
+     * @return Aggregation results in the order of the condition.
+     * @throws IOException If something goes wrong.
+     * @throws ParseException If something goes wrong.
+     */
+    public List<AggregationResult> aggregate(
+        final AdvancedSearchCondition condition)
+        throws IOException, ParseException {
+        return this.advancedSearcher.aggregate(condition);
+    }
 
-        return query;
+    /**
+     * Count the documents matching the condition without fetching them.
+     *
+     * @param condition The user selected condition.
+     * @return Document count.
+     * @throws IOException If something goes wrong.
+     * @throws ParseException If something goes wrong.
+     */
+    public long count(final AdvancedSearchCondition condition)
+        throws IOException, ParseException {
+        return this.advancedSearcher.count(condition);
     }
 
     /**
@@ -624,29 +821,27 @@ public final class EasyRestHighLevelClient implements Closeable {
      */
     public GetResponse getDocument(final String indexName, final String docId)
         throws IOException {
-
-        GetRequest request = new GetRequest(indexName, DEFAULT_TYPE, docId);
-        GetResponse getResponse = this.client
-            .get(request, RequestOptions.DEFAULT);
-        return getResponse;
+        return this.getDocument(indexName, docId, null);
     }
 
     /**
-     * Extra search hits data.
+     * Get document detail by id and routing.
      *
-     * @param searchHits Search result.
-     * @return Extra result.
+     * @param indexName The index name.
+     * @param docId Document id
+     * @param routing The routing value, required when the index has a
+     *                routing field.
+     * @throws IOException If something goes wrong.
+     * @return Get response.
      */
-    private JSONObject extraSearchHits(final SearchHits searchHits) {
-        JSONObject result = new JSONObject(new HashMap<>(2));
-        List<Map<String, Object>> dataList = new LinkedList<>();
-        result.put(SINGLE_INDEX_TOTAL, searchHits.getTotalHits());
-        result.put(SINGLE_INDEX_DATA, dataList);
-        for (final SearchHit searchHit : searchHits.getHits()) {
-            dataList.add(searchHit.getSourceAsMap());
-        }
+    public GetResponse getDocument(final String indexName, final String docId,
+        final String routing) throws IOException {
 
-        return result;
+        GetRequest request = new GetRequest(indexName, DEFAULT_TYPE, docId);
+        request.routing(routing);
+        GetResponse getResponse = this.client
+            .get(request, RequestOptions.DEFAULT);
+        return getResponse;
     }
 
     /**
@@ -659,43 +854,58 @@ public final class EasyRestHighLevelClient implements Closeable {
      */
     public SearchHits scrollSearch(final SearchRequest request,
         final Integer pageNo) throws IOException {
-        // execute search
-        SearchResponse searchResponse =
-            this.client.search(request, RequestOptions.DEFAULT);
-        String scrollId = searchResponse.getScrollId();
-        SearchHits searchHits = searchResponse.getHits();
-
-        // scroll search
-        if (searchHits.getHits() != null && searchHits.getHits().length > 0) {
-            int i= 1;
-            while (i < pageNo) {
-                SearchScrollRequest scrollRequest =
-                    new SearchScrollRequest(scrollId);
-                scrollRequest.scroll(DEFAULT_SCROLL);
-                searchResponse =
-                    this.client.scroll(scrollRequest, RequestOptions.DEFAULT);
-                scrollId = searchResponse.getScrollId();
-                searchHits = searchResponse.getHits();
-                i++;
-            }
-        }
+        return this.executor.scrollSearch(request, pageNo, first -> { });
+    }
 
-        // clear scroll session
-        this.clearScrollSession(scrollId);
+    /**
+     * Use scroll search, the page converted by the sink.
+     *
+     * @param request The search request.
+     * @param pageNo The page number.
+     * @param sink Result sink.
+     * @param <T> Result type.
+     * @return Converted result.
+     * @throws IOException If something goes wrong.
+     */
+    public <T> T scrollSearch(final SearchRequest request,
+        final Integer pageNo, final ResultSink<T> sink) throws IOException {
+        return sink.accept(
+            SearchResults.result(this.scrollSearch(request, pageNo), null));
+    }
+
+    /**
+     * Autocomplete a search box prefix from the suggestion side indices
+     * fed by {@link DumpCondition#setSuggestFields(List)}, far cheaper
+     * than a wildcard comprehensive search on every keystroke.
+     *
+     * @param prefix The typed prefix.
+     * @param indexList The table index names.
+     * @param limit Maximum suggestions.
+     * @return Suggested values in score order.
+     * @throws IOException If something goes wrong.
+     */
+    public List<String> suggest(final String prefix,
+        final List<String> indexList, final int limit) throws IOException {
+        return this.suggestIndex.suggest(prefix, indexList, limit);
+    }
 
-        return searchHits;
+    /**
+     * Suggestion values failed to index since the client was created.
+     *
+     * @return Failure count, a failure never fails the dump.
+     */
+    public long suggestFailures() {
+        return this.suggestIndex.failures();
     }
+
     /**
-     * Clear scroll id.
+     * Clear the live scroll cursor of the session.
      *
-     * @param scrollId The scroll search ID.
+     * @param session The scroll session.
      * @throws IOException If something goes wrong.
      */
-    private void clearScrollSession(final String scrollId) throws IOException {
-        // clear scroll session
-        ClearScrollRequest clearScrollRequest = new ClearScrollRequest();
-        clearScrollRequest.addScrollId(scrollId);
-        this.client.clearScroll(clearScrollRequest, RequestOptions.DEFAULT);
+    public void closeScrollSession(final String session) throws IOException {
+        this.executor.closeScrollSession(session);
     }
 
     /**
@@ -706,18 +916,20 @@ public final class EasyRestHighLevelClient implements Closeable {
      */
     public Map<String, Object> incrementProperties(
         final Map<String, String> fieldMapping) {
+        return this.incrementProperties(fieldMapping, null);
+    }
 
-        Map<String, Map<String, String>> properties =
-            new HashMap<>(fieldMapping.size());
-
-        fieldMapping.forEach(
-            (fieldName, dataType)
-                -> properties.put(fieldName, DATA_TYPE_MAPPING.get(dataType))
-        );
-        Map<String, Object> jsonMap = new HashMap<>(1);
-        jsonMap.put(PROPERTIES, properties);
-
-        return jsonMap;
+    /**
+     * Create elasticsearch properties with per field options.
+     *
+     * @param fieldMapping Traditional database data type.
+     * @param fieldOptions Per field options key as field name, may be null.
+     * @return Properties map.
+     */
+    public Map<String, Object> incrementProperties(
+        final Map<String, String> fieldMapping,
+        final Map<String, FieldOption> fieldOptions) {
+        return DataTypeMapping.properties(fieldMapping, fieldOptions);
     }
 
     /**
@@ -727,7 +939,7 @@ public final class EasyRestHighLevelClient implements Closeable {
      * @param table Table name.
      * @return Index name.
      */
-    private String uniqueIndex(final String database, final String table) {
+    String uniqueIndex(final String database, final String table) {
         return database.concat("_")
             .concat(table).concat("_")
             .concat(UUID.randomUUID().toString().replaceAll("-", ""));
@@ -744,10 +956,44 @@ public final class EasyRestHighLevelClient implements Closeable {
      * <em>mark</em> the {@code Closeable} as closed, prior to throwing
      * the {@code IOException}.
      *
+     * <p>A client of {@link ClientRegistry} is closed by the registry.
+     *
      * @throws IOException if an I/O error occurs
      */
     @Override
     public void close() throws IOException {
-        this.client.close();
+        if (!this.shared) {
+            this.shutdown();
+        }
+    }
+
+    /**
+     * Mark the client as owned by a registry.
+     */
+    void markShared() {
+        this.shared = true;
+    }
+
+    /**
+     * Settings made on the client.
+     *
+     * @return Settings.
+     */
+    ClientSettings settings() {
+        return this.settings;
+    }
+
+    /**
+     * Close the search executor and the internal client.
+     *
+     * @throws IOException If something goes wrong.
+     */
+    void shutdown() throws IOException {
+        try {
+            this.balancer.close();
+            this.executor.close();
+        } finally {
+            this.client.close();
+        }
     }
 }
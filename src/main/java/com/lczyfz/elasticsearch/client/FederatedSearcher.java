@@ -0,0 +1,229 @@
+package com.lczyfz.elasticsearch.client;
+
+import com.lczyfz.elasticsearch.entity.FederatedSearchCondition;
+import com.lczyfz.elasticsearch.entity.HighlightSetting;
+import com.lczyfz.elasticsearch.entity.SearchResult;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.support.IndicesOptions;
+import org.elasticsearch.search.SearchHits;
+import org.elasticsearch.search.aggregations.AggregationBuilders;
+import org.elasticsearch.search.aggregations.Aggregations;
+import org.elasticsearch.search.aggregations.bucket.terms.Terms;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+
+/**
+ * Keyword search over many indices, federated as one search with a
+ * single page ranked by score and the totals of every index, or
+ * comprehensive as one search per index.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+final class FederatedSearcher {
+
+    /**
+     * Index totals aggregation name.
+     */
+    private static final String INDEX_TOTALS = "index_totals";
+
+    /**
+     * Index meta field.
+     */
+    private static final String INDEX_FIELD = "_index";
+
+    /**
+     * Index buckets, wildcards and aliases may match more indices than
+     * listed.
+     */
+    private static final int INDEX_BUCKETS = 1000;
+
+    /**
+     * Max from and size of a page search.
+     */
+    private static final int MAX_RESULT_WINDOW = 10000;
+
+    /**
+     * Search executor.
+     */
+    private final SearchExecutor executor;
+
+    /**
+     * Federated searcher constructor.
+     *
+     * @param executor Search executor.
+     */
+    FederatedSearcher(final SearchExecutor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Federated search, deep pages are scrolled.
+     *
+     * @param condition The federated condition.
+     * @param pageNo The page number.
+     * @param pageSize The page size.
+     * @return Search result with the index of every hit and the index
+     *  totals.
+     * @throws IOException If something goes wrong.
+     */
+    SearchResult search(final FederatedSearchCondition condition,
+        final Integer pageNo, final Integer pageSize) throws IOException {
+        String[] indices = condition.getIndexName();
+        if (indices == null || indices.length == 0) {
+            throw new IllegalArgumentException("Index name is required");
+        }
+
+        SearchSourceBuilder source = source(condition, pageSize);
+
+        // A missing index of the list does not fail the search.
+        SearchRequest request = new SearchRequest(indices)
+            .indicesOptions(IndicesOptions.lenientExpandOpen());
+        SearchHits hits;
+        Aggregations aggregations;
+        if (pageNo * pageSize <= MAX_RESULT_WINDOW) {
+            source.from(Math.max(0, (pageNo - 1) * pageSize));
+            SearchResponse response =
+                this.executor.search(request.source(source));
+            hits = response.getHits();
+            aggregations = response.getAggregations();
+        } else {
+            AtomicReference<Aggregations> first = new AtomicReference<>();
+            request.scroll(EasyRestHighLevelClient.DEFAULT_SCROLL);
+            hits = this.executor.scrollSearch(request.source(source), pageNo,
+                response -> first.set(response.getAggregations()));
+            aggregations = first.get();
+        }
+
+        return result(hits, aggregations, condition.getHighlight());
+    }
+
+    /**
+     * The federated search source, ranked by score with the index totals
+     * aggregation.
+     *
+     * @param condition The federated condition.
+     * @param pageSize The page size.
+     * @return Search source.
+     */
+    static SearchSourceBuilder source(final FederatedSearchCondition condition,
+        final Integer pageSize) {
+        SearchSourceBuilder source = new SearchSourceBuilder();
+        source.query(AdvancedQueryBuilder.crateQuery(condition.getKeyword()));
+        source.size(pageSize);
+        if (condition.getIndexBoosts() != null) {
+            for (final Map.Entry<String, Float> boost
+                : condition.getIndexBoosts().entrySet()) {
+                source.indexBoost(boost.getKey(), boost.getValue());
+            }
+        }
+        source.aggregation(AggregationBuilders.terms(INDEX_TOTALS)
+            .field(INDEX_FIELD)
+            .size(Math.max(INDEX_BUCKETS, condition.getIndexName().length)));
+        AdvancedQueryBuilder.highlight(source, condition.getHighlight(),
+            AdvancedQueryBuilder.ALL_FIELDS);
+        return source;
+    }
+
+    /**
+     * The federated result, the index of every hit and the index totals.
+     *
+     * @param hits The page hits.
+     * @param aggregations The aggregations of the first response.
+     * @param highlight Highlight setting, null means no highlight.
+     * @return Search result.
+     */
+    static SearchResult result(final SearchHits hits,
+        final Aggregations aggregations, final HighlightSetting highlight) {
+        return SearchResults.result(hits, highlight)
+            .withIndices(SearchResults.indices(hits), totals(aggregations));
+    }
+
+    /**
+     * The comprehensive search, one search per index.
+     *
+     * @param keyword The keyword.
+     * @param indexList The index list.
+     * @param highlight Highlight setting, null means no highlight.
+     * @param sink Result sink, called once per index.
+     * @param <T> Result type.
+     * @return Converted result key as index name, in the list order.
+     * @throws IOException If something goes wrong.
+     */
+    <T> Map<String, T> comprehensive(final String keyword,
+        final List<String> indexList, final HighlightSetting highlight,
+        final ResultSink<T> sink) throws IOException {
+
+        Map<String, T> result = new LinkedHashMap<>(indexList.size());
+        for (final String indexName : indexList) {
+            SearchRequest searchRequest = new SearchRequest(indexName);
+            SearchSourceBuilder builder = new SearchSourceBuilder();
+            builder.query(AdvancedQueryBuilder.crateQuery(keyword));
+            AdvancedQueryBuilder.highlight(
+                builder, highlight, AdvancedQueryBuilder.ALL_FIELDS
+            );
+
+            searchRequest.source(builder);
+            SearchResponse searchResponse =
+                this.executor.search(searchRequest);
+            // Deal with response data.
+            result.put(indexName, sink.accept(
+                SearchResults.result(searchResponse.getHits(), highlight)
+            ));
+        }
+
+        return result;
+    }
+
+    /**
+     * The comprehensive page search for single index.
+     *
+     * @param keyword The keyword.
+     * @param indexName The index name.
+     * @param pageNo The page number.
+     * @param pageSize The page size.
+     * @param highlight Highlight setting, null means no highlight.
+     * @return Single index page search result.
+     * @throws IOException If something goes wrong.
+     */
+    SearchResult comprehensive(final String keyword, final String indexName,
+        final Integer pageNo, final Integer pageSize,
+        final HighlightSetting highlight) throws IOException {
+
+        SearchRequest searchRequest = new SearchRequest();
+        searchRequest.indices(indexName);
+        searchRequest.scroll(EasyRestHighLevelClient.DEFAULT_SCROLL);
+        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
+        searchSourceBuilder.query(AdvancedQueryBuilder.crateQuery(keyword));
+        searchSourceBuilder.size(pageSize);
+        AdvancedQueryBuilder.highlight(searchSourceBuilder, highlight,
+            AdvancedQueryBuilder.ALL_FIELDS);
+        searchRequest.source(searchSourceBuilder);
+
+        SearchHits searchHits =
+            this.executor.scrollSearch(searchRequest, pageNo, first -> { });
+        return SearchResults.result(searchHits, highlight);
+    }
+
+    /**
+     * Document count key as index name.
+     *
+     * @param aggregations The response aggregations.
+     * @return Index totals.
+     */
+    private static Map<String, Long> totals(final Aggregations aggregations) {
+        Map<String, Long> totals = new LinkedHashMap<>();
+        if (aggregations != null) {
+            Terms terms = aggregations.get(INDEX_TOTALS);
+            for (final Terms.Bucket bucket : terms.getBuckets()) {
+                totals.put(bucket.getKeyAsString(), bucket.getDocCount());
+            }
+        }
+        return totals;
+    }
+}
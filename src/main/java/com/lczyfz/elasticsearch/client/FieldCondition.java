@@ -0,0 +1,465 @@
+package com.lczyfz.elasticsearch.client;
+
+import com.lczyfz.elasticsearch.constant.MatchOperator;
+import com.lczyfz.elasticsearch.constant.PhoenixDataTypes;
+import com.lczyfz.elasticsearch.entity.SearchField;
+import java.math.BigDecimal;
+import java.text.ParseException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.util.EnumSet;
+import java.util.Set;
+import org.elasticsearch.index.query.QueryBuilder;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.index.query.RangeQueryBuilder;
+
+/**
+ * Typed search field condition, the operator is an enum and the bounds
+ * are primitive, values are validated when the condition is created.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+final class FieldCondition {
+
+    /**
+     * Date format of begin and end time, single digit fields and
+     * milliseconds are accepted, invalid days are rejected.
+     */
+    static final DateTimeFormatter DATE_TIME =
+        DateTimeFormatter.ofPattern("uuuu-M-d H:m:s[.SSS]")
+            .withResolverStyle(ResolverStyle.STRICT);
+
+    /**
+     * Operators of date fields.
+     */
+    private static final Set<MatchOperator> DATE_OPERATORS = EnumSet.of(
+        MatchOperator.EQUALS, MatchOperator.NOT_EQUALS, MatchOperator.GT,
+        MatchOperator.LT, MatchOperator.GTE, MatchOperator.LTE,
+        MatchOperator.RANGE
+    );
+
+    /**
+     * Operators of numeric fields.
+     */
+    private static final Set<MatchOperator> NUMERIC_OPERATORS = EnumSet.of(
+        MatchOperator.EQUALS, MatchOperator.NOT_EQUALS, MatchOperator.GT,
+        MatchOperator.LT, MatchOperator.GTE, MatchOperator.LTE
+    );
+
+    /**
+     * Operators of string fields.
+     */
+    private static final Set<MatchOperator> STRING_OPERATORS = EnumSet.of(
+        MatchOperator.EQUALS, MatchOperator.NOT_EQUALS,
+        MatchOperator.CONTAINS, MatchOperator.LIKE
+    );
+
+    /**
+     * The field kind.
+     */
+    enum Kind {
+
+        /**
+         * Date, bounds in epoch milliseconds.
+         */
+        DATE,
+
+        /**
+         * Integral number, long bounds.
+         */
+        INTEGRAL,
+
+        /**
+         * Floating number, decimal bound sent as double.
+         */
+        FLOATING,
+
+        /**
+         * Decimal number, exact decimal bound.
+         */
+        DECIMAL,
+
+        /**
+         * String, text value.
+         */
+        STRING
+    }
+
+    /**
+     * The field name.
+     */
+    private final String fieldName;
+
+    /**
+     * The field kind.
+     */
+    private final Kind kind;
+
+    /**
+     * The operator.
+     */
+    private final MatchOperator operator;
+
+    /**
+     * Lower or single bound of date and integral fields.
+     */
+    private final long lowerLong;
+
+    /**
+     * Upper bound of a date range.
+     */
+    private final long upperLong;
+
+    /**
+     * Single bound of floating and decimal fields, exact as typed.
+     */
+    private final BigDecimal decimal;
+
+    /**
+     * Text of string fields.
+     */
+    private final String text;
+
+    /**
+     * Field condition constructor.
+     *
+     * @param fieldName The field name.
+     * @param kind The field kind.
+     * @param operator The operator.
+     * @param lowerLong Lower or single long bound.
+     * @param upperLong Upper long bound.
+     * @param decimal Single decimal bound.
+     * @param text The text.
+     */
+    FieldCondition(final String fieldName, final Kind kind,
+        final MatchOperator operator, final long lowerLong,
+        final long upperLong, final BigDecimal decimal, final String text) {
+        this.fieldName = fieldName;
+        this.kind = kind;
+        this.operator = operator;
+        this.lowerLong = lowerLong;
+        this.upperLong = upperLong;
+        this.decimal = decimal;
+        this.text = text;
+    }
+
+    /**
+     * Convert and validate a search field.
+     *
+     * @param field Search field.
+     * @param typeName Phoenix type name of the field.
+     * @return Condition, null if the type is not searchable.
+     * @throws ParseException If a time is not a valid date.
+     * @throws IllegalArgumentException If the method or number is invalid.
+     */
+    static FieldCondition of(final SearchField field, final String typeName)
+        throws ParseException {
+        String baseType = PhoenixDataTypes.baseType(typeName);
+        MatchOperator operator = MatchOperator.of(field.getMethod());
+        String name = field.getFieldName();
+        FieldCondition condition = null;
+        if (PhoenixDataTypes.validateDate(baseType)) {
+            check(field, DATE_OPERATORS, operator);
+            long begin = epochMillis(field.getBeginTime());
+            long end = begin;
+            if (operator == MatchOperator.RANGE) {
+                end = epochMillis(field.getEndTime());
+            }
+            condition = new FieldCondition(
+                name, Kind.DATE, operator, begin, end, null, null
+            );
+        } else if (PhoenixDataTypes.validateNumeric(baseType)) {
+            check(field, NUMERIC_OPERATORS, operator);
+            String value = required(field, field.getValue()).trim();
+            try {
+                condition = numeric(name, baseType, operator, value);
+            } catch (final NumberFormatException ex) {
+                throw new IllegalArgumentException(String.format(
+                    "Invalid number of %s: %s", name, value
+                ), ex);
+            }
+        } else if (PhoenixDataTypes.validateString(baseType)) {
+            check(field, STRING_OPERATORS, operator);
+            condition = new FieldCondition(name, Kind.STRING, operator,
+                0, 0, null, required(field, field.getValue()));
+        }
+
+        return condition;
+    }
+
+    /**
+     * Convert a numeric value.
+     *
+     * @param name The field name.
+     * @param baseType Phoenix base type.
+     * @param operator The operator.
+     * @param value The value.
+     * @return Condition.
+     */
+    private static FieldCondition numeric(final String name,
+        final String baseType, final MatchOperator operator,
+        final String value) {
+        FieldCondition condition;
+        if (baseType.contains("INT") || baseType.contains("LONG")) {
+            long number = Long.parseLong(value);
+            condition = new FieldCondition(
+                name, Kind.INTEGRAL, operator, number, number, null, null
+            );
+        } else {
+            Kind kind = "DECIMAL".equals(baseType)
+                ? Kind.DECIMAL : Kind.FLOATING;
+            condition = new FieldCondition(
+                name, kind, operator, 0, 0, new BigDecimal(value), null
+            );
+        }
+        return condition;
+    }
+
+    /**
+     * Gets fieldName.
+     *
+     * @return Value of fieldName.
+     */
+    String getFieldName() {
+        return this.fieldName;
+    }
+
+    /**
+     * Gets kind.
+     *
+     * @return Value of kind.
+     */
+    Kind getKind() {
+        return this.kind;
+    }
+
+    /**
+     * Gets operator.
+     *
+     * @return Value of operator.
+     */
+    MatchOperator getOperator() {
+        return this.operator;
+    }
+
+    /**
+     * Gets lowerLong.
+     *
+     * @return Value of lowerLong.
+     */
+    long getLowerLong() {
+        return this.lowerLong;
+    }
+
+    /**
+     * Gets upperLong.
+     *
+     * @return Value of upperLong.
+     */
+    long getUpperLong() {
+        return this.upperLong;
+    }
+
+    /**
+     * Gets decimal.
+     *
+     * @return Value of decimal.
+     */
+    BigDecimal getDecimal() {
+        return this.decimal;
+    }
+
+    /**
+     * Gets text.
+     *
+     * @return Value of text.
+     */
+    String getText() {
+        return this.text;
+    }
+
+    /**
+     * The single value, text of string fields and the boxed bound of the
+     * others.
+     *
+     * @return Value.
+     */
+    Object value() {
+        Object value;
+        if (this.kind == Kind.STRING) {
+            value = this.text;
+        } else if (this.kind == Kind.FLOATING) {
+            value = this.decimal.doubleValue();
+        } else if (this.kind == Kind.DECIMAL) {
+            value = this.decimal;
+        } else {
+            value = this.lowerLong;
+        }
+        return value;
+    }
+
+    /**
+     * Whether the condition excludes the matching documents.
+     *
+     * @return True for not equals.
+     */
+    boolean isNegated() {
+        return this.operator == MatchOperator.NOT_EQUALS;
+    }
+
+    /**
+     * Create the query, not equals creates the equals query to be placed
+     * in must not.
+     *
+     * @return Query.
+     */
+    QueryBuilder toQuery() {
+        QueryBuilder query;
+        if (this.kind == Kind.STRING) {
+            query = this.stringQuery();
+        } else if (this.kind == Kind.DATE) {
+            query = this.dateQuery();
+        } else {
+            query = this.numericQuery();
+        }
+        return query;
+    }
+
+    /**
+     * Create string query.
+     *
+     * @return Query.
+     */
+    private QueryBuilder stringQuery() {
+        QueryBuilder query;
+        switch (this.operator) {
+            case CONTAINS:
+                query = QueryBuilders.matchPhraseQuery(
+                    this.fieldName, this.text
+                );
+                break;
+            case LIKE:
+                query = QueryBuilders.wildcardQuery(
+                    this.fieldName, "*" + this.text + "*"
+                );
+                break;
+            default:
+                query = QueryBuilders.termQuery(this.fieldName, this.text);
+                break;
+        }
+        return query;
+    }
+
+    /**
+     * Create date query.
+     *
+     * @return Query.
+     */
+    private QueryBuilder dateQuery() {
+        RangeQueryBuilder range = QueryBuilders.rangeQuery(this.fieldName);
+        switch (this.operator) {
+            case GT:
+                range.gt(this.lowerLong);
+                break;
+            case LT:
+                range.lt(this.lowerLong);
+                break;
+            case GTE:
+                range.gte(this.lowerLong);
+                break;
+            case LTE:
+                range.lte(this.lowerLong);
+                break;
+            default:
+                range.gte(this.lowerLong).lte(this.upperLong);
+                break;
+        }
+        return range;
+    }
+
+    /**
+     * Create numeric query.
+     *
+     * @return Query.
+     */
+    private QueryBuilder numericQuery() {
+        Object bound = this.value();
+        QueryBuilder query;
+        switch (this.operator) {
+            case GT:
+                query = QueryBuilders.rangeQuery(this.fieldName).gt(bound);
+                break;
+            case LT:
+                query = QueryBuilders.rangeQuery(this.fieldName).lt(bound);
+                break;
+            case GTE:
+                query = QueryBuilders.rangeQuery(this.fieldName).gte(bound);
+                break;
+            case LTE:
+                query = QueryBuilders.rangeQuery(this.fieldName).lte(bound);
+                break;
+            default:
+                query = QueryBuilders.termQuery(this.fieldName, bound);
+                break;
+        }
+        return query;
+    }
+
+    /**
+     * Reject an operator the field kind does not support.
+     *
+     * @param field Search field.
+     * @param operators Supported operators.
+     * @param operator The operator.
+     */
+    private static void check(final SearchField field,
+        final Set<MatchOperator> operators, final MatchOperator operator) {
+        if (!operators.contains(operator)) {
+            throw new IllegalArgumentException(String.format(
+                "Method %s is not supported by %s",
+                operator.getMethod(), field.getFieldName()
+            ));
+        }
+    }
+
+    /**
+     * Reject a missing value.
+     *
+     * @param field Search field.
+     * @param value The value.
+     * @return The value.
+     */
+    private static String required(final SearchField field,
+        final String value) {
+        if (value == null) {
+            throw new IllegalArgumentException(
+                "Value is required: " + field.getFieldName()
+            );
+        }
+        return value;
+    }
+
+    /**
+     * Parse a time to epoch milliseconds in the default time zone.
+     *
+     * @param time The time.
+     * @return Epoch milliseconds.
+     * @throws ParseException If the time is missing or invalid.
+     */
+    private static long epochMillis(final String time)
+        throws ParseException {
+        if (time == null) {
+            throw new ParseException("Time is required", 0);
+        }
+        try {
+            return LocalDateTime.parse(time, DATE_TIME)
+                .atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        } catch (final DateTimeParseException ex) {
+            throw new ParseException(ex.getMessage(), ex.getErrorIndex());
+        }
+    }
+}
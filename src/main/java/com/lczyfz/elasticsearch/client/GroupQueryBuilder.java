@@ -0,0 +1,417 @@
+package com.lczyfz.elasticsearch.client;
+
+import com.lczyfz.elasticsearch.constant.GroupOperator;
+import com.lczyfz.elasticsearch.constant.MatchOperator;
+import com.lczyfz.elasticsearch.entity.SearchField;
+import com.lczyfz.elasticsearch.entity.SearchGroup;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.elasticsearch.index.query.BoolQueryBuilder;
+import org.elasticsearch.index.query.QueryBuilder;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.index.query.RangeQueryBuilder;
+
+/**
+ * Flatten nested search groups into bool queries.
+ *
+ * <p>A sub group with the operator of its parent is merged into the
+ * parent, equal clauses are sent once, bounds on one field of an AND
+ * group are merged into one range and equals on one field of an OR or NOT
+ * group are merged into one terms query.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+final class GroupQueryBuilder {
+
+    /**
+     * Hide constructor.
+     */
+    private GroupQueryBuilder() {
+    }
+
+    /**
+     * Create the bool query of the search fields and the search group,
+     * combined by AND.
+     *
+     * @param fields Search fields, may be null.
+     * @param group Search group, may be null.
+     * @param fieldTypes Elasticsearch field types key as field name.
+     * @return Bool query.
+     * @throws ParseException If a time is not a valid date.
+     */
+    static BoolQueryBuilder build(final List<SearchField> fields,
+        final SearchGroup group, final Map<String, String> fieldTypes)
+        throws ParseException {
+        Clauses clauses = new Clauses();
+        clauses.add(fields, fieldTypes);
+        if (group != null) {
+            clauses.add(group, GroupOperator.AND, fieldTypes);
+        }
+        return and(clauses);
+    }
+
+    /**
+     * Every search field of the group and its sub groups.
+     *
+     * @param group Search group, may be null.
+     * @param fields Collected fields.
+     */
+    static void fields(final SearchGroup group,
+        final List<SearchField> fields) {
+        if (group != null) {
+            if (group.getFields() != null) {
+                fields.addAll(group.getFields());
+            }
+            if (group.getGroups() != null) {
+                for (final SearchGroup sub : group.getGroups()) {
+                    fields(sub, fields);
+                }
+            }
+        }
+    }
+
+    /**
+     * Create the query of a group.
+     *
+     * @param group Search group.
+     * @param fieldTypes Elasticsearch field types key as field name.
+     * @return Query, null if the group is empty.
+     * @throws ParseException If a time is not a valid date.
+     */
+    private static QueryBuilder query(final SearchGroup group,
+        final Map<String, String> fieldTypes) throws ParseException {
+        String operator = operator(group);
+        Clauses clauses = new Clauses();
+        clauses.add(group, operator, fieldTypes);
+
+        QueryBuilder query;
+        if (GroupOperator.AND.equals(operator)) {
+            BoolQueryBuilder bool = and(clauses);
+            query = single(bool);
+        } else if (GroupOperator.OR.equals(operator)) {
+            BoolQueryBuilder bool = QueryBuilders.boolQuery();
+            addAll(bool.should(), equalsOf(clauses.positive));
+            for (final FieldCondition field : clauses.negative) {
+                add(bool.should(),
+                    QueryBuilders.boolQuery().mustNot(field.toQuery()));
+            }
+            addAll(bool.should(), clauses.groups);
+            query = single(bool);
+        } else {
+            // None of the members match.
+            BoolQueryBuilder bool = QueryBuilders.boolQuery();
+            addAll(bool.mustNot(), equalsOf(clauses.positive));
+            for (final FieldCondition field : clauses.negative) {
+                add(bool.must(), field.toQuery());
+            }
+            addAll(bool.mustNot(), clauses.groups);
+            query = bool.hasClauses() ? bool : null;
+        }
+
+        return query;
+    }
+
+    /**
+     * Create the bool query of AND clauses, bounds of a field are merged.
+     *
+     * @param clauses The clauses.
+     * @return Bool query.
+     */
+    private static BoolQueryBuilder and(final Clauses clauses) {
+        BoolQueryBuilder bool = QueryBuilders.boolQuery();
+        Map<String, List<FieldCondition>> bounds = new LinkedHashMap<>();
+        for (final FieldCondition field : clauses.positive) {
+            if (isBound(field)) {
+                bounds.computeIfAbsent(
+                    field.getFieldName() + '\0' + field.getKind(),
+                    key -> new ArrayList<>()
+                ).add(field);
+            } else {
+                add(bool.must(), field.toQuery());
+            }
+        }
+        for (final List<FieldCondition> fields : bounds.values()) {
+            add(bool.must(), fields.size() == 1
+                ? fields.get(0).toQuery() : range(fields));
+        }
+        for (final FieldCondition field : clauses.negative) {
+            add(bool.mustNot(), field.toQuery());
+        }
+        addAll(bool.must(), clauses.groups);
+        return bool;
+    }
+
+    /**
+     * Queries of OR clauses, equals of a field are merged into terms.
+     *
+     * @param fields The clauses.
+     * @return Queries.
+     */
+    private static List<QueryBuilder> equalsOf(
+        final List<FieldCondition> fields) {
+        List<QueryBuilder> queries = new ArrayList<>(fields.size());
+        Map<String, Set<Object>> values = new LinkedHashMap<>();
+        Map<String, FieldCondition> firsts = new LinkedHashMap<>();
+        for (final FieldCondition field : fields) {
+            if (field.getOperator() == MatchOperator.EQUALS
+                && field.getKind() != FieldCondition.Kind.DATE) {
+                String key = field.getFieldName() + '\0' + field.getKind();
+                firsts.putIfAbsent(key, field);
+                values.computeIfAbsent(key, name -> new LinkedHashSet<>())
+                    .add(field.value());
+            } else {
+                queries.add(field.toQuery());
+            }
+        }
+        for (final Map.Entry<String, FieldCondition> first
+            : firsts.entrySet()) {
+            Set<Object> terms = values.get(first.getKey());
+            queries.add(terms.size() == 1
+                ? first.getValue().toQuery()
+                : QueryBuilders.termsQuery(
+                    first.getValue().getFieldName(), terms));
+        }
+        return queries;
+    }
+
+    /**
+     * Merge the bounds of a field, the tightest lower and upper bound are
+     * kept.
+     *
+     * @param fields Bounds of one field.
+     * @return Range query.
+     */
+    private static QueryBuilder range(final List<FieldCondition> fields) {
+        FieldCondition lower = null;
+        FieldCondition upper = null;
+        for (final FieldCondition field : split(fields)) {
+            MatchOperator operator = field.getOperator();
+            if (operator == MatchOperator.GT
+                || operator == MatchOperator.GTE) {
+                if (lower == null || tighter(field, lower, 1)) {
+                    lower = field;
+                }
+            } else if (upper == null || tighter(field, upper, -1)) {
+                upper = field;
+            }
+        }
+
+        RangeQueryBuilder range =
+            QueryBuilders.rangeQuery(fields.get(0).getFieldName());
+        if (lower != null) {
+            range.from(lower.value(),
+                lower.getOperator() == MatchOperator.GTE);
+        }
+        if (upper != null) {
+            range.to(upper.value(), upper.getOperator() == MatchOperator.LTE);
+        }
+        return range;
+    }
+
+    /**
+     * Split date ranges into a lower and an upper bound.
+     *
+     * @param fields Bounds of one field.
+     * @return Single bounds.
+     */
+    private static List<FieldCondition> split(
+        final List<FieldCondition> fields) {
+        List<FieldCondition> bounds = new ArrayList<>(fields.size() + 1);
+        for (final FieldCondition field : fields) {
+            if (field.getOperator() == MatchOperator.RANGE) {
+                bounds.add(new FieldCondition(field.getFieldName(),
+                    field.getKind(), MatchOperator.GTE, field.getLowerLong(),
+                    field.getLowerLong(), null, null));
+                bounds.add(new FieldCondition(field.getFieldName(),
+                    field.getKind(), MatchOperator.LTE, field.getUpperLong(),
+                    field.getUpperLong(), null, null));
+            } else {
+                bounds.add(field);
+            }
+        }
+        return bounds;
+    }
+
+    /**
+     * Whether the bound is tighter than the current one.
+     *
+     * @param field The bound.
+     * @param current The current bound.
+     * @param direction 1 for lower bounds, -1 for upper bounds.
+     * @return True if tighter, an exclusive bound wins a tie.
+     */
+    private static boolean tighter(final FieldCondition field,
+        final FieldCondition current, final int direction) {
+        int compare = field.getDecimal() != null
+            ? field.getDecimal().compareTo(current.getDecimal())
+            : Long.compare(field.getLowerLong(), current.getLowerLong());
+        compare *= direction;
+        return compare > 0 || compare == 0
+            && (field.getOperator() == MatchOperator.GT
+            || field.getOperator() == MatchOperator.LT);
+    }
+
+    /**
+     * Whether the condition is a bound that can be merged.
+     *
+     * @param field The condition.
+     * @return True for comparisons on numbers and dates.
+     */
+    private static boolean isBound(final FieldCondition field) {
+        switch (field.getOperator()) {
+            case GT:
+            case LT:
+            case GTE:
+            case LTE:
+            case RANGE:
+                return field.getKind() != FieldCondition.Kind.STRING;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * The operator of a group, AND by default.
+     *
+     * @param group Search group.
+     * @return Operator.
+     */
+    private static String operator(final SearchGroup group) {
+        String operator = group.getOperator();
+        if (operator == null) {
+            operator = GroupOperator.AND;
+        } else if (!GroupOperator.AND.equals(operator)
+            && !GroupOperator.OR.equals(operator)
+            && !GroupOperator.NOT.equals(operator)) {
+            throw new IllegalArgumentException(
+                "Unknown group operator: " + operator
+            );
+        }
+        return operator;
+    }
+
+    /**
+     * The only clause of a bool query, or the bool query itself.
+     *
+     * @param bool Bool query.
+     * @return Query, null if the bool query is empty.
+     */
+    private static QueryBuilder single(final BoolQueryBuilder bool) {
+        List<QueryBuilder> clauses = new ArrayList<>(1);
+        clauses.addAll(bool.must());
+        clauses.addAll(bool.should());
+        QueryBuilder query = bool;
+        if (!bool.hasClauses()) {
+            query = null;
+        } else if (clauses.size() == 1 && bool.mustNot().isEmpty()) {
+            query = clauses.get(0);
+        }
+        return query;
+    }
+
+    /**
+     * Add a clause unless it is already present.
+     *
+     * @param clauses The clauses.
+     * @param query The clause.
+     */
+    private static void add(final List<QueryBuilder> clauses,
+        final QueryBuilder query) {
+        if (!clauses.contains(query)) {
+            clauses.add(query);
+        }
+    }
+
+    /**
+     * Add clauses unless they are already present.
+     *
+     * @param clauses The clauses.
+     * @param queries The added clauses.
+     */
+    private static void addAll(final List<QueryBuilder> clauses,
+        final Collection<QueryBuilder> queries) {
+        for (final QueryBuilder query : queries) {
+            add(clauses, query);
+        }
+    }
+
+    /**
+     * Clauses of a group, sub groups with the same operator included.
+     */
+    private static final class Clauses {
+
+        /**
+         * Field conditions.
+         */
+        private final List<FieldCondition> positive = new ArrayList<>();
+
+        /**
+         * Not equals field conditions.
+         */
+        private final List<FieldCondition> negative = new ArrayList<>();
+
+        /**
+         * Queries of sub groups with another operator.
+         */
+        private final List<QueryBuilder> groups = new ArrayList<>();
+
+        /**
+         * Add search fields.
+         *
+         * @param fields Search fields, may be null.
+         * @param fieldTypes Elasticsearch field types key as field name.
+         * @throws ParseException If a time is not a valid date.
+         */
+        void add(final List<SearchField> fields,
+            final Map<String, String> fieldTypes) throws ParseException {
+            for (final FieldCondition field
+                : AdvancedQueryBuilder.compile(fields, fieldTypes)) {
+                if (field.isNegated()) {
+                    this.negative.add(field);
+                } else {
+                    this.positive.add(field);
+                }
+            }
+        }
+
+        /**
+         * Add a group, its sub groups with the same operator are merged
+         * unless the operator is NOT.
+         *
+         * @param group Search group.
+         * @param operator Operator of the clauses.
+         * @param fieldTypes Elasticsearch field types key as field name.
+         * @throws ParseException If a time is not a valid date.
+         */
+        void add(final SearchGroup group, final String operator,
+            final Map<String, String> fieldTypes) throws ParseException {
+            if (!operator.equals(operator(group))) {
+                QueryBuilder query = query(group, fieldTypes);
+                if (query != null) {
+                    this.groups.add(query);
+                }
+                return;
+            }
+            this.add(group.getFields(), fieldTypes);
+            if (group.getGroups() != null) {
+                for (final SearchGroup sub : group.getGroups()) {
+                    if (GroupOperator.NOT.equals(operator)) {
+                        QueryBuilder query = query(sub, fieldTypes);
+                        if (query != null) {
+                            this.groups.add(query);
+                        }
+                    } else {
+                        this.add(sub, operator, fieldTypes);
+                    }
+                }
+            }
+        }
+    }
+}
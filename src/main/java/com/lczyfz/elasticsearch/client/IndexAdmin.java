@@ -0,0 +1,127 @@
+package com.lczyfz.elasticsearch.client;
+
+import java.io.IOException;
+import org.elasticsearch.action.admin.indices.alias.IndicesAliasesRequest;
+import org.elasticsearch.action.admin.indices.create.CreateIndexRequest;
+import org.elasticsearch.action.admin.indices.create.CreateIndexResponse;
+import org.elasticsearch.action.admin.indices.delete.DeleteIndexRequest;
+import org.elasticsearch.action.admin.indices.rollover.RolloverRequest;
+import org.elasticsearch.action.admin.indices.rollover.RolloverResponse;
+import org.elasticsearch.action.support.master.AcknowledgedResponse;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+
+/**
+ * Index changes of the client. The metadata cache is dropped once a
+ * change finished, a read racing the change may not cache the old state,
+ * and deleting a table index deletes its suggestion side index.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+final class IndexAdmin {
+
+    /**
+     * Internal client.
+     */
+    private final RestHighLevelClient client;
+
+    /**
+     * Index metadata cache.
+     */
+    private final IndexMetadataCache metadata;
+
+    /**
+     * Suggestion side indices.
+     */
+    private final SuggestIndex suggestIndex;
+
+    /**
+     * Index admin constructor.
+     *
+     * @param client Internal client.
+     * @param metadata Index metadata cache.
+     * @param suggestIndex Suggestion side indices.
+     */
+    IndexAdmin(final RestHighLevelClient client,
+        final IndexMetadataCache metadata, final SuggestIndex suggestIndex) {
+        this.client = client;
+        this.metadata = metadata;
+        this.suggestIndex = suggestIndex;
+    }
+
+    /**
+     * Create an index.
+     *
+     * @param request The create index request.
+     * @return Create response.
+     * @throws IOException If something goes wrong.
+     */
+    CreateIndexResponse create(final CreateIndexRequest request)
+        throws IOException {
+        try {
+            return this.client.indices()
+                .create(request, RequestOptions.DEFAULT);
+        } finally {
+            this.metadata.invalidateAll();
+        }
+    }
+
+    /**
+     * Delete an index and its suggestion side index, if one was fed.
+     *
+     * @param request The delete index request of one table index.
+     * @return Delete response.
+     * @throws IOException If something goes wrong.
+     */
+    AcknowledgedResponse delete(final DeleteIndexRequest request)
+        throws IOException {
+        AcknowledgedResponse response;
+        try {
+            response =
+                this.client.indices().delete(request, RequestOptions.DEFAULT);
+        } finally {
+            this.metadata.invalidateAll();
+        }
+        for (final String indexName : request.indices()) {
+            if (this.metadata.exists(SuggestIndex.name(indexName))) {
+                this.suggestIndex.delete(indexName);
+            }
+        }
+        return response;
+    }
+
+    /**
+     * Add and remove aliases in one atomic request.
+     *
+     * @param request The aliases request.
+     * @return Aliases response.
+     * @throws IOException If something goes wrong.
+     */
+    AcknowledgedResponse updateAliases(final IndicesAliasesRequest request)
+        throws IOException {
+        try {
+            return this.client.indices()
+                .updateAliases(request, RequestOptions.DEFAULT);
+        } finally {
+            this.metadata.invalidateAll();
+        }
+    }
+
+    /**
+     * Roll an alias over to a new index.
+     *
+     * @param request The rollover request.
+     * @return Rollover response.
+     * @throws IOException If something goes wrong.
+     */
+    RolloverResponse rollover(final RolloverRequest request)
+        throws IOException {
+        try {
+            return this.client.indices()
+                .rollover(request, RequestOptions.DEFAULT);
+        } finally {
+            this.metadata.invalidateAll();
+        }
+    }
+}
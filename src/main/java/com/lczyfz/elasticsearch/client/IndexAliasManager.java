@@ -0,0 +1,368 @@
+package com.lczyfz.elasticsearch.client;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
+import com.lczyfz.elasticsearch.entity.IndexSetting;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import org.apache.http.util.EntityUtils;
+import org.elasticsearch.action.admin.indices.alias.IndicesAliasesRequest;
+import org.elasticsearch.action.admin.indices.alias.IndicesAliasesRequest.AliasActions;
+import org.elasticsearch.action.admin.indices.alias.get.GetAliasesRequest;
+import org.elasticsearch.client.GetAliasesResponse;
+import org.elasticsearch.client.Request;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.Response;
+import org.elasticsearch.client.RestClient;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.common.Strings;
+import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.index.reindex.ReindexRequest;
+
+/**
+ * Alias managed index lifecycle for traditional database tables.
+ *
+ * <p>Readers always use the stable alias {@code database_table}, each
+ * rebuild creates a new generation index behind it, swaps the alias
+ * atomically and removes the generations that were behind the alias.
+ * The copy of a reindex runs as a server side task polled until done, a
+ * copy with failures or over the timeout is not published. Generations
+ * never published, such as a rebuild still running elsewhere, are left
+ * alone.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+public final class IndexAliasManager {
+
+    /**
+     * Generation suffix, the UUID produced by unique index.
+     */
+    private static final String GENERATION_SUFFIX = "_[0-9a-f]{32}";
+
+    /**
+     * Reindex timeout.
+     */
+    private static final TimeValue REINDEX_TIMEOUT =
+        TimeValue.timeValueMinutes(30);
+
+    /**
+     * Delay between polls of the reindex task in milliseconds.
+     */
+    private static final long POLL_MILLIS = 1000L;
+
+    /**
+     * Easy client.
+     */
+    private final EasyRestHighLevelClient client;
+
+    /**
+     * Index alias manager constructor.
+     *
+     * @param client Easy client.
+     */
+    public IndexAliasManager(final EasyRestHighLevelClient client) {
+        this.client = client;
+    }
+
+    /**
+     * Stable alias of a table.
+     *
+     * @param database Traditional database name.
+     * @param table Table name.
+     * @return Alias name.
+     */
+    public String alias(final String database, final String table) {
+        return database.toLowerCase().concat("_").concat(table.toLowerCase());
+    }
+
+    /**
+     * Current generation indices behind the alias.
+     *
+     * @param database Traditional database name.
+     * @param table Table name.
+     * @return Index name list, empty if the alias does not exist.
+     * @throws IOException If something goes wrong.
+     */
+    public List<String> currentIndices(final String database,
+        final String table) throws IOException {
+
+        GetAliasesRequest request =
+            new GetAliasesRequest(this.alias(database, table));
+        List<String> indices = new ArrayList<>(1);
+        if (this.internal().indices()
+            .existsAlias(request, RequestOptions.DEFAULT)) {
+            GetAliasesResponse response = this.internal().indices()
+                .getAlias(request, RequestOptions.DEFAULT);
+            indices.addAll(response.getAliases().keySet());
+        }
+
+        return indices;
+    }
+
+    /**
+     * Create a new generation index, not yet visible through the alias.
+     *
+     * @param database Traditional database name.
+     * @param table Table name.
+     * @param fieldMapping Field mapping key as field name
+     *                     and value as data type.
+     * @param reindex Copy the documents of the current generation
+     *                with server side reindex.
+     * @return New generation index name.
+     * @throws IOException If something goes wrong.
+     */
+    public String prepare(final String database, final String table,
+        final Map<String, String> fieldMapping, final boolean reindex)
+        throws IOException {
+        return this.prepare(database, table, fieldMapping, reindex,
+            EasyRestHighLevelClient.DEFAULT_MAPPING_SETTING);
+    }
+
+    /**
+     * Create a new generation index with the setting, not yet visible
+     * through the alias.
+     *
+     * @param database Traditional database name.
+     * @param table Table name.
+     * @param fieldMapping Field mapping key as field name
+     *                     and value as data type.
+     * @param reindex Copy the documents of the current generation
+     *                with server side reindex.
+     * @param setting Index setting, null to use the index template.
+     * @return New generation index name.
+     * @throws IOException If something goes wrong.
+     */
+    public String prepare(final String database, final String table,
+        final Map<String, String> fieldMapping, final boolean reindex,
+        final IndexSetting setting) throws IOException {
+
+        String indexName = this.client.uniqueIndex(
+            database.toLowerCase(), table.toLowerCase()
+        );
+        this.client.indexMapping(indexName, fieldMapping, setting);
+
+        List<String> previous = this.currentIndices(database, table);
+        if (reindex && !previous.isEmpty()) {
+            try {
+                this.reindex(previous, indexName);
+            } catch (final IOException | RuntimeException ex) {
+                // A partial copy is never published.
+                try {
+                    this.client.deleteIndex(indexName);
+                } catch (final IOException | RuntimeException cleanup) {
+                    ex.addSuppressed(cleanup);
+                }
+                throw ex;
+            }
+        }
+
+        return indexName;
+    }
+
+    /**
+     * Atomically point the alias to the new generation, then delete
+     * every older generation of the table.
+     *
+     * @param database Traditional database name.
+     * @param table Table name.
+     * @param indexName New generation index name.
+     * @throws IOException If something goes wrong.
+     */
+    public void publish(final String database, final String table,
+        final String indexName) throws IOException {
+
+        String alias = this.alias(database, table);
+        List<String> previous = this.currentIndices(database, table);
+        previous.remove(indexName);
+        this.client.admin().updateAliases(
+            swapRequest(alias, previous, indexName)
+        );
+
+        // Only the generations that were behind the alias.
+        for (final String index : previous) {
+            if (isGeneration(alias, index)) {
+                this.client.deleteIndex(index);
+            }
+        }
+    }
+
+    /**
+     * Build a new generation and publish it in one step.
+     *
+     * @param database Traditional database name.
+     * @param table Table name.
+     * @param fieldMapping Field mapping key as field name
+     *                     and value as data type.
+     * @param reindex Copy the documents of the current generation.
+     * @return New generation index name.
+     * @throws IOException If something goes wrong.
+     */
+    public String rebuild(final String database, final String table,
+        final Map<String, String> fieldMapping, final boolean reindex)
+        throws IOException {
+        return this.rebuild(database, table, fieldMapping, reindex,
+            EasyRestHighLevelClient.DEFAULT_MAPPING_SETTING);
+    }
+
+    /**
+     * Build a new generation with the setting and publish it in one step.
+     *
+     * @param database Traditional database name.
+     * @param table Table name.
+     * @param fieldMapping Field mapping key as field name
+     *                     and value as data type.
+     * @param reindex Copy the documents of the current generation.
+     * @param setting Index setting, null to use the index template.
+     * @return New generation index name.
+     * @throws IOException If something goes wrong.
+     */
+    public String rebuild(final String database, final String table,
+        final Map<String, String> fieldMapping, final boolean reindex,
+        final IndexSetting setting) throws IOException {
+
+        String indexName =
+            this.prepare(database, table, fieldMapping, reindex, setting);
+        this.publish(database, table, indexName);
+        return indexName;
+    }
+
+    /**
+     * Whether the index is a generation of the alias.
+     *
+     * @param alias The alias name.
+     * @param indexName The index name.
+     * @return True for a generation.
+     */
+    static boolean isGeneration(final String alias, final String indexName) {
+        return Pattern.matches(
+            Pattern.quote(alias) + GENERATION_SUFFIX, indexName
+        );
+    }
+
+    /**
+     * Request moving the alias from the previous indices to the new
+     * generation in one step.
+     *
+     * @param alias The alias name.
+     * @param previous The indices behind the alias.
+     * @param indexName The new generation index name.
+     * @return Aliases request.
+     */
+    static IndicesAliasesRequest swapRequest(final String alias,
+        final List<String> previous, final String indexName) {
+        IndicesAliasesRequest request = new IndicesAliasesRequest();
+        if (!previous.isEmpty()) {
+            request.addAliasAction(AliasActions.remove()
+                .indices(previous.toArray(new String[0])).alias(alias));
+        }
+        request.addAliasAction(AliasActions.add()
+            .index(indexName).alias(alias));
+        return request;
+    }
+
+    /**
+     * Check the status of a completed reindex task.
+     *
+     * @param status The task status.
+     * @throws IOException If the task failed or timed out.
+     */
+    static void checkReindex(final JSONObject status) throws IOException {
+        if (status.get("error") != null) {
+            throw new IOException(
+                "Reindex failed: " + status.getJSONObject("error")
+            );
+        }
+        JSONObject response = status.getJSONObject("response");
+        if (response == null) {
+            throw new IOException("Reindex has no response: " + status);
+        }
+        JSONArray failures = response.getJSONArray("failures");
+        if (failures != null && !failures.isEmpty()) {
+            throw new IOException("Reindex failures: " + failures);
+        }
+        if (response.getBooleanValue("timed_out")) {
+            throw new IOException("Reindex timed out");
+        }
+    }
+
+    /**
+     * Copy the documents as a server side task, polled until done. The
+     * task is cancelled after the reindex timeout.
+     *
+     * @param sources The source indices.
+     * @param indexName The destination index.
+     * @throws IOException If the copy fails or times out.
+     */
+    private void reindex(final List<String> sources, final String indexName)
+        throws IOException {
+        ReindexRequest reindex = new ReindexRequest();
+        reindex.setSourceIndices(sources.toArray(new String[0]));
+        reindex.setDestIndex(indexName);
+        Request submit = new Request("POST", "/_reindex");
+        submit.addParameter("wait_for_completion", "false");
+        submit.addParameter("refresh", "true");
+        submit.setJsonEntity(Strings.toString(reindex));
+        String task = json(this.lowLevel().performRequest(submit))
+            .getString("task");
+
+        long deadline = System.currentTimeMillis() + REINDEX_TIMEOUT.millis();
+        while (true) {
+            JSONObject status = json(this.lowLevel()
+                .performRequest(new Request("GET", "/_tasks/" + task)));
+            if (status.getBooleanValue("completed")) {
+                checkReindex(status);
+                return;
+            }
+            if (System.currentTimeMillis() > deadline) {
+                this.lowLevel().performRequest(
+                    new Request("POST", "/_tasks/" + task + "/_cancel")
+                );
+                throw new IOException("Reindex timed out: " + task);
+            }
+            try {
+                Thread.sleep(POLL_MILLIS);
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IOException(ex);
+            }
+        }
+    }
+
+    /**
+     * Response body as JSON.
+     *
+     * @param response The response.
+     * @return JSON object.
+     * @throws IOException If something goes wrong.
+     */
+    private static JSONObject json(final Response response)
+        throws IOException {
+        return JSON.parseObject(
+            EntityUtils.toString(response.getEntity(), StandardCharsets.UTF_8)
+        );
+    }
+
+    /**
+     * Get low level client.
+     *
+     * @return RestClient.
+     */
+    private RestClient lowLevel() {
+        return this.internal().getLowLevelClient();
+    }
+
+    /**
+     * Get internal client.
+     *
+     * @return RestHighLevelClient.
+     */
+    private RestHighLevelClient internal() {
+        return this.client.getInternalClient();
+    }
+}
@@ -0,0 +1,302 @@
+package com.lczyfz.elasticsearch.client;
+
+import com.carrotsearch.hppc.cursors.ObjectObjectCursor;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.elasticsearch.action.admin.indices.get.GetIndexRequest;
+import org.elasticsearch.action.admin.indices.mapping.get.GetMappingsRequest;
+import org.elasticsearch.action.admin.indices.mapping.get.GetMappingsResponse;
+import org.elasticsearch.action.admin.indices.settings.get.GetSettingsRequest;
+import org.elasticsearch.action.admin.indices.settings.get.GetSettingsResponse;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.cluster.metadata.MappingMetaData;
+import org.elasticsearch.common.collect.ImmutableOpenMap;
+import org.elasticsearch.common.settings.Settings;
+
+/**
+ * Client side index metadata cache, existence, field types and settings
+ * are kept for a time to live and dropped when this client changes any
+ * index, an alias or a wildcard may cover the changed index. A missing
+ * index is not cached, a dump may create it at any time.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+final class IndexMetadataCache {
+
+    /**
+     * Default time to live in milliseconds.
+     */
+    static final long DEFAULT_TTL_MILLIS = 60000L;
+
+    /**
+     * Properties.
+     */
+    private static final String PROPERTIES = "properties";
+
+    /**
+     * Type.
+     */
+    private static final String TYPE = "type";
+
+    /**
+     * Multi fields key.
+     */
+    private static final String FIELDS = "fields";
+
+    /**
+     * Internal client.
+     */
+    private final RestHighLevelClient client;
+
+    /**
+     * Index existence key as index name.
+     */
+    private final Map<String, Cached<Boolean>> existence =
+        new ConcurrentHashMap<>();
+
+    /**
+     * Field types key as index name.
+     */
+    private final Map<String, Cached<Map<String, String>>> fieldTypes =
+        new ConcurrentHashMap<>();
+
+    /**
+     * Settings key as index name.
+     */
+    private final Map<String, Cached<Settings>> settings =
+        new ConcurrentHashMap<>();
+
+    /**
+     * Invalidation count, a value loaded before an invalidation is not
+     * cached.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Time to live in milliseconds, 0 disables the cache.
+     */
+    private volatile long ttlMillis = DEFAULT_TTL_MILLIS;
+
+    /**
+     * Index metadata cache constructor.
+     *
+     * @param client Internal client.
+     */
+    IndexMetadataCache(final RestHighLevelClient client) {
+        this.client = client;
+    }
+
+    /**
+     * Sets ttlMillis and drops every entry.
+     *
+     * @param ttlMillis Simple param.
+     */
+    void setTtlMillis(final long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+        this.invalidateAll();
+    }
+
+    /**
+     * Whether the index or alias exists.
+     *
+     * @param indexName The index name.
+     * @return True if exists.
+     * @throws IOException If something goes wrong.
+     */
+    boolean exists(final String indexName) throws IOException {
+        Boolean exists = this.valid(this.existence.get(indexName));
+        if (exists == null) {
+            long before = this.generation.get();
+            GetIndexRequest request = new GetIndexRequest();
+            request.indices(indexName);
+            exists = this.client.indices()
+                .exists(request, RequestOptions.DEFAULT);
+            if (exists) {
+                this.put(this.existence, indexName, exists, before);
+            }
+        }
+        return exists;
+    }
+
+    /**
+     * Elasticsearch field types of the index, object fields are flattened
+     * with dotted names. The first index of an alias wins a conflict.
+     *
+     * @param indexName The index name.
+     * @return Field types key as field name.
+     * @throws IOException If something goes wrong.
+     */
+    Map<String, String> fieldTypes(final String indexName)
+        throws IOException {
+        Map<String, String> types = this.valid(this.fieldTypes.get(indexName));
+        if (types == null) {
+            long before = this.generation.get();
+            GetMappingsRequest request = new GetMappingsRequest();
+            request.indices(indexName);
+            GetMappingsResponse response = this.client.indices()
+                .getMapping(request, RequestOptions.DEFAULT);
+            Map<String, String> loaded = new HashMap<>();
+            for (ObjectObjectCursor<String,
+                ImmutableOpenMap<String, MappingMetaData>> index
+                : response.mappings()) {
+                for (ObjectObjectCursor<String, MappingMetaData> type
+                    : index.value) {
+                    flatten("", type.value.sourceAsMap(), loaded);
+                }
+            }
+            types = Collections.unmodifiableMap(loaded);
+            this.put(this.fieldTypes, indexName, types, before);
+        }
+        return types;
+    }
+
+    /**
+     * Settings of the index, the first index of an alias.
+     *
+     * @param indexName The index name.
+     * @return Settings, empty if the index is missing.
+     * @throws IOException If something goes wrong.
+     */
+    Settings settings(final String indexName) throws IOException {
+        Settings indexSettings = this.valid(this.settings.get(indexName));
+        if (indexSettings == null) {
+            long before = this.generation.get();
+            GetSettingsRequest request = new GetSettingsRequest()
+                .indices(indexName);
+            GetSettingsResponse response = this.client.indices()
+                .getSettings(request, RequestOptions.DEFAULT);
+            indexSettings = Settings.EMPTY;
+            for (ObjectObjectCursor<String, Settings> index
+                : response.getIndexToSettings()) {
+                indexSettings = index.value;
+                break;
+            }
+            this.put(this.settings, indexName, indexSettings, before);
+        }
+        return indexSettings;
+    }
+
+    /**
+     * Drop every entry, values being loaded are not cached.
+     */
+    void invalidateAll() {
+        this.generation.incrementAndGet();
+        this.existence.clear();
+        this.fieldTypes.clear();
+        this.settings.clear();
+    }
+
+    /**
+     * Value of an entry if present and not expired.
+     *
+     * @param cached The entry.
+     * @param <T> Value type.
+     * @return Value, null if missing or expired.
+     */
+    private <T> T valid(final Cached<T> cached) {
+        T value = null;
+        if (cached != null && cached.expiresAt > System.currentTimeMillis()) {
+            value = cached.value;
+        }
+        return value;
+    }
+
+    /**
+     * Put an entry when the cache is enabled, unless the cache was
+     * invalidated since the value was loaded.
+     *
+     * @param cache The cache.
+     * @param indexName The index name.
+     * @param value The value.
+     * @param loaded The invalidation count before loading.
+     * @param <T> Value type.
+     */
+    private <T> void put(final Map<String, Cached<T>> cache,
+        final String indexName, final T value, final long loaded) {
+        long ttl = this.ttlMillis;
+        if (ttl > 0 && this.generation.get() == loaded) {
+            Cached<T> cached =
+                new Cached<>(value, System.currentTimeMillis() + ttl);
+            cache.put(indexName, cached);
+            // An invalidation between the check and the put wins.
+            if (this.generation.get() != loaded) {
+                cache.remove(indexName, cached);
+            }
+        }
+    }
+
+    /**
+     * Flatten the mapping properties into field types.
+     *
+     * @param prefix The field name prefix.
+     * @param mapping The mapping with properties.
+     * @param types Field types key as field name.
+     */
+    @SuppressWarnings("unchecked")
+    private static void flatten(final String prefix,
+        final Map<String, Object> mapping, final Map<String, String> types) {
+        Object properties = mapping.get(PROPERTIES);
+        if (!(properties instanceof Map)) {
+            return;
+        }
+        for (Map.Entry<String, Object> entry
+            : ((Map<String, Object>) properties).entrySet()) {
+            Map<String, Object> field = (Map<String, Object>) entry.getValue();
+            String name = prefix + entry.getKey();
+            Object type = field.get(TYPE);
+            if (type != null) {
+                types.putIfAbsent(name, type.toString());
+            }
+            // Multi fields, the keyword sub field of text fields.
+            Object fields = field.get(FIELDS);
+            if (fields instanceof Map) {
+                for (Map.Entry<String, Object> sub
+                    : ((Map<String, Object>) fields).entrySet()) {
+                    Object subType = ((Map<String, Object>) sub.getValue())
+                        .get(TYPE);
+                    if (subType != null) {
+                        types.putIfAbsent(
+                            name + '.' + sub.getKey(), subType.toString()
+                        );
+                    }
+                }
+            }
+            flatten(name + '.', field, types);
+        }
+    }
+
+    /**
+     * Cached value with expiry.
+     *
+     * @param <T> Value type.
+     */
+    private static final class Cached<T> {
+
+        /**
+         * The value.
+         */
+        private final T value;
+
+        /**
+         * The time the value expires in milliseconds.
+         */
+        private final long expiresAt;
+
+        /**
+         * Cached constructor.
+         *
+         * @param value The value.
+         * @param expiresAt The expiry time in milliseconds.
+         */
+        Cached(final T value, final long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.lczyfz.elasticsearch.client;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Sliding window of recent latencies.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+final class LatencyTracker {
+
+    /**
+     * Window size.
+     */
+    private static final int WINDOW = 256;
+
+    /**
+     * Recent latencies in milliseconds.
+     */
+    private final AtomicLongArray latencies = new AtomicLongArray(WINDOW);
+
+    /**
+     * Recorded count.
+     */
+    private final AtomicInteger count = new AtomicInteger();
+
+    /**
+     * Record a latency.
+     *
+     * @param millis Latency in milliseconds.
+     */
+    void record(final long millis) {
+        int slot = Math.floorMod(this.count.getAndIncrement(), WINDOW);
+        this.latencies.set(slot, millis);
+    }
+
+    /**
+     * Latency percentile of the window.
+     *
+     * @param percentile Percentile between 0 and 1.
+     * @param fallback Value returned before anything is recorded.
+     * @return Latency in milliseconds.
+     */
+    long percentile(final double percentile, final long fallback) {
+        int recorded = this.count.get();
+        int size = WINDOW;
+        if (recorded >= 0 && recorded < WINDOW) {
+            size = recorded;
+        }
+        long result = fallback;
+        if (size > 0) {
+            long[] sorted = new long[size];
+            for (int i = 0; i < size; i++) {
+                sorted[i] = this.latencies.get(i);
+            }
+            Arrays.sort(sorted);
+            int rank = (int) Math.ceil(percentile * size) - 1;
+            result = sorted[Math.max(0, Math.min(size - 1, rank))];
+        }
+        return result;
+    }
+}
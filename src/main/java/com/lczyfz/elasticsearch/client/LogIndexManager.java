@@ -0,0 +1,438 @@
+package com.lczyfz.elasticsearch.client;
+
+import static com.lczyfz.elasticsearch.constant.MatchMethod.*;
+
+import com.alibaba.fastjson.JSONObject;
+import com.lczyfz.elasticsearch.entity.AdvancedSearchCondition;
+import com.lczyfz.elasticsearch.entity.SearchField;
+import java.io.IOException;
+import java.text.ParseException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.elasticsearch.action.admin.indices.alias.Alias;
+import org.elasticsearch.action.admin.indices.alias.get.GetAliasesRequest;
+import org.elasticsearch.action.admin.indices.create.CreateIndexRequest;
+import org.elasticsearch.action.admin.indices.delete.DeleteIndexRequest;
+import org.elasticsearch.action.admin.indices.get.GetIndexRequest;
+import org.elasticsearch.action.admin.indices.rollover.RolloverRequest;
+import org.elasticsearch.action.support.IndicesOptions;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.common.unit.ByteSizeUnit;
+import org.elasticsearch.common.unit.ByteSizeValue;
+
+/**
+ * Daily rollover log index manager, built on the log index mapping.
+ *
+ * <p>Logs are written through the write alias {@code prefix-write}, the
+ * backing indices are named {@code prefix-yyyy.MM.dd-000001} after the day
+ * they were created. {@link #rollover()} should be called periodically,
+ * it rolls over once the day changes or the index grows over the max size.
+ * Index changes go through the client, so its metadata cache is dropped.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+public final class LogIndexManager {
+
+    /**
+     * The time field of log index.
+     */
+    private static final String CREATE_TIME = "createTime";
+
+    /**
+     * Write alias suffix.
+     */
+    private static final String WRITE_SUFFIX = "-write";
+
+    /**
+     * The first sequence of a day.
+     */
+    private static final int FIRST_SEQUENCE = 1;
+
+    /**
+     * Index date formatter.
+     */
+    private static final DateTimeFormatter INDEX_DATE =
+        DateTimeFormatter.ofPattern("yyyy.MM.dd");
+
+    /**
+     * Easy client.
+     */
+    private final EasyRestHighLevelClient client;
+
+    /**
+     * The index prefix.
+     */
+    private final String prefix;
+
+    /**
+     * Backing index name pattern, date and sequence groups.
+     */
+    private final Pattern indexPattern;
+
+    /**
+     * Max size of a single backing index.
+     */
+    private ByteSizeValue maxSize = new ByteSizeValue(50, ByteSizeUnit.GB);
+
+    /**
+     * Retention days.
+     */
+    private int retentionDays = 30;
+
+    /**
+     * Log index manager constructor.
+     *
+     * @param client Easy client.
+     * @param prefix The index prefix.
+     */
+    public LogIndexManager(final EasyRestHighLevelClient client,
+        final String prefix) {
+        this.client = client;
+        this.prefix = prefix.toLowerCase();
+        this.indexPattern = Pattern.compile(
+            Pattern.quote(this.prefix)
+                + "-(\\d{4}\\.\\d{2}\\.\\d{2})-(\\d{6})"
+        );
+    }
+
+    /**
+     * Sets maxSize.
+     *
+     * @param maxSize Simple param.
+     */
+    public void setMaxSize(final ByteSizeValue maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Sets retentionDays.
+     *
+     * @param retentionDays Simple param.
+     */
+    public void setRetentionDays(final int retentionDays) {
+        this.retentionDays = retentionDays;
+    }
+
+    /**
+     * The alias to dump logs into.
+     *
+     * @return Write alias name.
+     */
+    public String writeAlias() {
+        return this.prefix.concat(WRITE_SUFFIX);
+    }
+
+    /**
+     * Log index field mapping.
+     *
+     * @return Field mapping.
+     */
+    static Map<String, String> fieldMapping() {
+
+        Map<String, String> fieldMapping = new HashMap<>(13);
+        fieldMapping.put("id", "VARCHAR");
+        fieldMapping.put("systemSource", "VARCHAR");
+        fieldMapping.put("ip", "VARCHAR");
+        fieldMapping.put("logMessage", "VARCHAR");
+        fieldMapping.put("logLevel", "VARCHAR");
+        fieldMapping.put("instanceId", "VARCHAR");
+        fieldMapping.put("operatorId", "VARCHAR");
+        fieldMapping.put("createTime", "DATE");
+        fieldMapping.put("className", "VARCHAR");
+        fieldMapping.put("methodName", "VARCHAR");
+        fieldMapping.put("params", "VARCHAR");
+        fieldMapping.put("userId", "VARCHAR");
+        fieldMapping.put("userName", "VARCHAR");
+
+        return fieldMapping;
+    }
+
+    /**
+     * Create the first backing index if the write alias does not exist.
+     *
+     * @throws IOException If something goes wrong.
+     */
+    public void bootstrap() throws IOException {
+        GetAliasesRequest request = new GetAliasesRequest(this.writeAlias());
+        if (!this.internal().indices()
+            .existsAlias(request, RequestOptions.DEFAULT)) {
+            CreateIndexRequest create = new CreateIndexRequest(
+                this.indexName(LocalDate.now(), FIRST_SEQUENCE)
+            );
+            this.client.applyMapping(create, fieldMapping());
+            create.alias(new Alias(this.writeAlias()));
+            this.client.admin().create(create);
+        }
+    }
+
+    /**
+     * Roll the write alias over to a new backing index when the day has
+     * changed or the current index is larger than the max size.
+     *
+     * @return True if a new index was created.
+     * @throws IOException If something goes wrong.
+     * @throws IllegalStateException If the write alias does not exist.
+     */
+    public boolean rollover() throws IOException {
+        String writeIndex = this.writeIndex();
+        if (writeIndex == null) {
+            throw new IllegalStateException(
+                "Write alias does not exist, bootstrap first: "
+                    + this.writeAlias()
+            );
+        }
+        LocalDate today = LocalDate.now();
+        Matcher current = this.indexPattern.matcher(writeIndex);
+        boolean sameDay = current.matches()
+            && today.equals(LocalDate.parse(current.group(1), INDEX_DATE));
+
+        RolloverRequest request;
+        if (sameDay) {
+            request = new RolloverRequest(this.writeAlias(), this.indexName(
+                today, Integer.parseInt(current.group(2)) + 1
+            ));
+            request.addMaxIndexSizeCondition(this.maxSize);
+        } else {
+            request = new RolloverRequest(
+                this.writeAlias(), this.indexName(today, FIRST_SEQUENCE)
+            );
+        }
+        this.client.applyMapping(
+            request.getCreateIndexRequest(), fieldMapping()
+        );
+
+        return this.client.admin().rollover(request).isRolledOver();
+    }
+
+    /**
+     * Delete backing indices older than the retention days.
+     *
+     * @return Deleted index names.
+     * @throws IOException If something goes wrong.
+     */
+    public List<String> applyRetention() throws IOException {
+        LocalDate expire = LocalDate.now().minusDays(this.retentionDays);
+        String writeIndex = this.writeIndex();
+
+        GetIndexRequest request = new GetIndexRequest();
+        request.indices(this.prefix.concat("-*"));
+        request.indicesOptions(IndicesOptions.lenientExpandOpen());
+        List<String> expired = new ArrayList<>(1);
+        for (final String index : this.internal().indices()
+            .get(request, RequestOptions.DEFAULT).getIndices()) {
+            Matcher matcher = this.indexPattern.matcher(index);
+            if (matcher.matches() && !index.equals(writeIndex)
+                && LocalDate.parse(matcher.group(1), INDEX_DATE)
+                .isBefore(expire)) {
+                expired.add(index);
+            }
+        }
+        if (!expired.isEmpty()) {
+            this.client.admin().delete(
+                new DeleteIndexRequest(expired.toArray(new String[0]))
+            );
+        }
+
+        return expired;
+    }
+
+    /**
+     * Advanced search over the log indices, only the daily indices
+     * matching the createTime condition are searched.
+     *
+     * @param condition The user selected condition, not changed.
+     * @param pageNo The page number.
+     * @param pageSize The page size.
+     * @return Search result.
+     * @throws IOException If something goes wrong.
+     * @throws ParseException If something goes wrong.
+     */
+    public JSONObject advancedSearch(final AdvancedSearchCondition condition,
+        final Integer pageNo, final Integer pageSize)
+        throws IOException, ParseException {
+
+        return this.client.advancedSearch(
+            this.prune(condition), pageNo, pageSize
+        );
+    }
+
+    /**
+     * Copy of the condition searching the daily indices covered by its
+     * createTime condition.
+     *
+     * @param condition The user selected condition, not changed.
+     * @return Pruned condition.
+     */
+    public AdvancedSearchCondition prune(
+        final AdvancedSearchCondition condition) {
+        AdvancedSearchCondition pruned = condition.copy();
+        pruned.setIndexName(indices(
+            this.prefix, this.retentionDays, condition, LocalDate.now()
+        ));
+        return pruned;
+    }
+
+    /**
+     * Index patterns covered by the createTime condition.
+     *
+     * @param prefix The index prefix.
+     * @param retentionDays Retention days.
+     * @param condition The user selected condition.
+     * @param today The current day.
+     * @return Index patterns.
+     */
+    static String[] indices(final String prefix, final int retentionDays,
+        final AdvancedSearchCondition condition, final LocalDate today) {
+        LocalDate from = today.minusDays(retentionDays);
+        LocalDate till = today;
+        boolean bounded = false;
+        if (condition.getSearchMethod() != null) {
+            for (final SearchField field : condition.getSearchMethod()) {
+                if (CREATE_TIME.equals(field.getFieldName())
+                    && field.getBeginTime() != null) {
+                    LocalDate begin = parseDay(field.getBeginTime());
+                    String method = field.getMethod();
+                    if (EQUALS.equals(method) || RANGE.equals(method)
+                        || GT.equals(method) || GTE.equals(method)) {
+                        from = latest(from, begin);
+                        bounded = true;
+                    }
+                    if (EQUALS.equals(method) || LT.equals(method)
+                        || LTE.equals(method)) {
+                        till = earliest(till, begin);
+                        bounded = true;
+                    }
+                    if (RANGE.equals(method) && field.getEndTime() != null) {
+                        till = earliest(till, parseDay(field.getEndTime()));
+                    }
+                }
+            }
+        }
+
+        String[] indices;
+        if (bounded) {
+            indices = dailyIndices(prefix, from, till);
+        } else {
+            indices = new String[]{prefix.concat("-*")};
+        }
+        return indices;
+    }
+
+    /**
+     * Daily index patterns covering the day range.
+     *
+     * <p>An index is named after the day it was created but keeps
+     * receiving logs until the next rollover, so the previous day is
+     * always included. This only holds while {@link #rollover()} runs at
+     * least once a day, an index left open for longer is missed.
+     *
+     * @param prefix The index prefix.
+     * @param from The first day.
+     * @param till The last day.
+     * @return Index patterns.
+     */
+    static String[] dailyIndices(final String prefix, final LocalDate from,
+        final LocalDate till) {
+        List<String> indices = new ArrayList<>(1);
+        for (LocalDate day = from.minusDays(1); !day.isAfter(till);
+            day = day.plusDays(1)) {
+            indices.add(
+                prefix.concat("-").concat(day.format(INDEX_DATE)).concat("-*")
+            );
+        }
+        if (indices.isEmpty()) {
+            indices.add(prefix.concat("-").concat(
+                from.format(INDEX_DATE)).concat("-*")
+            );
+        }
+
+        return indices.toArray(new String[0]);
+    }
+
+    /**
+     * Current backing index of the write alias.
+     *
+     * @return Index name, null if the write alias does not exist.
+     * @throws IOException If something goes wrong.
+     */
+    private String writeIndex() throws IOException {
+        GetAliasesRequest request = new GetAliasesRequest(this.writeAlias());
+        return this.internal().indices()
+            .getAlias(request, RequestOptions.DEFAULT).getAliases().keySet()
+            .stream().findFirst().orElse(null);
+    }
+
+    /**
+     * Backing index name.
+     *
+     * @param day The day.
+     * @param sequence The sequence of the day.
+     * @return Index name.
+     */
+    private String indexName(final LocalDate day, final int sequence) {
+        return String.format(
+            "%s-%s-%06d", this.prefix, day.format(INDEX_DATE), sequence
+        );
+    }
+
+    /**
+     * Parse the day of a search field time.
+     *
+     * @param time The time string.
+     * @return The day.
+     */
+    private static LocalDate parseDay(final String time) {
+        return LocalDateTime.parse(time, FieldCondition.DATE_TIME)
+            .toLocalDate();
+    }
+
+    /**
+     * The later day.
+     *
+     * @param first The first day.
+     * @param second The second day.
+     * @return The later one.
+     */
+    private static LocalDate latest(final LocalDate first,
+        final LocalDate second) {
+        LocalDate result = first;
+        if (second.isAfter(first)) {
+            result = second;
+        }
+        return result;
+    }
+
+    /**
+     * The earlier day.
+     *
+     * @param first The first day.
+     * @param second The second day.
+     * @return The earlier one.
+     */
+    private static LocalDate earliest(final LocalDate first,
+        final LocalDate second) {
+        LocalDate result = first;
+        if (second.isBefore(first)) {
+            result = second;
+        }
+        return result;
+    }
+
+    /**
+     * Get internal client.
+     *
+     * @return RestHighLevelClient.
+     */
+    private RestHighLevelClient internal() {
+        return this.client.getInternalClient();
+    }
+}
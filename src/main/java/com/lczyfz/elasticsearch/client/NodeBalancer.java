@@ -0,0 +1,283 @@
+package com.lczyfz.elasticsearch.client;
+
+import com.lczyfz.elasticsearch.entity.SniffSetting;
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpResponseInterceptor;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.protocol.HttpContext;
+import org.elasticsearch.client.Node;
+import org.elasticsearch.client.NodeSelector;
+import org.elasticsearch.client.RestClient;
+import org.elasticsearch.client.RestClientBuilder;
+
+/**
+ * Health aware node selection, weighted by the observed latency and
+ * error rate of every node.
+ *
+ * <p>A node is kept for a request with the probability of the best score
+ * divided by its own score, the best node is always kept, so a node twice
+ * as slow gets about half the traffic. Nodes not seen yet are always
+ * kept. Dedicated master nodes are skipped once roles are known from
+ * sniffing.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+final class NodeBalancer implements NodeSelector, Closeable {
+
+    /**
+     * Request start time attribute.
+     */
+    private static final String START = "easy.node.start";
+
+    /**
+     * Weight of a new observation.
+     */
+    private static final double ALPHA = 0.2;
+
+    /**
+     * Latency in milliseconds of a node that never answered.
+     */
+    private static final double FAILED_LATENCY = 1000;
+
+    /**
+     * Latency penalty of a full error rate.
+     */
+    private static final double ERROR_PENALTY = 10;
+
+    /**
+     * Node statistics key as host.
+     */
+    private final Map<HttpHost, Stats> stats = new ConcurrentHashMap<>();
+
+    /**
+     * Node sniffer, null if sniffing is off.
+     */
+    private volatile NodeSniffer sniffer;
+
+    /**
+     * Add the selector, the failure listener and the latency hooks.
+     *
+     * @param builder Rest client builder.
+     * @return Builder.
+     */
+    RestClientBuilder configure(final RestClientBuilder builder) {
+        HttpRequestInterceptor start = (request, context) ->
+            context.setAttribute(START, System.nanoTime());
+        HttpResponseInterceptor observe = this::observe;
+        return builder.setNodeSelector(this)
+            .setFailureListener(new RestClient.FailureListener() {
+                @Override
+                public void onFailure(final Node node) {
+                    NodeBalancer.this.failed(node);
+                }
+            })
+            .setHttpClientConfigCallback(client -> client
+                .addInterceptorLast(start)
+                .addInterceptorLast(observe));
+    }
+
+    /**
+     * Start, restart or stop sniffing.
+     *
+     * @param client The low level client.
+     * @param setting Sniff setting, null stops sniffing.
+     */
+    synchronized void sniff(final RestClient client,
+        final SniffSetting setting) {
+        if (this.sniffer != null) {
+            this.sniffer.close();
+            this.sniffer = null;
+        }
+        if (setting != null) {
+            NodeSniffer started = new NodeSniffer(client, setting);
+            started.start();
+            this.sniffer = started;
+        }
+    }
+
+    /**
+     * Keep nodes by weight, skipping dedicated masters.
+     *
+     * @param nodes Living nodes, removed nodes are not used.
+     */
+    @Override
+    public void select(final Iterable<Node> nodes) {
+        List<Node> eligible = new ArrayList<>();
+        for (final Node node : nodes) {
+            if (!isDedicatedMaster(node)) {
+                eligible.add(node);
+            }
+        }
+        if (eligible.isEmpty()) {
+            return;
+        }
+
+        // The best node of those seen, nodes not seen yet are kept.
+        double best = Double.MAX_VALUE;
+        Node bestNode = null;
+        for (final Node node : eligible) {
+            double score = this.score(node.getHost());
+            if (score > 0 && score < best) {
+                best = score;
+                bestNode = node;
+            }
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Iterator<Node> iterator = nodes.iterator();
+        while (iterator.hasNext()) {
+            Node node = iterator.next();
+            double score = this.score(node.getHost());
+            boolean keep = !isDedicatedMaster(node) && (node == bestNode
+                || score == 0 || random.nextDouble() * score <= best);
+            if (!keep) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Stop sniffing.
+     */
+    @Override
+    public synchronized void close() {
+        if (this.sniffer != null) {
+            this.sniffer.close();
+            this.sniffer = null;
+        }
+    }
+
+    /**
+     * Score of a node, latency in milliseconds raised by errors, lower
+     * is better.
+     *
+     * @param host Node host.
+     * @return Score, 0 if not seen yet.
+     */
+    double score(final HttpHost host) {
+        Stats node = this.stats.get(host);
+        return node == null ? 0 : node.score();
+    }
+
+    /**
+     * Record an answered request.
+     *
+     * @param host Node host.
+     * @param latencyMillis Latency in milliseconds.
+     * @param error Whether the node answered with an overload or server
+     *              error.
+     */
+    void record(final HttpHost host, final double latencyMillis,
+        final boolean error) {
+        this.stats.computeIfAbsent(host, key -> new Stats())
+            .record(latencyMillis, error);
+    }
+
+    /**
+     * Response hook, records the latency of the target node.
+     *
+     * @param response The response.
+     * @param context The request context.
+     */
+    private void observe(final HttpResponse response,
+        final HttpContext context) {
+        Object start = context.getAttribute(START);
+        HttpHost host = HttpClientContext.adapt(context).getTargetHost();
+        if (start instanceof Long && host != null) {
+            int status = response.getStatusLine().getStatusCode();
+            this.record(host,
+                (System.nanoTime() - (Long) start) / 1_000_000.0,
+                status == 429 || status >= 500);
+        }
+    }
+
+    /**
+     * Failure hook, the node did not answer.
+     *
+     * @param node The failed node.
+     */
+    private void failed(final Node node) {
+        this.stats.computeIfAbsent(node.getHost(), key -> new Stats())
+            .failed();
+        NodeSniffer current = this.sniffer;
+        if (current != null) {
+            current.sniffOnFailure();
+        }
+    }
+
+    /**
+     * Whether the node is master eligible only.
+     *
+     * @param node The node.
+     * @return True for dedicated masters.
+     */
+    private static boolean isDedicatedMaster(final Node node) {
+        Node.Roles roles = node.getRoles();
+        return roles != null && roles.isMasterEligible()
+            && !roles.isData() && !roles.isIngest();
+    }
+
+    /**
+     * Moving averages of a node.
+     */
+    private static final class Stats {
+
+        /**
+         * Average latency in milliseconds.
+         */
+        private double latency;
+
+        /**
+         * Average error rate.
+         */
+        private double errorRate;
+
+        /**
+         * Whether a latency was recorded.
+         */
+        private boolean seen;
+
+        /**
+         * Record an answered request.
+         *
+         * @param latencyMillis Latency in milliseconds.
+         * @param error Whether the answer was an error.
+         */
+        synchronized void record(final double latencyMillis,
+            final boolean error) {
+            this.latency = this.seen
+                ? this.latency + ALPHA * (latencyMillis - this.latency)
+                : latencyMillis;
+            this.seen = true;
+            this.errorRate += ALPHA * ((error ? 1 : 0) - this.errorRate);
+        }
+
+        /**
+         * Record a request the node did not answer.
+         */
+        synchronized void failed() {
+            this.errorRate += ALPHA * (1 - this.errorRate);
+        }
+
+        /**
+         * Score, lower is better.
+         *
+         * @return Score.
+         */
+        synchronized double score() {
+            double base = this.seen
+                ? Math.max(this.latency, 1) : FAILED_LATENCY;
+            return base * (1 + ERROR_PENALTY * this.errorRate);
+        }
+    }
+}
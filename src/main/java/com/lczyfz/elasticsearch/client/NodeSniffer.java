@@ -0,0 +1,193 @@
+package com.lczyfz.elasticsearch.client;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
+import com.alibaba.fastjson.parser.Feature;
+import com.lczyfz.elasticsearch.entity.SniffSetting;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.apache.http.HttpHost;
+import org.apache.http.util.EntityUtils;
+import org.elasticsearch.client.Node;
+import org.elasticsearch.client.Request;
+import org.elasticsearch.client.Response;
+import org.elasticsearch.client.RestClient;
+
+/**
+ * Discover the http nodes of the cluster with the nodes info api and
+ * replace the nodes of the low level client, periodically and after a
+ * node failure.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+final class NodeSniffer {
+
+    /**
+     * Nodes info endpoint of the http addresses.
+     */
+    private static final String NODES_HTTP = "/_nodes/http";
+
+    /**
+     * The low level client.
+     */
+    private final RestClient client;
+
+    /**
+     * The sniff setting.
+     */
+    private final SniffSetting setting;
+
+    /**
+     * Scheme of the discovered hosts, the scheme of the seed hosts.
+     */
+    private final String scheme;
+
+    /**
+     * Sniff thread.
+     */
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * The time of the last sniff in milliseconds.
+     */
+    private volatile long lastSniff;
+
+    /**
+     * Node sniffer constructor.
+     *
+     * @param client The low level client.
+     * @param setting The sniff setting.
+     */
+    NodeSniffer(final RestClient client, final SniffSetting setting) {
+        this.client = client;
+        this.setting = setting;
+        this.scheme = client.getNodes().get(0).getHost().getSchemeName();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+                Thread thread = new Thread(runnable, "node-sniffer");
+                thread.setDaemon(true);
+                return thread;
+            }
+        );
+    }
+
+    /**
+     * Sniff now and then every interval.
+     */
+    void start() {
+        this.scheduler.scheduleWithFixedDelay(this::sniffQuietly, 0,
+            this.setting.getIntervalMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Sniff soon, unless a sniff ran within the failure delay.
+     */
+    void sniffOnFailure() {
+        if (System.currentTimeMillis() - this.lastSniff
+            >= this.setting.getFailureDelayMillis()) {
+            this.lastSniff = System.currentTimeMillis();
+            try {
+                this.scheduler.execute(this::sniffQuietly);
+            } catch (final RuntimeException ex) {
+                // the sniffer is closed
+            }
+        }
+    }
+
+    /**
+     * Stop sniffing, the current nodes are kept.
+     */
+    void close() {
+        this.scheduler.shutdownNow();
+    }
+
+    /**
+     * Discover the nodes and set them on the client.
+     *
+     * @throws IOException If the nodes info request fails.
+     */
+    void sniff() throws IOException {
+        this.lastSniff = System.currentTimeMillis();
+        Response response =
+            this.client.performRequest(new Request("GET", NODES_HTTP));
+        List<Node> nodes = parse(
+            EntityUtils.toString(response.getEntity(), StandardCharsets.UTF_8),
+            this.scheme
+        );
+        if (!nodes.isEmpty()) {
+            this.client.setNodes(nodes);
+        }
+    }
+
+    /**
+     * Parse the nodes info response, nodes without http are left out.
+     *
+     * @param body Response body.
+     * @param scheme Scheme of the hosts.
+     * @return Nodes.
+     */
+    static List<Node> parse(final String body, final String scheme) {
+        JSONObject nodes = JSON.parseObject(body, Feature.OrderedField)
+            .getJSONObject("nodes");
+        if (nodes == null) {
+            return Collections.emptyList();
+        }
+        List<Node> parsed = new ArrayList<>(nodes.size());
+        for (final Map.Entry<String, Object> entry : nodes.entrySet()) {
+            JSONObject node = (JSONObject) entry.getValue();
+            JSONObject http = node.getJSONObject("http");
+            if (http == null || http.getString("publish_address") == null) {
+                continue;
+            }
+            JSONArray roles = node.getJSONArray("roles");
+            Node.Roles nodeRoles = roles == null ? null : new Node.Roles(
+                roles.contains("master"), roles.contains("data"),
+                roles.contains("ingest"));
+            HttpHost host = host(http.getString("publish_address"), scheme);
+            parsed.add(new Node(host, Collections.singleton(host),
+                node.getString("name"), node.getString("version"),
+                nodeRoles, null));
+        }
+        return parsed;
+    }
+
+    /**
+     * Host of a publish address, host/ip:port or ip:port.
+     *
+     * @param address Publish address.
+     * @param scheme Scheme of the host.
+     * @return Host.
+     */
+    private static HttpHost host(final String address, final String scheme) {
+        int slash = address.indexOf('/');
+        int colon = address.lastIndexOf(':');
+        String hostName = slash > 0
+            ? address.substring(0, slash)
+            : address.substring(0, colon);
+        if (hostName.startsWith("[") && hostName.endsWith("]")) {
+            hostName = hostName.substring(1, hostName.length() - 1);
+        }
+        return new HttpHost(hostName,
+            Integer.parseInt(address.substring(colon + 1)), scheme);
+    }
+
+    /**
+     * Sniff from the scheduler, failures keep the current nodes.
+     */
+    private void sniffQuietly() {
+        try {
+            this.sniff();
+        } catch (final IOException | RuntimeException ex) {
+            // retried on the next interval or failure
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.lczyfz.elasticsearch.client;
+
+import java.io.IOException;
+
+/**
+ * Request rejected on the client side without reaching the cluster,
+ * because the in-flight limit is reached or the circuit is open.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+public final class RejectedRequestException extends IOException {
+
+    /**
+     * Serial version.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Rejected request exception constructor.
+     *
+     * @param message The message.
+     */
+    public RejectedRequestException(final String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,399 @@
+package com.lczyfz.elasticsearch.client;
+
+import com.lczyfz.elasticsearch.entity.ConcurrencySetting;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import org.elasticsearch.ElasticsearchStatusException;
+import org.elasticsearch.rest.RestStatus;
+
+/**
+ * Adaptive concurrency limiter and circuit breaker of one kind of
+ * traffic.
+ *
+ * <p>The in-flight limit grows additively while latency stays close to
+ * the baseline and shrinks multiplicatively on failed or rejected
+ * requests (AIMD). A slow request shrinks it only while the in-flight
+ * requests are close to the limit, when the latency is queueing rather
+ * than the spread of cheap and heavy requests. The baseline is a moving
+ * average of the minimum latency of recent sample windows.
+ *
+ * <p>The circuit opens when the failure rate of the recent calls
+ * crosses the threshold, and lets one probe through after the open
+ * period. Only the probe closes or reopens the circuit.
+ *
+ * <p>I/O errors, 429 and 5xx count as failures, other status errors as
+ * successes since the cluster answered. Any other runtime exception is
+ * a client side bug and is not recorded at all.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+final class RequestGuard {
+
+    /**
+     * Multiplicative decrease factor.
+     */
+    private static final double BACKOFF = 0.9;
+
+    /**
+     * Samples of one baseline window.
+     */
+    private static final int BASELINE_WINDOW = 100;
+
+    /**
+     * Weight of the latest window minimum in the baseline.
+     */
+    private static final double BASELINE_WEIGHT = 0.2;
+
+    /**
+     * Share of the limit in flight from which slow requests back off.
+     */
+    private static final double NEAR_LIMIT = 0.8;
+
+    /**
+     * Closed circuit.
+     */
+    private static final int CLOSED = 0;
+
+    /**
+     * Open circuit.
+     */
+    private static final int OPEN = 1;
+
+    /**
+     * Half open circuit, a probe is in flight.
+     */
+    private static final int HALF_OPEN = 2;
+
+    /**
+     * The traffic name.
+     */
+    private final String name;
+
+    /**
+     * The setting.
+     */
+    private final ConcurrencySetting setting;
+
+    /**
+     * Monotonic clock in milliseconds.
+     */
+    private final LongSupplier clock;
+
+    /**
+     * In-flight requests.
+     */
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /**
+     * State lock.
+     */
+    private final Object lock = new Object();
+
+    /**
+     * Recent call outcomes, true as failure.
+     */
+    private final boolean[] outcomes;
+
+    /**
+     * The current in-flight limit.
+     */
+    private double limit;
+
+    /**
+     * The latency baseline in milliseconds, 0 until the first window ends
+     * and the window minimum is used.
+     */
+    private double baseline;
+
+    /**
+     * The lowest latency in milliseconds of the current window.
+     */
+    private long windowMin = Long.MAX_VALUE;
+
+    /**
+     * Samples of the current window.
+     */
+    private int samples;
+
+    /**
+     * Recorded calls.
+     */
+    private int calls;
+
+    /**
+     * Circuit state.
+     */
+    private int state = CLOSED;
+
+    /**
+     * The time the circuit opened in milliseconds.
+     */
+    private long openedAt;
+
+    /**
+     * Request guard constructor.
+     *
+     * @param name The traffic name.
+     * @param setting The setting.
+     */
+    RequestGuard(final String name, final ConcurrencySetting setting) {
+        this(name, setting,
+            () -> TimeUnit.NANOSECONDS.toMillis(System.nanoTime()));
+    }
+
+    /**
+     * Request guard constructor.
+     *
+     * @param name The traffic name.
+     * @param setting The setting.
+     * @param clock Monotonic clock in milliseconds.
+     */
+    RequestGuard(final String name, final ConcurrencySetting setting,
+        final LongSupplier clock) {
+        this.name = name;
+        this.setting = setting;
+        this.clock = clock;
+        this.outcomes = new boolean[setting.getWindowSize()];
+        this.limit = setting.getInitialLimit();
+    }
+
+    /**
+     * Execute a call under the limit and the circuit breaker.
+     *
+     * @param call The call.
+     * @param <T> Response type.
+     * @return Call response.
+     * @throws IOException If something goes wrong or the call is rejected.
+     */
+    <T> T call(final RequestCall<T> call) throws IOException {
+        boolean probe = this.acquire();
+        long start = this.clock.getAsLong();
+        Boolean failed = null;
+        T response;
+        try {
+            response = call.call();
+            failed = false;
+        } catch (final IOException | RuntimeException ex) {
+            failed = isClusterFailure(ex);
+            throw ex;
+        } finally {
+            this.inFlight.decrementAndGet();
+            this.release(this.clock.getAsLong() - start, failed, probe);
+        }
+
+        return response;
+    }
+
+    /**
+     * Take an in-flight slot for an optional call, such as a hedge. It
+     * is never taken while the circuit is not closed, so it can not
+     * become the probe.
+     *
+     * @return True if taken, then {@link #finish(long, Exception)} must
+     *  be called once the call completes.
+     */
+    boolean tryAcquire() {
+        synchronized (this.lock) {
+            if (this.state != CLOSED
+                || this.inFlight.get() >= (int) this.limit) {
+                return false;
+            }
+            this.inFlight.incrementAndGet();
+            return true;
+        }
+    }
+
+    /**
+     * Complete a call started by {@link #tryAcquire()}.
+     *
+     * @param latency The latency in milliseconds.
+     * @param failure The failure, null if the call succeeded.
+     */
+    void finish(final long latency, final Exception failure) {
+        this.inFlight.decrementAndGet();
+        this.release(latency,
+            failure == null ? Boolean.FALSE : isClusterFailure(failure),
+            false);
+    }
+
+    /**
+     * Current in-flight limit.
+     *
+     * @return The limit.
+     */
+    int limit() {
+        synchronized (this.lock) {
+            return (int) this.limit;
+        }
+    }
+
+    /**
+     * Take an in-flight slot or fail fast.
+     *
+     * @return True if the call is the probe of the half open circuit.
+     * @throws RejectedRequestException If the call is rejected.
+     */
+    private boolean acquire() throws RejectedRequestException {
+        boolean probe = false;
+        synchronized (this.lock) {
+            if (this.inFlight.get() >= (int) this.limit) {
+                throw new RejectedRequestException(String.format(
+                    "%s in-flight limit %d reached", this.name, (int) this.limit
+                ));
+            }
+            if (this.state == OPEN) {
+                if (this.clock.getAsLong() - this.openedAt
+                    < this.setting.getOpenMillis()) {
+                    throw new RejectedRequestException(
+                        this.name + " circuit is open"
+                    );
+                }
+                this.state = HALF_OPEN;
+                probe = true;
+            } else if (this.state == HALF_OPEN) {
+                throw new RejectedRequestException(
+                    this.name + " circuit is half open"
+                );
+            }
+            this.inFlight.incrementAndGet();
+        }
+        return probe;
+    }
+
+    /**
+     * Record the outcome and adjust the limit and the circuit.
+     *
+     * @param latency The latency in milliseconds.
+     * @param failed Whether the cluster failed or was overloaded, null
+     *  if the outcome says nothing about the cluster.
+     * @param probe Whether the call is the probe.
+     */
+    private void release(final long latency, final Boolean failed,
+        final boolean probe) {
+        synchronized (this.lock) {
+            if (failed == null) {
+                if (probe) {
+                    // Probe again with the next call.
+                    this.state = OPEN;
+                }
+                return;
+            }
+            boolean slow = latency
+                > this.baseline(latency) * this.setting.getLatencyTolerance()
+                && this.inFlight.get() + 1 >= this.limit * NEAR_LIMIT;
+            if (failed || slow) {
+                this.limit = Math.max(
+                    this.setting.getMinLimit(), this.limit * BACKOFF
+                );
+            } else {
+                this.limit = Math.min(
+                    this.setting.getMaxLimit(), this.limit + 1.0 / this.limit
+                );
+            }
+
+            this.outcomes[this.calls % this.outcomes.length] = failed;
+            this.calls++;
+            if (probe) {
+                this.transit(failed);
+            } else if (this.state == CLOSED && this.failureRate()
+                >= this.setting.getFailureRateThreshold()) {
+                this.transit(true);
+            }
+        }
+    }
+
+    /**
+     * Add a latency sample to the baseline.
+     *
+     * @param latency The latency in milliseconds.
+     * @return The baseline in milliseconds.
+     */
+    private double baseline(final long latency) {
+        this.windowMin = Math.min(this.windowMin, Math.max(1, latency));
+        double current = this.baseline == 0 ? this.windowMin : this.baseline;
+        this.samples++;
+        if (this.samples == BASELINE_WINDOW) {
+            this.baseline = this.baseline == 0 ? this.windowMin
+                : this.baseline + BASELINE_WEIGHT
+                    * (this.windowMin - this.baseline);
+            this.windowMin = Long.MAX_VALUE;
+            this.samples = 0;
+        }
+        return current;
+    }
+
+    /**
+     * Open or close the circuit.
+     *
+     * @param open Whether to open.
+     */
+    private void transit(final boolean open) {
+        if (open) {
+            this.state = OPEN;
+            this.openedAt = this.clock.getAsLong();
+        } else {
+            this.state = CLOSED;
+        }
+        this.calls = 0;
+    }
+
+    /**
+     * Failure rate of the recent calls.
+     *
+     * @return Failure rate, 0 before the minimum calls.
+     */
+    private double failureRate() {
+        int size = Math.min(this.calls, this.outcomes.length);
+        double rate = 0;
+        if (size >= this.setting.getMinimumCalls()) {
+            int failures = 0;
+            for (int i = 0; i < size; i++) {
+                if (this.outcomes[i]) {
+                    failures++;
+                }
+            }
+            rate = (double) failures / size;
+        }
+        return rate;
+    }
+
+    /**
+     * Whether the exception means the cluster is failing, rather than a
+     * bad request.
+     *
+     * @param ex The exception.
+     * @return True for I/O errors, 429 and 5xx, null for a rejected call
+     *  or an unknown runtime exception.
+     */
+    private static Boolean isClusterFailure(final Exception ex) {
+        Boolean failure = null;
+        if (ex instanceof ElasticsearchStatusException) {
+            RestStatus status = ((ElasticsearchStatusException) ex).status();
+            failure = status == RestStatus.TOO_MANY_REQUESTS
+                || status.getStatus() >= 500;
+        } else if (ex instanceof IOException
+            && !(ex instanceof RejectedRequestException)) {
+            failure = true;
+        }
+        return failure;
+    }
+
+    /**
+     * Call throwing IOException.
+     *
+     * @param <T> Response type.
+     */
+    interface RequestCall<T> {
+
+        /**
+         * Execute the call.
+         *
+         * @return Response.
+         * @throws IOException If something goes wrong.
+         */
+        T call() throws IOException;
+    }
+}
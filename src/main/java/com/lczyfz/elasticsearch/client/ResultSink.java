@@ -0,0 +1,42 @@
+package com.lczyfz.elasticsearch.client;
+
+import com.alibaba.fastjson.JSONObject;
+import com.lczyfz.elasticsearch.entity.SearchResult;
+
+/**
+ * Convert a search result to the type of the caller, a sink encoding
+ * with its own JSON library converts each result once.
+ *
+ * @param <T> Result type.
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+@FunctionalInterface
+public interface ResultSink<T> {
+
+    /**
+     * Convert the search result.
+     *
+     * @param result The immutable search result.
+     * @return Converted result.
+     */
+    T accept(SearchResult result);
+
+    /**
+     * The sink of the fastjson result.
+     *
+     * @return Sink.
+     */
+    static ResultSink<JSONObject> json() {
+        return SearchResults::json;
+    }
+
+    /**
+     * The sink returning the search result itself.
+     *
+     * @return Sink.
+     */
+    static ResultSink<SearchResult> identity() {
+        return result -> result;
+    }
+}
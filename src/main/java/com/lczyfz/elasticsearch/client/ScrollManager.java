@@ -0,0 +1,342 @@
+package com.lczyfz.elasticsearch.client;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.elasticsearch.action.search.ClearScrollRequest;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.common.CheckedConsumer;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.search.SearchHits;
+
+/**
+ * Track every open scroll context, clear them in batches, and keep live
+ * cursors keyed by session so the next page continues the scroll.
+ *
+ * <p>A scroll id that fails to clear stays tracked and is retried by
+ * the next clear and by {@link #close()}.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+final class ScrollManager {
+
+    /**
+     * Scroll ids per clear scroll request.
+     */
+    static final int CLEAR_BATCH = 100;
+
+    /**
+     * Maximum live cursors, the least recently used one is cleared.
+     */
+    static final int MAX_CURSORS = 1000;
+
+    /**
+     * Clear scroll call.
+     */
+    private final CheckedConsumer<ClearScrollRequest, IOException> clearScroll;
+
+    /**
+     * Open scroll ids.
+     */
+    private final Set<String> openIds = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Live cursors key as session, in access order.
+     */
+    private final Map<String, Cursor> cursors =
+        new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Scroll manager constructor.
+     *
+     * @param client Internal client.
+     */
+    ScrollManager(final RestHighLevelClient client) {
+        this(request -> client.clearScroll(request, RequestOptions.DEFAULT));
+    }
+
+    /**
+     * Scroll manager constructor.
+     *
+     * @param clearScroll Clear scroll call.
+     */
+    ScrollManager(
+        final CheckedConsumer<ClearScrollRequest, IOException> clearScroll) {
+        this.clearScroll = clearScroll;
+    }
+
+    /**
+     * Track a new scroll id of the cursor.
+     *
+     * @param cursor The cursor.
+     * @param response The search or scroll response.
+     */
+    void opened(final Cursor cursor, final SearchResponse response) {
+        String scrollId = response.getScrollId();
+        if (scrollId != null) {
+            this.openIds.add(scrollId);
+            cursor.scrollIds.add(scrollId);
+        }
+        cursor.scrollId = scrollId;
+        cursor.hits = response.getHits();
+    }
+
+    /**
+     * Take the live cursor of the session if it can reach the page,
+     * any other cursor of the session is cleared.
+     *
+     * @param session The session.
+     * @param request The search request.
+     * @param pageNo The page number.
+     * @return The cursor, null if the scroll has to restart.
+     */
+    Cursor take(final String session, final SearchRequest request,
+        final int pageNo) {
+        Cursor cursor;
+        synchronized (this.cursors) {
+            cursor = this.cursors.remove(session);
+        }
+        if (cursor != null && (cursor.expiresAt < System.currentTimeMillis()
+            || cursor.pageNo > pageNo
+            || !cursor.fingerprint.equals(fingerprint(request)))) {
+            this.clearQuietly(cursor.scrollIds);
+            cursor = null;
+        }
+        return cursor;
+    }
+
+    /**
+     * Keep the cursor as the live cursor of the session.
+     *
+     * @param session The session.
+     * @param cursor The cursor.
+     * @param keepAliveMillis Scroll keep alive in milliseconds.
+     */
+    void keep(final String session, final Cursor cursor,
+        final long keepAliveMillis) {
+        cursor.expiresAt = System.currentTimeMillis() + keepAliveMillis;
+        List<String> evicted = new ArrayList<>();
+        synchronized (this.cursors) {
+            Cursor previous = this.cursors.put(session, cursor);
+            if (previous != null && previous != cursor) {
+                evicted.addAll(previous.scrollIds);
+            }
+            Iterator<Cursor> eldest = this.cursors.values().iterator();
+            while (this.cursors.size() > MAX_CURSORS) {
+                evicted.addAll(eldest.next().scrollIds);
+                eldest.remove();
+            }
+        }
+        this.clearQuietly(evicted);
+    }
+
+    /**
+     * Clear the live cursor of the session.
+     *
+     * @param session The session.
+     * @throws IOException If something goes wrong.
+     */
+    void closeSession(final String session) throws IOException {
+        Cursor cursor;
+        synchronized (this.cursors) {
+            cursor = this.cursors.remove(session);
+        }
+        if (cursor != null) {
+            this.clear(cursor.scrollIds);
+        }
+    }
+
+    /**
+     * Clear scroll ids in batches.
+     *
+     * @param scrollIds The scroll ids.
+     * @throws IOException If something goes wrong.
+     */
+    void clear(final Collection<String> scrollIds) throws IOException {
+        List<String> batch = new ArrayList<>(CLEAR_BATCH);
+        for (String scrollId : scrollIds) {
+            batch.add(scrollId);
+            if (batch.size() == CLEAR_BATCH) {
+                this.clearBatch(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            this.clearBatch(batch);
+        }
+    }
+
+    /**
+     * Clear scroll ids, a failure leaves them tracked for a retry.
+     *
+     * @param scrollIds The scroll ids.
+     */
+    void clearQuietly(final Collection<String> scrollIds) {
+        try {
+            this.clear(scrollIds);
+        } catch (final IOException | RuntimeException ex) {
+            // retried by the next clear or close
+        }
+    }
+
+    /**
+     * Clear every live cursor and every open scroll id.
+     *
+     * @throws IOException If something goes wrong.
+     */
+    void close() throws IOException {
+        synchronized (this.cursors) {
+            this.cursors.clear();
+        }
+        this.clear(new ArrayList<>(this.openIds));
+    }
+
+    /**
+     * Clear one batch of scroll ids.
+     *
+     * @param batch The scroll ids.
+     * @throws IOException If something goes wrong.
+     */
+    private void clearBatch(final List<String> batch) throws IOException {
+        ClearScrollRequest request = new ClearScrollRequest();
+        request.setScrollIds(new ArrayList<>(batch));
+        this.clearScroll.accept(request);
+        this.openIds.removeAll(batch);
+    }
+
+    /**
+     * The identity of the search a cursor belongs to.
+     *
+     * @param request The search request.
+     * @return Fingerprint.
+     */
+    static String fingerprint(final SearchRequest request) {
+        return Arrays.toString(request.indices()) + '|' + request.routing()
+            + '|' + request.source();
+    }
+
+    /**
+     * Live scroll cursor.
+     */
+    static final class Cursor {
+
+        /**
+         * The search fingerprint.
+         */
+        private final String fingerprint;
+
+        /**
+         * Every scroll id the cursor returned.
+         */
+        private final Set<String> scrollIds = new LinkedHashSet<>();
+
+        /**
+         * The first response, carries the aggregations.
+         */
+        private final SearchResponse first;
+
+        /**
+         * The current scroll id.
+         */
+        private String scrollId;
+
+        /**
+         * The hits of the current page.
+         */
+        private SearchHits hits;
+
+        /**
+         * The current page number.
+         */
+        private int pageNo = 1;
+
+        /**
+         * The time the scroll context expires in milliseconds.
+         */
+        private long expiresAt = Long.MAX_VALUE;
+
+        /**
+         * Cursor constructor.
+         *
+         * @param request The search request.
+         * @param first The first response.
+         */
+        Cursor(final SearchRequest request, final SearchResponse first) {
+            this.fingerprint = fingerprint(request);
+            this.first = first;
+        }
+
+        /**
+         * Gets first.
+         *
+         * @return Value of first.
+         */
+        SearchResponse getFirst() {
+            return this.first;
+        }
+
+        /**
+         * Gets scrollId.
+         *
+         * @return Value of scrollId.
+         */
+        String getScrollId() {
+            return this.scrollId;
+        }
+
+        /**
+         * Gets scrollIds.
+         *
+         * @return Value of scrollIds.
+         */
+        Set<String> getScrollIds() {
+            return this.scrollIds;
+        }
+
+        /**
+         * Gets hits.
+         *
+         * @return Value of hits.
+         */
+        SearchHits getHits() {
+            return this.hits;
+        }
+
+        /**
+         * Gets pageNo.
+         *
+         * @return Value of pageNo.
+         */
+        int getPageNo() {
+            return this.pageNo;
+        }
+
+        /**
+         * Move to the next page.
+         */
+        void nextPage() {
+            this.pageNo++;
+        }
+
+        /**
+         * Whether the current page is empty, the scroll is exhausted.
+         *
+         * @return True if exhausted.
+         */
+        boolean isExhausted() {
+            return this.hits == null || this.hits.getHits() == null
+                || this.hits.getHits().length == 0;
+        }
+    }
+}
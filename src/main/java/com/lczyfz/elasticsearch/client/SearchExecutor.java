@@ -0,0 +1,434 @@
+package com.lczyfz.elasticsearch.client;
+
+import com.lczyfz.elasticsearch.entity.HedgeSetting;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.search.ClearScrollRequest;
+import org.elasticsearch.action.search.MultiSearchRequest;
+import org.elasticsearch.action.search.MultiSearchResponse;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.search.SearchScrollRequest;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.search.SearchHits;
+
+/**
+ * Execute search requests, optionally hedged.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+final class SearchExecutor {
+
+    /**
+     * Internal client.
+     */
+    private final RestHighLevelClient client;
+
+    /**
+     * Open scroll contexts.
+     */
+    private final ScrollManager scrolls;
+
+    /**
+     * Search latency window.
+     */
+    private final LatencyTracker latency = new LatencyTracker();
+
+    /**
+     * The second of the hedge budget.
+     */
+    private final AtomicLong hedgeSecond = new AtomicLong();
+
+    /**
+     * Hedges sent in the current second.
+     */
+    private final AtomicInteger hedgeCount = new AtomicInteger();
+
+    /**
+     * Hedge setting, null means hedging is disabled.
+     */
+    private volatile HedgeSetting hedgeSetting;
+
+    /**
+     * Search concurrency guard, null means unlimited.
+     */
+    private volatile RequestGuard searchGuard;
+
+    /**
+     * Search executor constructor.
+     *
+     * @param client Internal client.
+     */
+    SearchExecutor(final RestHighLevelClient client) {
+        this.client = client;
+        this.scrolls = new ScrollManager(client);
+    }
+
+    /**
+     * Sets hedgeSetting.
+     *
+     * @param hedgeSetting Simple param.
+     */
+    void setHedgeSetting(final HedgeSetting hedgeSetting) {
+        this.hedgeSetting = hedgeSetting;
+    }
+
+    /**
+     * Sets searchGuard.
+     *
+     * @param searchGuard Simple param.
+     */
+    void setSearchGuard(final RequestGuard searchGuard) {
+        this.searchGuard = searchGuard;
+    }
+
+    /**
+     * Execute multi search.
+     *
+     * @param request The multi search request.
+     * @return Multi search response.
+     * @throws IOException If something goes wrong.
+     */
+    MultiSearchResponse msearch(final MultiSearchRequest request)
+        throws IOException {
+        return this.guarded(
+            () -> this.client.msearch(request, RequestOptions.DEFAULT)
+        );
+    }
+
+    /**
+     * Execute search, a duplicate is sent when the first one is slower
+     * than the hedge delay and the first response wins.
+     *
+     * @param request The search request.
+     * @return Search response.
+     * @throws IOException If something goes wrong.
+     */
+    SearchResponse search(final SearchRequest request) throws IOException {
+        HedgeSetting setting = this.hedgeSetting;
+        long start = System.nanoTime();
+        SearchResponse response;
+        if (setting == null) {
+            response = this.guarded(
+                () -> this.client.search(request, RequestOptions.DEFAULT)
+            );
+        } else {
+            response = this.guarded(
+                () -> this.hedgedSearch(request, setting)
+            );
+        }
+        this.latency.record(
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)
+        );
+
+        return response;
+    }
+
+    /**
+     * Execute search in the background, neither hedged nor guarded.
+     *
+     * @param request The search request.
+     * @param listener The response listener.
+     */
+    void searchAsync(final SearchRequest request,
+        final ActionListener<SearchResponse> listener) {
+        this.client.searchAsync(request, RequestOptions.DEFAULT, listener);
+    }
+
+    /**
+     * Use scroll search, the scroll context is always cleared.
+     *
+     * @param request The search request.
+     * @param pageNo The page number.
+     * @param firstPage Consumer of the first response.
+     * @return The search result.
+     * @throws IOException If something goes wrong.
+     */
+    SearchHits scrollSearch(final SearchRequest request,
+        final Integer pageNo, final Consumer<SearchResponse> firstPage)
+        throws IOException {
+        return this.scrollSearch(request, pageNo, firstPage, null);
+    }
+
+    /**
+     * Use scroll search. With a session the cursor stays live, and the
+     * next page of the same search continues the scroll instead of
+     * restarting from the first page.
+     *
+     * @param request The search request.
+     * @param pageNo The page number.
+     * @param firstPage Consumer of the first response.
+     * @param session The scroll session, null to clear the scroll.
+     * @return The search result.
+     * @throws IOException If something goes wrong.
+     */
+    SearchHits scrollSearch(final SearchRequest request,
+        final Integer pageNo, final Consumer<SearchResponse> firstPage,
+        final String session) throws IOException {
+        ScrollManager.Cursor cursor = null;
+        if (session != null) {
+            cursor = this.scrolls.take(session, request, pageNo);
+        }
+        if (cursor == null) {
+            // execute search
+            SearchResponse searchResponse = this.search(request);
+            cursor = new ScrollManager.Cursor(request, searchResponse);
+            this.scrolls.opened(cursor, searchResponse);
+        }
+
+        boolean keep = false;
+        try {
+            firstPage.accept(cursor.getFirst());
+
+            // scroll search
+            while (cursor.getPageNo() < pageNo && !cursor.isExhausted()) {
+                SearchScrollRequest scrollRequest =
+                    new SearchScrollRequest(cursor.getScrollId());
+                scrollRequest.scroll(request.scroll());
+                SearchResponse searchResponse = this.guarded(() -> this.client
+                    .scroll(scrollRequest, RequestOptions.DEFAULT));
+                this.scrolls.opened(cursor, searchResponse);
+                cursor.nextPage();
+            }
+            keep = session != null && !cursor.isExhausted();
+        } finally {
+            if (keep) {
+                this.scrolls.keep(session, cursor,
+                    request.scroll().keepAlive().millis());
+            } else {
+                // clear scroll session
+                this.scrolls.clearQuietly(cursor.getScrollIds());
+            }
+        }
+
+        return cursor.getHits();
+    }
+
+    /**
+     * Clear the live cursor of the scroll session.
+     *
+     * @param session The scroll session.
+     * @throws IOException If something goes wrong.
+     */
+    void closeScrollSession(final String session) throws IOException {
+        this.scrolls.closeSession(session);
+    }
+
+    /**
+     * Clear every open scroll context.
+     *
+     * @throws IOException If something goes wrong.
+     */
+    void close() throws IOException {
+        this.scrolls.close();
+    }
+
+    /**
+     * Execute the call under the search guard.
+     *
+     * @param call The call.
+     * @param <T> Response type.
+     * @return Call response.
+     * @throws IOException If something goes wrong.
+     */
+    private <T> T guarded(final RequestGuard.RequestCall<T> call)
+        throws IOException {
+        RequestGuard guard = this.searchGuard;
+        T response;
+        if (guard == null) {
+            response = call.call();
+        } else {
+            response = guard.call(call);
+        }
+        return response;
+    }
+
+    /**
+     * Hedged search. The hedge takes its own slot of the search guard,
+     * and is not sent when the guard has none left.
+     *
+     * @param request The search request.
+     * @param setting The hedge setting.
+     * @return The first search response.
+     * @throws IOException If something goes wrong.
+     */
+    private SearchResponse hedgedSearch(final SearchRequest request,
+        final HedgeSetting setting) throws IOException {
+
+        CompletableFuture<SearchResponse> winner = new CompletableFuture<>();
+        AtomicInteger pending = new AtomicInteger(1);
+        this.client.searchAsync(request, RequestOptions.DEFAULT,
+            this.listener(winner, pending));
+
+        long delay = hedgeDelay(this.latency, setting);
+        SearchResponse response;
+        try {
+            try {
+                response = winner.get(delay, TimeUnit.MILLISECONDS);
+            } catch (final TimeoutException ex) {
+                RequestGuard guard = this.searchGuard;
+                if (isHedgeable(request) && this.acquireHedge(setting)
+                    && (guard == null || guard.tryAcquire())) {
+                    pending.incrementAndGet();
+                    this.client.searchAsync(hedge(request),
+                        RequestOptions.DEFAULT,
+                        releasing(guard, this.listener(winner, pending)));
+                }
+                response = winner.get();
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException(ex);
+        } catch (final ExecutionException ex) {
+            if (ex.getCause() instanceof IOException) {
+                throw (IOException) ex.getCause();
+            }
+            if (ex.getCause() instanceof ElasticsearchException) {
+                throw (ElasticsearchException) ex.getCause();
+            }
+            throw new IOException(ex.getCause());
+        }
+
+        return response;
+    }
+
+    /**
+     * Listener completing the winner with the first response, the scroll
+     * context of a losing response is cleared. The failure is reported
+     * only when no search is pending anymore.
+     *
+     * @param winner The winner future.
+     * @param pending The pending search count.
+     * @return Action listener.
+     */
+    private ActionListener<SearchResponse> listener(
+        final CompletableFuture<SearchResponse> winner,
+        final AtomicInteger pending) {
+
+        return ActionListener.wrap(
+            response -> {
+                pending.decrementAndGet();
+                if (!winner.complete(response)
+                    && response.getScrollId() != null) {
+                    ClearScrollRequest clear = new ClearScrollRequest();
+                    clear.addScrollId(response.getScrollId());
+                    this.client.clearScrollAsync(clear,
+                        RequestOptions.DEFAULT, ActionListener.wrap(() -> { }));
+                }
+            },
+            failure -> {
+                if (pending.decrementAndGet() == 0) {
+                    winner.completeExceptionally(failure);
+                }
+            }
+        );
+    }
+
+    /**
+     * Delay before the hedge, the latency percentile but at least the
+     * min delay. Nothing is hedged before a latency is recorded.
+     *
+     * @param latency Search latency window.
+     * @param setting The hedge setting.
+     * @return Delay in milliseconds.
+     */
+    static long hedgeDelay(final LatencyTracker latency,
+        final HedgeSetting setting) {
+        return Math.max(setting.getMinDelayMillis(),
+            latency.percentile(setting.getPercentile(), Long.MAX_VALUE));
+    }
+
+    /**
+     * Whether the request may be hedged. A built in preference, such as
+     * _local or _shards, restricts the copies or shards and is kept.
+     *
+     * @param request The search request.
+     * @return True if the preference is null or custom.
+     */
+    static boolean isHedgeable(final SearchRequest request) {
+        return request.preference() == null
+            || !request.preference().startsWith("_");
+    }
+
+    /**
+     * Listener finishing the guard slot of the hedge first.
+     *
+     * @param guard The search guard, null means unlimited.
+     * @param listener The hedge listener.
+     * @return Action listener.
+     */
+    private static ActionListener<SearchResponse> releasing(
+        final RequestGuard guard,
+        final ActionListener<SearchResponse> listener) {
+        if (guard == null) {
+            return listener;
+        }
+        long start = System.nanoTime();
+        return ActionListener.wrap(
+            response -> {
+                guard.finish(TimeUnit.NANOSECONDS.toMillis(
+                    System.nanoTime() - start), null);
+                listener.onResponse(response);
+            },
+            failure -> {
+                guard.finish(TimeUnit.NANOSECONDS.toMillis(
+                    System.nanoTime() - start), failure);
+                listener.onFailure(failure);
+            }
+        );
+    }
+
+    /**
+     * Copy the request with a random custom preference. A custom
+     * preference is hashed to a shard copy, so the hedge only lands on
+     * another copy than the original by chance, about half the time
+     * with one replica.
+     *
+     * @param request The search request.
+     * @return Hedged search request.
+     */
+    static SearchRequest hedge(final SearchRequest request) {
+        SearchRequest hedge =
+            new SearchRequest(request.indices(), request.source());
+        hedge.types(request.types());
+        hedge.routing(request.routing());
+        hedge.scroll(request.scroll());
+        hedge.searchType(request.searchType());
+        hedge.indicesOptions(request.indicesOptions());
+        hedge.requestCache(request.requestCache());
+        // A custom preference must not start with '_'.
+        hedge.preference("hedge" + Long.toHexString(
+            ThreadLocalRandom.current().nextLong()
+        ));
+
+        return hedge;
+    }
+
+    /**
+     * Take one hedge from the budget of the current second.
+     *
+     * @param setting The hedge setting.
+     * @return True if a hedge may be sent.
+     */
+    private boolean acquireHedge(final HedgeSetting setting) {
+        long second = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime());
+        long current = this.hedgeSecond.get();
+        if (current != second
+            && this.hedgeSecond.compareAndSet(current, second)) {
+            this.hedgeCount.set(0);
+        }
+        return this.hedgeCount.incrementAndGet()
+            <= setting.getMaxHedgesPerSecond();
+    }
+}
@@ -0,0 +1,281 @@
+package com.lczyfz.elasticsearch.client;
+
+import com.lczyfz.elasticsearch.entity.ProfileSetting;
+import com.lczyfz.elasticsearch.entity.SearchResult;
+import com.lczyfz.elasticsearch.entity.SlowLogEntry;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.common.Strings;
+import org.elasticsearch.common.xcontent.ToXContent;
+import org.elasticsearch.common.xcontent.XContentBuilder;
+import org.elasticsearch.common.xcontent.XContentFactory;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.profile.ProfileShardResult;
+import org.elasticsearch.search.profile.SearchProfileShardResults;
+
+/**
+ * Profile searches into the slow log. A sampled search carries the
+ * profile flag, a slow search that was not sampled is sent again with
+ * the flag in the background, within the budget of the setting.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+final class SearchProfiler {
+
+    /**
+     * Search executor of the searches profiled again.
+     */
+    private final SearchExecutor executor;
+
+    /**
+     * Profile setting.
+     */
+    private final ProfileSetting setting;
+
+    /**
+     * Slow log sink.
+     */
+    private final SlowLogSink sink;
+
+    /**
+     * The second of the profile budget.
+     */
+    private final AtomicLong profileSecond = new AtomicLong();
+
+    /**
+     * Searches profiled again in the current second.
+     */
+    private final AtomicInteger profileCount = new AtomicInteger();
+
+    /**
+     * Search profiler constructor.
+     *
+     * @param executor Search executor.
+     * @param setting Profile setting.
+     * @param sink Slow log sink.
+     */
+    SearchProfiler(final SearchExecutor executor,
+        final ProfileSetting setting, final SlowLogSink sink) {
+        this.executor = executor;
+        this.setting = setting;
+        this.sink = sink;
+    }
+
+    /**
+     * Start tracing a search.
+     *
+     * @param profiler The profiler, null means tracing is off.
+     * @return Trace.
+     */
+    static Trace start(final SearchProfiler profiler) {
+        return new Trace(profiler);
+    }
+
+    /**
+     * Profile result JSON of the response.
+     *
+     * @param response The search response.
+     * @return Profile JSON, null if not profiled.
+     * @throws IOException If something goes wrong.
+     */
+    static String profile(final SearchResponse response) throws IOException {
+        Map<String, ProfileShardResult> results =
+            response.getProfileResults();
+        if (results == null || results.isEmpty()) {
+            return null;
+        }
+        XContentBuilder builder = XContentFactory.jsonBuilder().startObject();
+        new SearchProfileShardResults(results)
+            .toXContent(builder, ToXContent.EMPTY_PARAMS);
+        return Strings.toString(builder.endObject());
+    }
+
+    /**
+     * Send the entry, profiling the slow search again within budget.
+     *
+     * @param entry The slow log entry.
+     * @param request The search request.
+     * @param source The search source.
+     */
+    private void log(final SlowLogEntry entry, final SearchRequest request,
+        final SearchSourceBuilder source) {
+        if (entry.getProfile() != null || !entry.isSlow()
+            || !this.acquireProfile()) {
+            this.emit(entry);
+            return;
+        }
+
+        SearchRequest again = new SearchRequest(request.indices(),
+            source.copyWithNewSlice(source.slice()).profile(true));
+        again.types(request.types());
+        again.routing(request.routing());
+        again.preference(request.preference());
+        again.indicesOptions(request.indicesOptions());
+        this.executor.searchAsync(again, ActionListener.wrap(
+            response -> {
+                entry.setProfile(profile(response));
+                this.emit(entry);
+            },
+            failure -> this.emit(entry)
+        ));
+    }
+
+    /**
+     * Send the entry to the sink, the slow log never fails a search.
+     *
+     * @param entry The slow log entry.
+     */
+    private void emit(final SlowLogEntry entry) {
+        try {
+            this.sink.accept(entry);
+        } catch (final RuntimeException ex) {
+            // dropped
+        }
+    }
+
+    /**
+     * Take one profile from the budget of the current second.
+     *
+     * @return True if the search may be profiled again.
+     */
+    private boolean acquireProfile() {
+        long second = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime());
+        long current = this.profileSecond.get();
+        if (current != second
+            && this.profileSecond.compareAndSet(current, second)) {
+            this.profileCount.set(0);
+        }
+        return this.profileCount.incrementAndGet()
+            <= this.setting.getMaxProfilesPerSecond();
+    }
+
+    /**
+     * Phase timings of one search.
+     */
+    static final class Trace {
+
+        /**
+         * The profiler, null means tracing is off.
+         */
+        private final SearchProfiler profiler;
+
+        /**
+         * The start time in nanoseconds.
+         */
+        private final long start = System.nanoTime();
+
+        /**
+         * The end of the current phase in nanoseconds.
+         */
+        private long mark = this.start;
+
+        /**
+         * The searched source.
+         */
+        private SearchSourceBuilder source;
+
+        /**
+         * The slow log entry.
+         */
+        private final SlowLogEntry entry = new SlowLogEntry();
+
+        /**
+         * Trace constructor.
+         *
+         * @param profiler The profiler, null means tracing is off.
+         */
+        Trace(final SearchProfiler profiler) {
+            this.profiler = profiler;
+        }
+
+        /**
+         * The source is built, a sampled search is profiled.
+         *
+         * @param built The search source.
+         */
+        void built(final SearchSourceBuilder built) {
+            if (this.profiler == null) {
+                return;
+            }
+            this.entry.setBuildMillis(this.phase());
+            this.source = built;
+            if (ThreadLocalRandom.current().nextDouble()
+                < this.profiler.setting.getSampleRate()) {
+                this.entry.setSampled(true);
+                built.profile(true);
+            }
+        }
+
+        /**
+         * The first response arrived.
+         *
+         * @param response The first search response.
+         * @throws IOException If something goes wrong.
+         */
+        void responded(final SearchResponse response) throws IOException {
+            if (this.profiler == null) {
+                return;
+            }
+            this.entry.setTookMillis(response.getTook().millis());
+            this.entry.setProfile(profile(response));
+        }
+
+        /**
+         * Every response is parsed.
+         */
+        void waited() {
+            if (this.profiler == null) {
+                return;
+            }
+            this.entry.setWaitMillis(this.phase());
+        }
+
+        /**
+         * The hits are converted, log a sampled or slow search.
+         *
+         * @param request The search request.
+         * @param pageNo The page number.
+         * @param result The search result.
+         */
+        void finish(final SearchRequest request, final int pageNo,
+            final SearchResult result) {
+            if (this.profiler == null) {
+                return;
+            }
+            this.entry.setDecodeMillis(this.phase());
+            this.entry.setTotalMillis(TimeUnit.NANOSECONDS.toMillis(
+                this.mark - this.start
+            ));
+            this.entry.setSlow(this.entry.getTotalMillis()
+                >= this.profiler.setting.getSlowMillis());
+            if (!this.entry.isSampled() && !this.entry.isSlow()) {
+                return;
+            }
+            this.entry.setIndices(request.indices());
+            this.entry.setQuery(Strings.toString(this.source));
+            this.entry.setPageNo(pageNo);
+            this.entry.setTotal(result.getTotal());
+            this.profiler.log(this.entry, request, this.source);
+        }
+
+        /**
+         * End the current phase.
+         *
+         * @return Phase time in milliseconds.
+         */
+        private long phase() {
+            long now = System.nanoTime();
+            long millis = TimeUnit.NANOSECONDS.toMillis(now - this.mark);
+            this.mark = now;
+            return millis;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.lczyfz.elasticsearch.client;
+
+import com.alibaba.fastjson.JSONObject;
+import com.lczyfz.elasticsearch.entity.HighlightSetting;
+import com.lczyfz.elasticsearch.entity.SearchResult;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.elasticsearch.common.text.Text;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.SearchHits;
+import org.elasticsearch.search.fetch.subphase.highlight.HighlightField;
+
+/**
+ * Convert search hits to the search result and the search result to the
+ * single index JSON result.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+final class SearchResults {
+
+    /**
+     * Hide constructor.
+     */
+    private SearchResults() {
+    }
+
+    /**
+     * Extra search hits data.
+     *
+     * @param searchHits Search result.
+     * @return Extra result.
+     */
+    static JSONObject hits(final SearchHits searchHits) {
+        return json(result(searchHits, null));
+    }
+
+    /**
+     * Extra search hits data with the highlight fragments.
+     *
+     * @param searchHits Search result.
+     * @param setting Highlight setting, null means no highlight.
+     * @return Extra result.
+     */
+    static JSONObject hits(final SearchHits searchHits,
+        final HighlightSetting setting) {
+        return json(result(searchHits, setting));
+    }
+
+    /**
+     * Immutable search result of the hits, the lists are sized to the
+     * page.
+     *
+     * @param searchHits Search result.
+     * @param setting Highlight setting, null means no highlight.
+     * @return Search result.
+     */
+    static SearchResult result(final SearchHits searchHits,
+        final HighlightSetting setting) {
+        SearchHit[] hits = searchHits.getHits();
+        List<Map<String, Object>> data = new ArrayList<>(hits.length);
+        for (final SearchHit hit : hits) {
+            data.add(hit.getSourceAsMap());
+        }
+        List<Map<String, List<String>>> highlights = null;
+        if (setting != null) {
+            List<Map<String, List<String>>> fragments =
+                new ArrayList<>(hits.length);
+            for (final SearchHit hit : hits) {
+                fragments.add(fragments(hit));
+            }
+            highlights = Collections.unmodifiableList(fragments);
+        }
+        return new SearchResult(searchHits.getTotalHits(),
+            Collections.unmodifiableList(data), highlights);
+    }
+
+    /**
+     * Index of every hit.
+     *
+     * @param searchHits Search result.
+     * @return Index names.
+     */
+    static List<String> indices(final SearchHits searchHits) {
+        SearchHit[] hits = searchHits.getHits();
+        String[] indices = new String[hits.length];
+        for (int i = 0; i < hits.length; i++) {
+            indices[i] = hits[i].getIndex();
+        }
+        return Collections.unmodifiableList(Arrays.asList(indices));
+    }
+
+    /**
+     * The single index JSON result, keys of absent parts are left out. The
+     * lists are copied so the caller may change them.
+     *
+     * @param result Search result.
+     * @return JSON result.
+     */
+    static JSONObject json(final SearchResult result) {
+        JSONObject json = new JSONObject(new HashMap<>(8));
+        json.put(EasyRestHighLevelClient.SINGLE_INDEX_TOTAL,
+            result.getTotal());
+        json.put(EasyRestHighLevelClient.SINGLE_INDEX_DATA,
+            new ArrayList<>(result.getData()));
+        if (result.getTotalRelation() != null) {
+            json.put(EasyRestHighLevelClient.SINGLE_INDEX_TOTAL_RELATION,
+                result.getTotalRelation());
+        }
+        if (result.getHighlights() != null) {
+            json.put(EasyRestHighLevelClient.SINGLE_INDEX_HIGHLIGHT,
+                new ArrayList<>(result.getHighlights()));
+        }
+        if (result.getAggregations() != null) {
+            json.put(EasyRestHighLevelClient.AGGREGATIONS,
+                result.getAggregations());
+        }
+        if (result.getHitIndices() != null) {
+            json.put(EasyRestHighLevelClient.HIT_INDEX,
+                new ArrayList<>(result.getHitIndices()));
+        }
+        if (result.getIndexTotals() != null) {
+            json.put(EasyRestHighLevelClient.INDEX_TOTALS,
+                result.getIndexTotals());
+        }
+
+        return json;
+    }
+
+    /**
+     * Highlight fragments of a hit.
+     *
+     * @param searchHit The hit.
+     * @return Fragments key as field name.
+     */
+    private static Map<String, List<String>> fragments(
+        final SearchHit searchHit) {
+        Map<String, HighlightField> fields = searchHit.getHighlightFields();
+        Map<String, List<String>> fragments = new HashMap<>(fields.size());
+        for (final HighlightField field : fields.values()) {
+            List<String> texts = new ArrayList<>(field.fragments().length);
+            for (final Text text : field.fragments()) {
+                texts.add(text.string());
+            }
+            fragments.put(field.getName(), texts);
+        }
+
+        return fragments;
+    }
+}
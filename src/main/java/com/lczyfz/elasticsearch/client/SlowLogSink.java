@@ -0,0 +1,22 @@
+package com.lczyfz.elasticsearch.client;
+
+import com.lczyfz.elasticsearch.entity.SlowLogEntry;
+
+/**
+ * Receive the entries of profiled and slow searches, such as writing them
+ * to a log or a log index. Called on the search thread or, for a search
+ * profiled again, on a client thread.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+@FunctionalInterface
+public interface SlowLogSink {
+
+    /**
+     * Receive a slow log entry.
+     *
+     * @param entry The slow log entry.
+     */
+    void accept(SlowLogEntry entry);
+}
@@ -0,0 +1,208 @@
+package com.lczyfz.elasticsearch.client;
+
+import com.lczyfz.elasticsearch.entity.AdvancedSearchCondition;
+import com.lczyfz.elasticsearch.entity.SortField;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.elasticsearch.common.Strings;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.sort.FieldSortBuilder;
+import org.elasticsearch.search.sort.SortBuilder;
+import org.elasticsearch.search.sort.SortBuilders;
+import org.elasticsearch.search.sort.SortOrder;
+
+/**
+ * Create sorts of the search condition.
+ *
+ * <p>Sorts on text fields are redirected to the keyword sub field, text
+ * would need fielddata on the heap. A tiebreaker is added last so
+ * documents with equal sort values keep their order between pages: the
+ * tiebreaker field of the condition, or else {@code _doc}. The index
+ * order differs between the copies of a shard, so a {@code _doc}
+ * tiebreaker needs a stable preference, see {@link #preference}. The
+ * {@code _id} field is not used, it has no doc values and sorting on it
+ * loads fielddata on the heap.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+final class SortFactory {
+
+    /**
+     * Score sort field.
+     */
+    private static final String SCORE = "_score";
+
+    /**
+     * Index order sort field.
+     */
+    private static final String DOC = "_doc";
+
+    /**
+     * Id sort field.
+     */
+    private static final String ID = "_id";
+
+    /**
+     * Text field type.
+     */
+    private static final String TEXT = "text";
+
+    /**
+     * Keyword field type.
+     */
+    private static final String KEYWORD = "keyword";
+
+    /**
+     * Hide constructor.
+     */
+    private SortFactory() {
+    }
+
+    /**
+     * Sort fields of the condition, the sort field first.
+     *
+     * @param condition The user selected condition.
+     * @return Sort fields.
+     */
+    static List<SortField> sortFields(
+        final AdvancedSearchCondition condition) {
+        List<SortField> fields = new ArrayList<>();
+        if (condition.getSortField() != null) {
+            fields.add(condition.getSortField());
+        }
+        if (condition.getSortFields() != null) {
+            fields.addAll(condition.getSortFields());
+        }
+        return fields;
+    }
+
+    /**
+     * Whether any sort needs the mapped field types.
+     *
+     * @param fields Sort fields.
+     * @param tiebreaker The tiebreaker field, null means index order.
+     * @return True if a sort is on a mapped field.
+     */
+    static boolean needsFieldTypes(final List<SortField> fields,
+        final String tiebreaker) {
+        boolean needs = tiebreaker != null && !fields.isEmpty();
+        for (final SortField field : fields) {
+            needs |= !isMetaField(field.getFieldName());
+        }
+        return needs;
+    }
+
+    /**
+     * Create sorts, with a tiebreaker unless the last sort is unique.
+     *
+     * @param fields Sort fields.
+     * @param fieldTypes Elasticsearch field types key as field name.
+     * @param tiebreaker The tiebreaker field, null means index order.
+     * @return Sorts, empty to sort by score.
+     */
+    static List<SortBuilder<?>> create(final List<SortField> fields,
+        final Map<String, String> fieldTypes, final String tiebreaker) {
+        List<SortBuilder<?>> sorts = new ArrayList<>(fields.size() + 1);
+        String last = null;
+        for (final SortField field : fields) {
+            sorts.add(create(field, fieldTypes));
+            last = field.getFieldName();
+        }
+        if (last == null || ID.equals(last) || last.equals(tiebreaker)
+            || tiebreaker == null && DOC.equals(last)) {
+            return sorts;
+        }
+        if (tiebreaker == null) {
+            sorts.add(SortBuilders.fieldSort(DOC));
+        } else {
+            SortField field = new SortField();
+            field.setFieldName(tiebreaker);
+            sorts.add(create(field, fieldTypes));
+        }
+        return sorts;
+    }
+
+    /**
+     * Stable preference of a source breaking ties by index order, the
+     * same query is served by the same shard copies on every page.
+     *
+     * @param source The search source.
+     * @return Custom preference, null if ties are not broken by index
+     *  order.
+     */
+    static String preference(final SearchSourceBuilder source) {
+        List<SortBuilder<?>> sorts = source.sorts();
+        if (sorts == null || sorts.isEmpty()) {
+            return null;
+        }
+        SortBuilder<?> last = sorts.get(sorts.size() - 1);
+        if (!(last instanceof FieldSortBuilder)
+            || !DOC.equals(((FieldSortBuilder) last).getFieldName())) {
+            return null;
+        }
+        // A custom preference must not start with '_'.
+        return "sort" + Integer.toHexString(
+            Strings.toString(source.query()).hashCode()
+        );
+    }
+
+    /**
+     * Create a sort.
+     *
+     * @param field Sort field.
+     * @param fieldTypes Elasticsearch field types key as field name.
+     * @return Sort.
+     */
+    private static SortBuilder<?> create(final SortField field,
+        final Map<String, String> fieldTypes) {
+        String name = field.getFieldName();
+        if (name == null) {
+            throw new IllegalArgumentException("Sort field name is required");
+        }
+        SortOrder order = field.getSortType() == null
+            ? SortOrder.ASC : SortOrder.fromString(field.getSortType());
+        if (SCORE.equals(name)) {
+            return SortBuilders.scoreSort().order(order);
+        }
+        if (isMetaField(name)) {
+            return SortBuilders.fieldSort(name).order(order);
+        }
+
+        String type = fieldTypes.get(name);
+        if (TEXT.equals(type)) {
+            String keyword = name + '.' + DataTypeMapping.KEYWORD_FIELD;
+            if (!KEYWORD.equals(fieldTypes.get(keyword))) {
+                throw new IllegalArgumentException(
+                    "Text field without keyword can not be sorted: " + name
+                );
+            }
+            name = keyword;
+            type = KEYWORD;
+        }
+
+        FieldSortBuilder sort = SortBuilders.fieldSort(name).order(order);
+        if (field.getMissing() != null) {
+            sort.missing(field.getMissing());
+        }
+        String unmappedType = field.getUnmappedType();
+        if (unmappedType == null) {
+            unmappedType = type;
+        }
+        if (unmappedType != null) {
+            sort.unmappedType(unmappedType);
+        }
+        return sort;
+    }
+
+    /**
+     * Whether the field is a meta field.
+     *
+     * @param name Field name.
+     * @return True for _score, _doc and _id.
+     */
+    private static boolean isMetaField(final String name) {
+        return SCORE.equals(name) || DOC.equals(name) || ID.equals(name);
+    }
+}
@@ -0,0 +1,433 @@
+package com.lczyfz.elasticsearch.client;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+/**
+ * Append only log of memory mapped segment files with a crash safe read
+ * checkpoint.
+ *
+ * <p>A record is a length, a CRC32 and the payload. The length is written
+ * last, so a torn record reads as the end of the segment. The checkpoint
+ * file is replaced atomically after a record is committed, segments fully
+ * read are deleted.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+final class SpoolLog {
+
+    /**
+     * Record header bytes, length and CRC32.
+     */
+    static final int HEADER_BYTES = 8;
+
+    /**
+     * Segment file suffix.
+     */
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    /**
+     * Checkpoint file name.
+     */
+    private static final String CHECKPOINT = "checkpoint";
+
+    /**
+     * The spool directory.
+     */
+    private final Path directory;
+
+    /**
+     * The segment file size in bytes.
+     */
+    private final int segmentBytes;
+
+    /**
+     * The max segment files.
+     */
+    private final int maxSegments;
+
+    /**
+     * Open segments key as segment id.
+     */
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+
+    /**
+     * The segment id of the read checkpoint.
+     */
+    private long readSegment;
+
+    /**
+     * The offset of the read checkpoint.
+     */
+    private int readOffset;
+
+    /**
+     * Spool log constructor, recovers the segments and the checkpoint.
+     *
+     * @param directory The spool directory.
+     * @param segmentBytes The segment file size in bytes.
+     * @param maxSegments The max segment files.
+     * @throws IOException If something goes wrong.
+     */
+    SpoolLog(final Path directory, final int segmentBytes,
+        final int maxSegments) throws IOException {
+        if (segmentBytes <= HEADER_BYTES || maxSegments < 1) {
+            throw new IllegalArgumentException(
+                "Invalid spool size: " + segmentBytes + " x " + maxSegments
+            );
+        }
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.maxSegments = maxSegments;
+        Files.createDirectories(directory);
+        this.recover();
+    }
+
+    /**
+     * Append a record.
+     *
+     * @param payload The payload.
+     * @throws IOException If the spool is full or something goes wrong.
+     */
+    synchronized void append(final byte[] payload) throws IOException {
+        int size = HEADER_BYTES + payload.length;
+        if (size > this.segmentBytes) {
+            throw new IllegalArgumentException(
+                "Record larger than a segment: " + payload.length
+            );
+        }
+        Segment segment = this.segments.isEmpty()
+            ? null : this.segments.lastEntry().getValue();
+        if (segment == null || segment.writeOffset + size > this.segmentBytes) {
+            if (this.segments.size() >= this.maxSegments) {
+                throw new IOException("Spool is full: " + this.directory);
+            }
+            long id = segment == null ? this.readSegment : segment.id + 1;
+            segment = this.open(id);
+            this.segments.put(id, segment);
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(payload, 0, payload.length);
+        int offset = segment.writeOffset;
+        MappedByteBuffer buffer = segment.buffer;
+        buffer.position(offset + HEADER_BYTES);
+        buffer.put(payload);
+        buffer.putInt(offset + Integer.BYTES, (int) crc.getValue());
+        buffer.putInt(offset, payload.length);
+        buffer.force();
+        segment.writeOffset = offset + size;
+    }
+
+    /**
+     * The record at the read checkpoint, sealed segments read to the end
+     * are deleted.
+     *
+     * @return Record, null if the log is empty.
+     * @throws IOException If something goes wrong.
+     */
+    synchronized Record peek() throws IOException {
+        Record record = null;
+        while (record == null) {
+            Segment segment = this.segments.get(this.readSegment);
+            if (segment != null && this.readOffset < segment.writeOffset) {
+                record = this.read(segment, this.readOffset);
+            } else {
+                Long next = this.segments.higherKey(this.readSegment);
+                if (next == null) {
+                    break;
+                }
+                this.readSegment = next;
+                this.readOffset = 0;
+                this.checkpoint();
+                if (segment != null) {
+                    this.delete(segment);
+                }
+            }
+        }
+        return record;
+    }
+
+    /**
+     * Move the read checkpoint after the record.
+     *
+     * @param record The record returned by {@link #peek()}.
+     * @throws IOException If something goes wrong.
+     */
+    synchronized void commit(final Record record) throws IOException {
+        if (record.segment != this.readSegment
+            || record.offset != this.readOffset) {
+            throw new IllegalStateException("Record is not at checkpoint");
+        }
+        this.readOffset = record.nextOffset;
+        this.checkpoint();
+    }
+
+    /**
+     * Whether every record was committed.
+     *
+     * @return True if empty.
+     */
+    synchronized boolean isEmpty() {
+        boolean empty = true;
+        for (final Segment segment : this.segments.values()) {
+            int start = segment.id == this.readSegment ? this.readOffset : 0;
+            if (segment.id >= this.readSegment
+                && start < segment.writeOffset) {
+                empty = false;
+            }
+        }
+        return empty;
+    }
+
+    /**
+     * Close the segment files.
+     *
+     * @throws IOException If something goes wrong.
+     */
+    synchronized void close() throws IOException {
+        for (final Segment segment : this.segments.values()) {
+            segment.buffer.force();
+            segment.channel.close();
+        }
+        this.segments.clear();
+    }
+
+    /**
+     * Recover the checkpoint and the write offsets of the segments.
+     *
+     * @throws IOException If something goes wrong.
+     */
+    private void recover() throws IOException {
+        Path checkpoint = this.directory.resolve(CHECKPOINT);
+        if (Files.exists(checkpoint)) {
+            String[] parts = new String(Files.readAllBytes(checkpoint),
+                StandardCharsets.US_ASCII).trim().split(" ");
+            this.readSegment = Long.parseLong(parts[0]);
+            this.readOffset = Integer.parseInt(parts[1]);
+        }
+
+        try (DirectoryStream<Path> files =
+            Files.newDirectoryStream(this.directory, "*" + SEGMENT_SUFFIX)) {
+            for (final Path file : files) {
+                String name = file.getFileName().toString();
+                long id = Long.parseLong(
+                    name.substring(0, name.length() - SEGMENT_SUFFIX.length())
+                );
+                if (id < this.readSegment) {
+                    Files.delete(file);
+                } else {
+                    Segment segment = this.open(id);
+                    segment.writeOffset = this.scan(segment);
+                    this.segments.put(id, segment);
+                }
+            }
+        }
+        if (this.readSegment == 0 && !this.segments.isEmpty()) {
+            this.readSegment = this.segments.firstKey();
+        }
+    }
+
+    /**
+     * Find the end of the valid records of a segment.
+     *
+     * @param segment The segment.
+     * @return Write offset.
+     */
+    private int scan(final Segment segment) {
+        int offset = 0;
+        Record record = this.read(segment, offset);
+        while (record != null) {
+            offset = record.nextOffset;
+            record = this.read(segment, offset);
+        }
+        return offset;
+    }
+
+    /**
+     * Read a record.
+     *
+     * @param segment The segment.
+     * @param offset The record offset.
+     * @return Record, null if there is no valid record.
+     */
+    private Record read(final Segment segment, final int offset) {
+        MappedByteBuffer buffer = segment.buffer;
+        Record record = null;
+        if (offset + HEADER_BYTES <= this.segmentBytes) {
+            int length = buffer.getInt(offset);
+            if (length > 0
+                && offset + HEADER_BYTES + length <= this.segmentBytes) {
+                byte[] payload = new byte[length];
+                buffer.position(offset + HEADER_BYTES);
+                buffer.get(payload);
+                CRC32 crc = new CRC32();
+                crc.update(payload, 0, length);
+                if ((int) crc.getValue()
+                    == buffer.getInt(offset + Integer.BYTES)) {
+                    record = new Record(segment.id, offset,
+                        offset + HEADER_BYTES + length, payload);
+                }
+            }
+        }
+        return record;
+    }
+
+    /**
+     * Open or create a segment file.
+     *
+     * @param id The segment id.
+     * @return Segment.
+     * @throws IOException If something goes wrong.
+     */
+    private Segment open(final long id) throws IOException {
+        FileChannel channel = FileChannel.open(this.segmentFile(id),
+            StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(
+            FileChannel.MapMode.READ_WRITE, 0, this.segmentBytes
+        );
+        return new Segment(id, channel, buffer);
+    }
+
+    /**
+     * Delete a segment file.
+     *
+     * @param segment The segment.
+     * @throws IOException If something goes wrong.
+     */
+    private void delete(final Segment segment) throws IOException {
+        segment.channel.close();
+        this.segments.remove(segment.id);
+        Files.deleteIfExists(this.segmentFile(segment.id));
+    }
+
+    /**
+     * Replace the checkpoint file atomically.
+     *
+     * @throws IOException If something goes wrong.
+     */
+    private void checkpoint() throws IOException {
+        Path temp = this.directory.resolve(CHECKPOINT + ".tmp");
+        Files.write(temp, (this.readSegment + " " + this.readOffset)
+            .getBytes(StandardCharsets.US_ASCII),
+            StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.WRITE, StandardOpenOption.SYNC);
+        Files.move(temp, this.directory.resolve(CHECKPOINT),
+            StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Segment file path.
+     *
+     * @param id The segment id.
+     * @return Path.
+     */
+    private Path segmentFile(final long id) {
+        return this.directory.resolve(
+            String.format("%016d%s", id, SEGMENT_SUFFIX)
+        );
+    }
+
+    /**
+     * Spooled record.
+     */
+    static final class Record {
+
+        /**
+         * The segment id.
+         */
+        private final long segment;
+
+        /**
+         * The record offset.
+         */
+        private final int offset;
+
+        /**
+         * The offset after the record.
+         */
+        private final int nextOffset;
+
+        /**
+         * The payload.
+         */
+        private final byte[] payload;
+
+        /**
+         * Record constructor.
+         *
+         * @param segment The segment id.
+         * @param offset The record offset.
+         * @param nextOffset The offset after the record.
+         * @param payload The payload.
+         */
+        Record(final long segment, final int offset, final int nextOffset,
+            final byte[] payload) {
+            this.segment = segment;
+            this.offset = offset;
+            this.nextOffset = nextOffset;
+            this.payload = payload;
+        }
+
+        /**
+         * Gets payload.
+         *
+         * @return Value of payload.
+         */
+        byte[] getPayload() {
+            return this.payload;
+        }
+    }
+
+    /**
+     * Memory mapped segment file.
+     */
+    private static final class Segment {
+
+        /**
+         * The segment id.
+         */
+        private final long id;
+
+        /**
+         * The file channel.
+         */
+        private final FileChannel channel;
+
+        /**
+         * The mapped buffer.
+         */
+        private final MappedByteBuffer buffer;
+
+        /**
+         * The offset after the last record.
+         */
+        private int writeOffset;
+
+        /**
+         * Segment constructor.
+         *
+         * @param id The segment id.
+         * @param channel The file channel.
+         * @param buffer The mapped buffer.
+         */
+        Segment(final long id, final FileChannel channel,
+            final MappedByteBuffer buffer) {
+            this.id = id;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+    }
+}
@@ -0,0 +1,360 @@
+package com.lczyfz.elasticsearch.client;
+
+import com.lczyfz.elasticsearch.entity.DumpCondition;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import org.elasticsearch.ElasticsearchStatusException;
+import org.elasticsearch.action.admin.indices.create.CreateIndexRequest;
+import org.elasticsearch.action.admin.indices.delete.DeleteIndexRequest;
+import org.elasticsearch.action.admin.indices.get.GetIndexRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.support.IndicesOptions;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.suggest.Suggest;
+import org.elasticsearch.search.suggest.SuggestBuilder;
+import org.elasticsearch.search.suggest.completion.CompletionSuggestion;
+import org.elasticsearch.search.suggest.completion.CompletionSuggestionBuilder;
+
+/**
+ * Completion suggester side index of a table index, fed with the values
+ * of the suggest fields during dump.
+ *
+ * <p>Suggestions are best effort and only ever added: the values of
+ * updated or deleted rows stay suggested until the side index is
+ * deleted and fed again.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+final class SuggestIndex {
+
+    /**
+     * Side index name suffix.
+     */
+    static final String SUFFIX = "_suggest";
+
+    /**
+     * Completion field name.
+     */
+    static final String FIELD = "suggest";
+
+    /**
+     * Longer values are not suggested.
+     */
+    static final int MAX_INPUT_LENGTH = 100;
+
+    /**
+     * Suggestion name in the request.
+     */
+    private static final String SUGGESTION = "prefix";
+
+    /**
+     * Internal client.
+     */
+    private final RestHighLevelClient client;
+
+    /**
+     * Search executor.
+     */
+    private final SearchExecutor executor;
+
+    /**
+     * Failed suggestion actions.
+     */
+    private final AtomicLong failures = new AtomicLong();
+
+    /**
+     * Suggest index constructor.
+     *
+     * @param client Internal client.
+     * @param executor Search executor.
+     */
+    SuggestIndex(final RestHighLevelClient client,
+        final SearchExecutor executor) {
+        this.client = client;
+        this.executor = executor;
+    }
+
+    /**
+     * Index the suggest field values of the dumped rows in a bulk of
+     * their own. A failure never fails the dump, it is counted instead.
+     *
+     * @param indexName The table index name.
+     * @param dataList The dump data list.
+     * @param response The dump response.
+     * @param condition The dump condition.
+     * @return Failed suggestion actions.
+     */
+    int feed(final String indexName, final List<Map<String, String>> dataList,
+        final BulkResponse response, final DumpCondition condition) {
+        List<String> fields =
+            condition == null ? null : condition.getSuggestFields();
+        if (fields == null || fields.isEmpty()) {
+            return 0;
+        }
+        BulkRequest request = new BulkRequest();
+        for (final Map<String, String> data : dumped(dataList, response)) {
+            requests(indexName, data, fields).forEach(request::add);
+        }
+        if (request.numberOfActions() == 0) {
+            return 0;
+        }
+        int failed;
+        try {
+            this.ensure(indexName);
+            failed = failed(this.client.bulk(request, RequestOptions.DEFAULT));
+        } catch (final IOException | RuntimeException ex) {
+            // suggestions are best effort
+            failed = request.numberOfActions();
+        }
+        this.failures.addAndGet(failed);
+        return failed;
+    }
+
+    /**
+     * Suggestion actions failed since the side indices were created.
+     *
+     * @return Failure count.
+     */
+    long failures() {
+        return this.failures.get();
+    }
+
+    /**
+     * Create the side index of the table index if missing. Existence is
+     * checked on every call, a side index dropped by hand would otherwise
+     * be auto created by the bulk with a dynamic mapping.
+     *
+     * @param indexName The table index name.
+     * @throws IOException If something goes wrong.
+     */
+    void ensure(final String indexName) throws IOException {
+        if (!this.exists(indexName)) {
+            try {
+                this.client.indices().create(
+                    createRequest(indexName), RequestOptions.DEFAULT
+                );
+            } catch (final ElasticsearchStatusException ex) {
+                // created concurrently by another writer
+                if (!this.exists(indexName)) {
+                    throw ex;
+                }
+            }
+        }
+    }
+
+    /**
+     * Delete the side index of the table index if present.
+     *
+     * @param indexName The table index name.
+     * @throws IOException If something goes wrong.
+     */
+    void delete(final String indexName) throws IOException {
+        DeleteIndexRequest request = new DeleteIndexRequest(name(indexName));
+        request.indicesOptions(IndicesOptions.lenientExpandOpen());
+        this.client.indices().delete(request, RequestOptions.DEFAULT);
+    }
+
+    /**
+     * Suggest values starting with the prefix.
+     *
+     * @param prefix The prefix.
+     * @param indexList The table index names.
+     * @param limit Maximum suggestions.
+     * @return Suggested values in score order.
+     * @throws IOException If something goes wrong.
+     */
+    List<String> suggest(final String prefix, final List<String> indexList,
+        final int limit) throws IOException {
+        if (prefix == null || prefix.trim().isEmpty() || indexList.isEmpty()) {
+            return new ArrayList<>(0);
+        }
+        SearchResponse response = this.executor.search(
+            searchRequest(prefix.trim(), indexList, limit)
+        );
+        return extract(response, limit);
+    }
+
+    /**
+     * Whether the side index exists.
+     *
+     * @param indexName The table index name.
+     * @return True if exists.
+     * @throws IOException If something goes wrong.
+     */
+    private boolean exists(final String indexName) throws IOException {
+        GetIndexRequest request = new GetIndexRequest();
+        request.indices(name(indexName));
+        return this.client.indices().exists(request, RequestOptions.DEFAULT);
+    }
+
+    /**
+     * Side index name.
+     *
+     * @param indexName The table index name.
+     * @return Side index name.
+     */
+    static String name(final String indexName) {
+        return indexName.concat(SUFFIX);
+    }
+
+    /**
+     * Create request of the side index, a single shard keeps the whole
+     * suggester in one FST.
+     *
+     * @param indexName The table index name.
+     * @return Create index request.
+     */
+    static CreateIndexRequest createRequest(final String indexName) {
+        CreateIndexRequest request = new CreateIndexRequest(name(indexName));
+        request.settings(Settings.builder()
+            .put("index.number_of_shards", 1)
+            .put("index.number_of_replicas", 1)
+        );
+        Map<String, Object> completion = new HashMap<>(1);
+        completion.put("type", "completion");
+        request.mapping(EasyRestHighLevelClient.DEFAULT_TYPE,
+            Collections.singletonMap("properties",
+                Collections.singletonMap(FIELD, completion)));
+        return request;
+    }
+
+    /**
+     * The rows whose table write succeeded, one bulk item per row.
+     *
+     * @param dataList Data list.
+     * @param response The table bulk response.
+     * @return Dumped rows.
+     */
+    static List<Map<String, String>> dumped(
+        final List<Map<String, String>> dataList,
+        final BulkResponse response) {
+        List<Map<String, String>> rows = new ArrayList<>(dataList.size());
+        BulkItemResponse[] items = response.getItems();
+        for (int i = 0; i < dataList.size() && i < items.length; i++) {
+            if (!items[i].isFailed()) {
+                rows.add(dataList.get(i));
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Failed items of a suggestion bulk.
+     *
+     * @param response The suggestion bulk response.
+     * @return Failure count.
+     */
+    static int failed(final BulkResponse response) {
+        int failed = 0;
+        for (final BulkItemResponse item : response.getItems()) {
+            if (item.isFailed()) {
+                failed++;
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * Index requests of the suggest field values of a row, the document
+     * id is derived from the value so a value is stored once.
+     *
+     * @param indexName The table index name.
+     * @param data The row data.
+     * @param fields The suggest fields.
+     * @return Index requests.
+     */
+    static List<IndexRequest> requests(final String indexName,
+        final Map<String, String> data, final List<String> fields) {
+        List<IndexRequest> requests = new ArrayList<>(fields.size());
+        for (final String field : fields) {
+            String value = data.get(field);
+            if (value == null) {
+                continue;
+            }
+            value = value.trim();
+            if (value.isEmpty() || value.length() > MAX_INPUT_LENGTH) {
+                continue;
+            }
+            String docId = UUID.nameUUIDFromBytes(
+                value.getBytes(StandardCharsets.UTF_8)
+            ).toString();
+            requests.add(new IndexRequest(name(indexName),
+                EasyRestHighLevelClient.DEFAULT_TYPE, docId)
+                .source(Collections.singletonMap(FIELD, value)));
+        }
+        return requests;
+    }
+
+    /**
+     * Suggest request over the side indices, missing side indices are
+     * ignored.
+     *
+     * @param prefix The prefix.
+     * @param indexList The table index names.
+     * @param limit Maximum suggestions.
+     * @return Search request.
+     */
+    static SearchRequest searchRequest(final String prefix,
+        final List<String> indexList, final int limit) {
+        String[] indices = new String[indexList.size()];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = name(indexList.get(i));
+        }
+        CompletionSuggestionBuilder suggestion =
+            new CompletionSuggestionBuilder(FIELD)
+                .prefix(prefix)
+                .skipDuplicates(true)
+                .size(limit);
+        SearchSourceBuilder source = new SearchSourceBuilder()
+            .size(0)
+            .fetchSource(false)
+            .suggest(new SuggestBuilder().addSuggestion(
+                SUGGESTION, suggestion));
+        SearchRequest request = new SearchRequest(indices).source(source);
+        request.indicesOptions(IndicesOptions.lenientExpandOpen());
+        return request;
+    }
+
+    /**
+     * Extract suggested values in score order.
+     *
+     * @param response The search response.
+     * @param limit Maximum suggestions.
+     * @return Suggested values.
+     */
+    static List<String> extract(final SearchResponse response,
+        final int limit) {
+        Set<String> values = new LinkedHashSet<>();
+        Suggest suggest = response.getSuggest();
+        if (suggest != null) {
+            CompletionSuggestion suggestion = suggest.getSuggestion(SUGGESTION);
+            for (final CompletionSuggestion.Entry entry
+                : suggestion.getEntries()) {
+                for (final CompletionSuggestion.Entry.Option option : entry) {
+                    if (values.size() < limit) {
+                        values.add(option.getText().string());
+                    }
+                }
+            }
+        }
+        return new ArrayList<>(values);
+    }
+}
@@ -0,0 +1,48 @@
+package com.lczyfz.elasticsearch.constant;
+
+import java.io.Serializable;
+
+/**
+ * The aggregation method class.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+public final class AggregationMethod implements Serializable {
+
+    /**
+     * Hide constructor.
+     */
+    private AggregationMethod() {
+    }
+
+    /**
+     * Terms, bucket per distinct value.
+     */
+    public static final String TERMS = "terms";
+
+    /**
+     * Date histogram, bucket per date interval.
+     */
+    public static final String DATE_HISTOGRAM = "date_histogram";
+
+    /**
+     * Range, bucket per numeric range.
+     */
+    public static final String RANGE = "range";
+
+    /**
+     * Min.
+     */
+    public static final String MIN = "min";
+
+    /**
+     * Max.
+     */
+    public static final String MAX = "max";
+
+    /**
+     * Average.
+     */
+    public static final String AVG = "avg";
+}
@@ -0,0 +1,33 @@
+package com.lczyfz.elasticsearch.constant;
+
+import java.io.Serializable;
+
+/**
+ * The operator of a search group.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+public final class GroupOperator implements Serializable {
+
+    /**
+     * Hide constructor.
+     */
+    private GroupOperator() {
+    }
+
+    /**
+     * Every member matches.
+     */
+    public static final String AND = "AND";
+
+    /**
+     * At least one member matches.
+     */
+    public static final String OR = "OR";
+
+    /**
+     * No member matches.
+     */
+    public static final String NOT = "NOT";
+}
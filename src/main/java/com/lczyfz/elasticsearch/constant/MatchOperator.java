@@ -0,0 +1,94 @@
+package com.lczyfz.elasticsearch.constant;
+
+/**
+ * The match operator of a {@link MatchMethod}.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+public enum MatchOperator {
+
+    /**
+     * Equals.
+     */
+    EQUALS(MatchMethod.EQUALS),
+
+    /**
+     * Not equals.
+     */
+    NOT_EQUALS(MatchMethod.NOT_EQUALS),
+
+    /**
+     * Greater than.
+     */
+    GT(MatchMethod.GT),
+
+    /**
+     * Less than.
+     */
+    LT(MatchMethod.LT),
+
+    /**
+     * Greater than equals.
+     */
+    GTE(MatchMethod.GTE),
+
+    /**
+     * Less than equals.
+     */
+    LTE(MatchMethod.LTE),
+
+    /**
+     * Range, both bounds included.
+     */
+    RANGE(MatchMethod.RANGE),
+
+    /**
+     * Contains phrase.
+     */
+    CONTAINS(MatchMethod.CONTAINS),
+
+    /**
+     * Like, contains the value anywhere.
+     */
+    LIKE(MatchMethod.LIKE);
+
+    /**
+     * The match method.
+     */
+    private final String method;
+
+    /**
+     * Match operator constructor.
+     *
+     * @param method The match method.
+     */
+    MatchOperator(final String method) {
+        this.method = method;
+    }
+
+    /**
+     * Gets method.
+     *
+     * @return Value of method.
+     */
+    public String getMethod() {
+        return this.method;
+    }
+
+    /**
+     * Operator of a match method.
+     *
+     * @param method The match method.
+     * @return Match operator.
+     * @throws IllegalArgumentException If the method is unknown.
+     */
+    public static MatchOperator of(final String method) {
+        for (final MatchOperator operator : values()) {
+            if (operator.method.equals(method)) {
+                return operator;
+            }
+        }
+        throw new IllegalArgumentException("Unknown match method: " + method);
+    }
+}
@@ -15,7 +15,7 @@ public final class PhoenixDataTypes implements Serializable {
     /**
      * The numeric type set.
      */
-    private static final Set<String> NUMERIC_TYPE = new HashSet<>(12);
+    private static final Set<String> NUMERIC_TYPE = new HashSet<>(13);
 
     /**
      * The date type set.
@@ -44,6 +44,7 @@ public final class PhoenixDataTypes implements Serializable {
         NUMERIC_TYPE.add("UNSIGNED_INT");
         NUMERIC_TYPE.add("BIGINT");
         NUMERIC_TYPE.add("UNSIGNED_LONG");
+        NUMERIC_TYPE.add("TINYINT");
         NUMERIC_TYPE.add("UNSIGNED_TINYINT");
         NUMERIC_TYPE.add("SMALLINT");
         NUMERIC_TYPE.add("UNSIGNED_SMALLINT");
@@ -108,4 +109,19 @@ public final class PhoenixDataTypes implements Serializable {
     public static boolean validateString(final String fieldType) {
         return STRING_TYPE.contains(fieldType);
     }
+
+    /**
+     * Base type of a declared type, such as DECIMAL of DECIMAL(10,2).
+     *
+     * @param fieldType The declared field type.
+     * @return Upper case base type.
+     */
+    public static String baseType(final String fieldType) {
+        String baseType = fieldType.toUpperCase().trim();
+        int precision = baseType.indexOf('(');
+        if (precision > 0) {
+            baseType = baseType.substring(0, precision).trim();
+        }
+        return baseType;
+    }
 }
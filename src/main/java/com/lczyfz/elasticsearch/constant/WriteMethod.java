@@ -0,0 +1,38 @@
+package com.lczyfz.elasticsearch.constant;
+
+import java.io.Serializable;
+
+/**
+ * The write method of dump.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+public final class WriteMethod implements Serializable {
+
+    /**
+     * Hide constructor.
+     */
+    private WriteMethod() {
+    }
+
+    /**
+     * Index, replace the whole document when the id already exists.
+     */
+    public static final String INDEX = "index";
+
+    /**
+     * Create, fail the single document when the id already exists.
+     */
+    public static final String CREATE = "create";
+
+    /**
+     * Update, merge the fields into an existing document.
+     */
+    public static final String UPDATE = "update";
+
+    /**
+     * Upsert, merge the fields or create the document when it is missing.
+     */
+    public static final String UPSERT = "upsert";
+}
@@ -26,6 +26,73 @@ public final class AdvancedSearchCondition implements Serializable {
      */
     private SortField sortField;
 
+    /**
+     * The sort fields in priority order, after the sort field.
+     */
+    private List<SortField> sortFields;
+
+    /**
+     * Count total hits accurately up to this value, null means always
+     * accurate.
+     */
+    private Integer trackTotalHitsUpTo;
+
+    /**
+     * The aggregations, run in the same request as the hits.
+     */
+    private List<AggregationField> aggregations;
+
+    /**
+     * The search preference, a session id keeps the same shard copies
+     * and their caches warm.
+     */
+    private String preference;
+
+    /**
+     * The field breaking sort ties, a unique field with doc values such
+     * as a keyword copy of the primary key. Null breaks ties by the index
+     * order, then searches without a preference get a stable one derived
+     * from the query so the pages are served by the same shard copies.
+     */
+    private String tiebreakerField;
+
+    /**
+     * The scroll session, keeps the scroll cursor live so the next page
+     * continues it, null clears the scroll after every page.
+     */
+    private String scrollSession;
+
+    /**
+     * The highlight setting, null means no highlight.
+     */
+    private HighlightSetting highlight;
+
+    /**
+     * The nested search group, combined with the search method by AND.
+     */
+    private SearchGroup searchGroup;
+
+    /**
+     * Shallow copy, the lists and settings are shared.
+     *
+     * @return Condition copy.
+     */
+    public AdvancedSearchCondition copy() {
+        AdvancedSearchCondition copy = new AdvancedSearchCondition();
+        copy.indexName = this.indexName;
+        copy.searchMethod = this.searchMethod;
+        copy.sortField = this.sortField;
+        copy.sortFields = this.sortFields;
+        copy.trackTotalHitsUpTo = this.trackTotalHitsUpTo;
+        copy.aggregations = this.aggregations;
+        copy.preference = this.preference;
+        copy.tiebreakerField = this.tiebreakerField;
+        copy.scrollSession = this.scrollSession;
+        copy.highlight = this.highlight;
+        copy.searchGroup = this.searchGroup;
+        return copy;
+    }
+
     /**
      * Gets indexName.
      *
@@ -79,4 +146,148 @@ public final class AdvancedSearchCondition implements Serializable {
     public void setSortField(SortField sortField) {
         this.sortField = sortField;
     }
+
+    /**
+     * Gets trackTotalHitsUpTo.
+     *
+     * @return Value of trackTotalHitsUpTo.
+     */
+    public Integer getTrackTotalHitsUpTo() {
+        return this.trackTotalHitsUpTo;
+    }
+
+    /**
+     * Sets trackTotalHitsUpTo.
+     *
+     * @param trackTotalHitsUpTo Simple param.
+     */
+    public void setTrackTotalHitsUpTo(final Integer trackTotalHitsUpTo) {
+        this.trackTotalHitsUpTo = trackTotalHitsUpTo;
+    }
+
+    /**
+     * Gets aggregations.
+     *
+     * @return Value of aggregations.
+     */
+    public List<AggregationField> getAggregations() {
+        return this.aggregations;
+    }
+
+    /**
+     * Sets aggregations.
+     *
+     * @param aggregations Simple param.
+     */
+    public void setAggregations(final List<AggregationField> aggregations) {
+        this.aggregations = aggregations;
+    }
+
+    /**
+     * Gets preference.
+     *
+     * @return Value of preference.
+     */
+    public String getPreference() {
+        return this.preference;
+    }
+
+    /**
+     * Sets preference.
+     *
+     * @param preference Simple param.
+     */
+    public void setPreference(final String preference) {
+        this.preference = preference;
+    }
+
+    /**
+     * Gets tiebreakerField.
+     *
+     * @return Value of tiebreakerField.
+     */
+    public String getTiebreakerField() {
+        return this.tiebreakerField;
+    }
+
+    /**
+     * Sets tiebreakerField.
+     *
+     * @param tiebreakerField Simple param.
+     */
+    public void setTiebreakerField(final String tiebreakerField) {
+        this.tiebreakerField = tiebreakerField;
+    }
+
+    /**
+     * Gets scrollSession.
+     *
+     * @return Value of scrollSession.
+     */
+    public String getScrollSession() {
+        return this.scrollSession;
+    }
+
+    /**
+     * Sets scrollSession.
+     *
+     * @param scrollSession Simple param.
+     */
+    public void setScrollSession(final String scrollSession) {
+        this.scrollSession = scrollSession;
+    }
+
+    /**
+     * Gets highlight.
+     *
+     * @return Value of highlight.
+     */
+    public HighlightSetting getHighlight() {
+        return this.highlight;
+    }
+
+    /**
+     * Sets highlight.
+     *
+     * @param highlight Simple param.
+     */
+    public void setHighlight(final HighlightSetting highlight) {
+        this.highlight = highlight;
+    }
+
+    /**
+     * Gets searchGroup.
+     *
+     * @return Value of searchGroup.
+     */
+    public SearchGroup getSearchGroup() {
+        return this.searchGroup;
+    }
+
+    /**
+     * Sets searchGroup.
+     *
+     * @param searchGroup Simple param.
+     */
+    public void setSearchGroup(final SearchGroup searchGroup) {
+        this.searchGroup = searchGroup;
+    }
+
+    /**
+     * Gets sortFields.
+     *
+     * @return Value of sortFields.
+     */
+    public List<SortField> getSortFields() {
+        return this.sortFields;
+    }
+
+    /**
+     * Sets sortFields.
+     *
+     * @param sortFields Simple param.
+     */
+    public void setSortFields(final List<SortField> sortFields) {
+        this.sortFields = sortFields;
+    }
 }
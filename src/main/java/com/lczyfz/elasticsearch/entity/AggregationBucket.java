@@ -0,0 +1,51 @@
+package com.lczyfz.elasticsearch.entity;
+
+import java.io.Serializable;
+
+/**
+ * The aggregation bucket.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+public final class AggregationBucket implements Serializable {
+
+    /**
+     * The bucket key.
+     */
+    private final String key;
+
+    /**
+     * The document count.
+     */
+    private final long docCount;
+
+    /**
+     * Aggregation bucket constructor.
+     *
+     * @param key The bucket key.
+     * @param docCount The document count.
+     */
+    public AggregationBucket(final String key, final long docCount) {
+        this.key = key;
+        this.docCount = docCount;
+    }
+
+    /**
+     * Gets key.
+     *
+     * @return Value of key.
+     */
+    public String getKey() {
+        return this.key;
+    }
+
+    /**
+     * Gets docCount.
+     *
+     * @return Value of docCount.
+     */
+    public long getDocCount() {
+        return this.docCount;
+    }
+}
@@ -0,0 +1,175 @@
+package com.lczyfz.elasticsearch.entity;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * The aggregation field for advanced search.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+public final class AggregationField implements Serializable {
+
+    /**
+     * The aggregation name, unique in a condition.
+     */
+    private String name;
+
+    /**
+     * The field name.
+     */
+    private String fieldName;
+
+    /**
+     * The type name.
+     */
+    private String typeName;
+
+    /**
+     * The method, see AggregationMethod.
+     */
+    private String method;
+
+    /**
+     * The max bucket count of terms.
+     */
+    private Integer size;
+
+    /**
+     * The interval of date histogram, such as 1h, 1d or 1M.
+     */
+    private String interval;
+
+    /**
+     * The ascending range boundaries, each pair of neighbours is a bucket
+     * and both ends are open.
+     */
+    private List<Double> ranges;
+
+    /**
+     * Gets name.
+     *
+     * @return Value of name.
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Sets name.
+     *
+     * @param name Simple param.
+     */
+    public void setName(final String name) {
+        this.name = name;
+    }
+
+    /**
+     * Gets fieldName.
+     *
+     * @return Value of fieldName.
+     */
+    public String getFieldName() {
+        return this.fieldName;
+    }
+
+    /**
+     * Sets fieldName.
+     *
+     * @param fieldName Simple param.
+     */
+    public void setFieldName(final String fieldName) {
+        this.fieldName = fieldName;
+    }
+
+    /**
+     * Gets typeName.
+     *
+     * @return Value of typeName.
+     */
+    public String getTypeName() {
+        return this.typeName;
+    }
+
+    /**
+     * Sets typeName.
+     *
+     * @param typeName Simple param.
+     */
+    public void setTypeName(final String typeName) {
+        this.typeName = typeName;
+    }
+
+    /**
+     * Gets method.
+     *
+     * @return Value of method.
+     */
+    public String getMethod() {
+        return this.method;
+    }
+
+    /**
+     * Sets method.
+     *
+     * @param method Simple param.
+     */
+    public void setMethod(final String method) {
+        this.method = method;
+    }
+
+    /**
+     * Gets size.
+     *
+     * @return Value of size.
+     */
+    public Integer getSize() {
+        return this.size;
+    }
+
+    /**
+     * Sets size.
+     *
+     * @param size Simple param.
+     */
+    public void setSize(final Integer size) {
+        this.size = size;
+    }
+
+    /**
+     * Gets interval.
+     *
+     * @return Value of interval.
+     */
+    public String getInterval() {
+        return this.interval;
+    }
+
+    /**
+     * Sets interval.
+     *
+     * @param interval Simple param.
+     */
+    public void setInterval(final String interval) {
+        this.interval = interval;
+    }
+
+    /**
+     * Gets ranges.
+     *
+     * @return Value of ranges.
+     */
+    public List<Double> getRanges() {
+        return this.ranges;
+    }
+
+    /**
+     * Sets ranges.
+     *
+     * @param ranges Simple param.
+     */
+    public void setRanges(final List<Double> ranges) {
+        this.ranges = ranges;
+    }
+}
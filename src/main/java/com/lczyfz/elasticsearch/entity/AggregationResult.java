@@ -0,0 +1,70 @@
+package com.lczyfz.elasticsearch.entity;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * The aggregation result, buckets for bucket methods and value for
+ * metric methods.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+public final class AggregationResult implements Serializable {
+
+    /**
+     * The aggregation name.
+     */
+    private final String name;
+
+    /**
+     * The buckets, null for metric methods.
+     */
+    private final List<AggregationBucket> buckets;
+
+    /**
+     * The metric value, null for bucket methods.
+     */
+    private final Double value;
+
+    /**
+     * Aggregation result constructor.
+     *
+     * @param name The aggregation name.
+     * @param buckets The buckets.
+     * @param value The metric value.
+     */
+    public AggregationResult(final String name,
+        final List<AggregationBucket> buckets, final Double value) {
+        this.name = name;
+        this.buckets = buckets;
+        this.value = value;
+    }
+
+    /**
+     * Gets name.
+     *
+     * @return Value of name.
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Gets buckets.
+     *
+     * @return Value of buckets.
+     */
+    public List<AggregationBucket> getBuckets() {
+        return this.buckets;
+    }
+
+    /**
+     * Gets value.
+     *
+     * @return Value of value.
+     */
+    public Double getValue() {
+        return this.value;
+    }
+}
@@ -0,0 +1,197 @@
+package com.lczyfz.elasticsearch.entity;
+
+import java.io.Serializable;
+
+/**
+ * Client side concurrency limit and circuit breaker setting of one kind
+ * of traffic, such as search or bulk.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+public final class ConcurrencySetting implements Serializable {
+
+    /**
+     * The initial in-flight limit.
+     */
+    private int initialLimit = 20;
+
+    /**
+     * The min in-flight limit.
+     */
+    private int minLimit = 1;
+
+    /**
+     * The max in-flight limit.
+     */
+    private int maxLimit = 200;
+
+    /**
+     * Latency over baseline times tolerance is treated as overload.
+     */
+    private double latencyTolerance = 2.0;
+
+    /**
+     * Failure rate opening the circuit, between 0 and 1.
+     */
+    private double failureRateThreshold = 0.5;
+
+    /**
+     * Recent calls the failure rate is computed from.
+     */
+    private int windowSize = 50;
+
+    /**
+     * Min calls before the circuit may open.
+     */
+    private int minimumCalls = 20;
+
+    /**
+     * How long the circuit stays open in milliseconds.
+     */
+    private long openMillis = 10_000;
+
+    /**
+     * Gets initialLimit.
+     *
+     * @return Value of initialLimit.
+     */
+    public int getInitialLimit() {
+        return this.initialLimit;
+    }
+
+    /**
+     * Sets initialLimit.
+     *
+     * @param initialLimit Simple param.
+     */
+    public void setInitialLimit(final int initialLimit) {
+        this.initialLimit = initialLimit;
+    }
+
+    /**
+     * Gets minLimit.
+     *
+     * @return Value of minLimit.
+     */
+    public int getMinLimit() {
+        return this.minLimit;
+    }
+
+    /**
+     * Sets minLimit.
+     *
+     * @param minLimit Simple param.
+     */
+    public void setMinLimit(final int minLimit) {
+        this.minLimit = minLimit;
+    }
+
+    /**
+     * Gets maxLimit.
+     *
+     * @return Value of maxLimit.
+     */
+    public int getMaxLimit() {
+        return this.maxLimit;
+    }
+
+    /**
+     * Sets maxLimit.
+     *
+     * @param maxLimit Simple param.
+     */
+    public void setMaxLimit(final int maxLimit) {
+        this.maxLimit = maxLimit;
+    }
+
+    /**
+     * Gets latencyTolerance.
+     *
+     * @return Value of latencyTolerance.
+     */
+    public double getLatencyTolerance() {
+        return this.latencyTolerance;
+    }
+
+    /**
+     * Sets latencyTolerance.
+     *
+     * @param latencyTolerance Simple param.
+     */
+    public void setLatencyTolerance(final double latencyTolerance) {
+        this.latencyTolerance = latencyTolerance;
+    }
+
+    /**
+     * Gets failureRateThreshold.
+     *
+     * @return Value of failureRateThreshold.
+     */
+    public double getFailureRateThreshold() {
+        return this.failureRateThreshold;
+    }
+
+    /**
+     * Sets failureRateThreshold.
+     *
+     * @param failureRateThreshold Simple param.
+     */
+    public void setFailureRateThreshold(final double failureRateThreshold) {
+        this.failureRateThreshold = failureRateThreshold;
+    }
+
+    /**
+     * Gets windowSize.
+     *
+     * @return Value of windowSize.
+     */
+    public int getWindowSize() {
+        return this.windowSize;
+    }
+
+    /**
+     * Sets windowSize.
+     *
+     * @param windowSize Simple param.
+     */
+    public void setWindowSize(final int windowSize) {
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Gets minimumCalls.
+     *
+     * @return Value of minimumCalls.
+     */
+    public int getMinimumCalls() {
+        return this.minimumCalls;
+    }
+
+    /**
+     * Sets minimumCalls.
+     *
+     * @param minimumCalls Simple param.
+     */
+    public void setMinimumCalls(final int minimumCalls) {
+        this.minimumCalls = minimumCalls;
+    }
+
+    /**
+     * Gets openMillis.
+     *
+     * @return Value of openMillis.
+     */
+    public long getOpenMillis() {
+        return this.openMillis;
+    }
+
+    /**
+     * Sets openMillis.
+     *
+     * @param openMillis Simple param.
+     */
+    public void setOpenMillis(final long openMillis) {
+        this.openMillis = openMillis;
+    }
+}
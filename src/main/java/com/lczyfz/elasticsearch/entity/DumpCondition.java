@@ -0,0 +1,106 @@
+package com.lczyfz.elasticsearch.entity;
+
+import com.lczyfz.elasticsearch.constant.WriteMethod;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Dump condition, describe how rows become documents.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+public final class DumpCondition implements Serializable {
+
+    /**
+     * The primary key columns, joined as the document id.
+     */
+    private List<String> primaryKeys;
+
+    /**
+     * The write method, see {@link WriteMethod}.
+     */
+    private String writeMethod = WriteMethod.INDEX;
+
+    /**
+     * The column holding the external version.
+     */
+    private String versionField;
+
+    /**
+     * The columns feeding the suggestion side index, null means none.
+     */
+    private List<String> suggestFields;
+
+    /**
+     * Gets primaryKeys.
+     *
+     * @return Value of primaryKeys.
+     */
+    public List<String> getPrimaryKeys() {
+        return this.primaryKeys;
+    }
+
+    /**
+     * Sets primaryKeys.
+     *
+     * @param primaryKeys Simple param.
+     */
+    public void setPrimaryKeys(final List<String> primaryKeys) {
+        this.primaryKeys = primaryKeys;
+    }
+
+    /**
+     * Gets writeMethod.
+     *
+     * @return Value of writeMethod.
+     */
+    public String getWriteMethod() {
+        return this.writeMethod;
+    }
+
+    /**
+     * Sets writeMethod.
+     *
+     * @param writeMethod Simple param.
+     */
+    public void setWriteMethod(final String writeMethod) {
+        this.writeMethod = writeMethod;
+    }
+
+    /**
+     * Gets versionField.
+     *
+     * @return Value of versionField.
+     */
+    public String getVersionField() {
+        return this.versionField;
+    }
+
+    /**
+     * Sets versionField.
+     *
+     * @param versionField Simple param.
+     */
+    public void setVersionField(final String versionField) {
+        this.versionField = versionField;
+    }
+
+    /**
+     * Gets suggestFields.
+     *
+     * @return Value of suggestFields.
+     */
+    public List<String> getSuggestFields() {
+        return this.suggestFields;
+    }
+
+    /**
+     * Sets suggestFields.
+     *
+     * @param suggestFields Simple param.
+     */
+    public void setSuggestFields(final List<String> suggestFields) {
+        this.suggestFields = suggestFields;
+    }
+}
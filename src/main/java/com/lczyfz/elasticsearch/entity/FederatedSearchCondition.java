@@ -0,0 +1,106 @@
+package com.lczyfz.elasticsearch.entity;
+
+import java.io.Serializable;
+import java.util.Map;
+
+/**
+ * Federated search condition, one search over many indices ranked
+ * together.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+public final class FederatedSearchCondition implements Serializable {
+
+    /**
+     * The index names, wildcards allowed.
+     */
+    private String[] indexName;
+
+    /**
+     * The keyword, null or empty matches every document.
+     */
+    private String keyword;
+
+    /**
+     * Score boost key as index name, null means no boost.
+     */
+    private Map<String, Float> indexBoosts;
+
+    /**
+     * The highlight setting, null means no highlight.
+     */
+    private HighlightSetting highlight;
+
+    /**
+     * Gets indexName.
+     *
+     * @return Value of indexName.
+     */
+    public String[] getIndexName() {
+        return this.indexName;
+    }
+
+    /**
+     * Sets indexName.
+     *
+     * @param indexName Simple param.
+     */
+    public void setIndexName(final String... indexName) {
+        this.indexName = indexName;
+    }
+
+    /**
+     * Gets keyword.
+     *
+     * @return Value of keyword.
+     */
+    public String getKeyword() {
+        return this.keyword;
+    }
+
+    /**
+     * Sets keyword.
+     *
+     * @param keyword Simple param.
+     */
+    public void setKeyword(final String keyword) {
+        this.keyword = keyword;
+    }
+
+    /**
+     * Gets indexBoosts.
+     *
+     * @return Value of indexBoosts.
+     */
+    public Map<String, Float> getIndexBoosts() {
+        return this.indexBoosts;
+    }
+
+    /**
+     * Sets indexBoosts.
+     *
+     * @param indexBoosts Simple param.
+     */
+    public void setIndexBoosts(final Map<String, Float> indexBoosts) {
+        this.indexBoosts = indexBoosts;
+    }
+
+    /**
+     * Gets highlight.
+     *
+     * @return Value of highlight.
+     */
+    public HighlightSetting getHighlight() {
+        return this.highlight;
+    }
+
+    /**
+     * Sets highlight.
+     *
+     * @param highlight Simple param.
+     */
+    public void setHighlight(final HighlightSetting highlight) {
+        this.highlight = highlight;
+    }
+}
@@ -0,0 +1,81 @@
+package com.lczyfz.elasticsearch.entity;
+
+import java.io.Serializable;
+
+/**
+ * Field mapping option, a null property keeps the elasticsearch default.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+public final class FieldOption implements Serializable {
+
+    /**
+     * Whether the field is sortable and aggregatable.
+     */
+    private Boolean docValues;
+
+    /**
+     * Whether the field is searchable.
+     */
+    private Boolean index;
+
+    /**
+     * Whether the field keeps length norms for scoring.
+     */
+    private Boolean norms;
+
+    /**
+     * Gets docValues.
+     *
+     * @return Value of docValues.
+     */
+    public Boolean getDocValues() {
+        return this.docValues;
+    }
+
+    /**
+     * Sets docValues.
+     *
+     * @param docValues Simple param.
+     */
+    public void setDocValues(final Boolean docValues) {
+        this.docValues = docValues;
+    }
+
+    /**
+     * Gets index.
+     *
+     * @return Value of index.
+     */
+    public Boolean getIndex() {
+        return this.index;
+    }
+
+    /**
+     * Sets index.
+     *
+     * @param index Simple param.
+     */
+    public void setIndex(final Boolean index) {
+        this.index = index;
+    }
+
+    /**
+     * Gets norms.
+     *
+     * @return Value of norms.
+     */
+    public Boolean getNorms() {
+        return this.norms;
+    }
+
+    /**
+     * Sets norms.
+     *
+     * @param norms Simple param.
+     */
+    public void setNorms(final Boolean norms) {
+        this.norms = norms;
+    }
+}
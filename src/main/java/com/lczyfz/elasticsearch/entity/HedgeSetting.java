@@ -0,0 +1,82 @@
+package com.lczyfz.elasticsearch.entity;
+
+import java.io.Serializable;
+
+/**
+ * Hedged search setting, a duplicate search is sent to another shard copy
+ * when the first one is slower than the observed latency percentile.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+public final class HedgeSetting implements Serializable {
+
+    /**
+     * The latency percentile to hedge after, between 0 and 1.
+     */
+    private double percentile = 0.95;
+
+    /**
+     * The min hedge delay in milliseconds.
+     */
+    private long minDelayMillis = 10;
+
+    /**
+     * The max hedged searches per second.
+     */
+    private int maxHedgesPerSecond = 10;
+
+    /**
+     * Gets percentile.
+     *
+     * @return Value of percentile.
+     */
+    public double getPercentile() {
+        return this.percentile;
+    }
+
+    /**
+     * Sets percentile.
+     *
+     * @param percentile Simple param.
+     */
+    public void setPercentile(final double percentile) {
+        this.percentile = percentile;
+    }
+
+    /**
+     * Gets minDelayMillis.
+     *
+     * @return Value of minDelayMillis.
+     */
+    public long getMinDelayMillis() {
+        return this.minDelayMillis;
+    }
+
+    /**
+     * Sets minDelayMillis.
+     *
+     * @param minDelayMillis Simple param.
+     */
+    public void setMinDelayMillis(final long minDelayMillis) {
+        this.minDelayMillis = minDelayMillis;
+    }
+
+    /**
+     * Gets maxHedgesPerSecond.
+     *
+     * @return Value of maxHedgesPerSecond.
+     */
+    public int getMaxHedgesPerSecond() {
+        return this.maxHedgesPerSecond;
+    }
+
+    /**
+     * Sets maxHedgesPerSecond.
+     *
+     * @param maxHedgesPerSecond Simple param.
+     */
+    public void setMaxHedgesPerSecond(final int maxHedgesPerSecond) {
+        this.maxHedgesPerSecond = maxHedgesPerSecond;
+    }
+}
@@ -0,0 +1,153 @@
+package com.lczyfz.elasticsearch.entity;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Highlight setting, match snippets are built by the unified highlighter
+ * on the server and the source can be projected to a subset of fields.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+public final class HighlightSetting implements Serializable {
+
+    /**
+     * The highlighted fields, null means the matched fields.
+     */
+    private List<String> fields;
+
+    /**
+     * The fragment size in characters.
+     */
+    private int fragmentSize = 100;
+
+    /**
+     * The max fragments per field.
+     */
+    private int numberOfFragments = 3;
+
+    /**
+     * The tag before a match.
+     */
+    private String preTag = "<em>";
+
+    /**
+     * The tag after a match.
+     */
+    private String postTag = "</em>";
+
+    /**
+     * The returned source fields, null means the whole source and empty
+     * means no source.
+     */
+    private List<String> sourceFields;
+
+    /**
+     * Gets fields.
+     *
+     * @return Value of fields.
+     */
+    public List<String> getFields() {
+        return this.fields;
+    }
+
+    /**
+     * Sets fields.
+     *
+     * @param fields Simple param.
+     */
+    public void setFields(final List<String> fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * Gets fragmentSize.
+     *
+     * @return Value of fragmentSize.
+     */
+    public int getFragmentSize() {
+        return this.fragmentSize;
+    }
+
+    /**
+     * Sets fragmentSize.
+     *
+     * @param fragmentSize Simple param.
+     */
+    public void setFragmentSize(final int fragmentSize) {
+        this.fragmentSize = fragmentSize;
+    }
+
+    /**
+     * Gets numberOfFragments.
+     *
+     * @return Value of numberOfFragments.
+     */
+    public int getNumberOfFragments() {
+        return this.numberOfFragments;
+    }
+
+    /**
+     * Sets numberOfFragments.
+     *
+     * @param numberOfFragments Simple param.
+     */
+    public void setNumberOfFragments(final int numberOfFragments) {
+        this.numberOfFragments = numberOfFragments;
+    }
+
+    /**
+     * Gets preTag.
+     *
+     * @return Value of preTag.
+     */
+    public String getPreTag() {
+        return this.preTag;
+    }
+
+    /**
+     * Sets preTag.
+     *
+     * @param preTag Simple param.
+     */
+    public void setPreTag(final String preTag) {
+        this.preTag = preTag;
+    }
+
+    /**
+     * Gets postTag.
+     *
+     * @return Value of postTag.
+     */
+    public String getPostTag() {
+        return this.postTag;
+    }
+
+    /**
+     * Sets postTag.
+     *
+     * @param postTag Simple param.
+     */
+    public void setPostTag(final String postTag) {
+        this.postTag = postTag;
+    }
+
+    /**
+     * Gets sourceFields.
+     *
+     * @return Value of sourceFields.
+     */
+    public List<String> getSourceFields() {
+        return this.sourceFields;
+    }
+
+    /**
+     * Sets sourceFields.
+     *
+     * @param sourceFields Simple param.
+     */
+    public void setSourceFields(final List<String> sourceFields) {
+        this.sourceFields = sourceFields;
+    }
+}
@@ -0,0 +1,171 @@
+package com.lczyfz.elasticsearch.entity;
+
+import java.io.Serializable;
+import java.util.Map;
+
+/**
+ * Index setting, shards, replicas, refresh interval and field options.
+ *
+ * <p>A null property is not sent, so the cluster default or a matching
+ * index template decides it.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+public final class IndexSetting implements Serializable {
+
+    /**
+     * Target size of a single shard, 30 GB.
+     */
+    public static final long TARGET_SHARD_BYTES = 30L * 1024 * 1024 * 1024;
+
+    /**
+     * Target document count of a single shard.
+     */
+    public static final long TARGET_SHARD_DOCS = 200_000_000L;
+
+    /**
+     * Max shard count of an estimated index.
+     */
+    public static final int MAX_SHARDS = 64;
+
+    /**
+     * The number of shards.
+     */
+    private Integer numberOfShards;
+
+    /**
+     * The number of replicas.
+     */
+    private Integer numberOfReplicas;
+
+    /**
+     * The refresh interval, such as 1s or -1.
+     */
+    private String refreshInterval;
+
+    /**
+     * Per field mapping options, key as field name.
+     */
+    private Map<String, FieldOption> fieldOptions;
+
+    /**
+     * Index setting constructor.
+     */
+    public IndexSetting() {
+    }
+
+    /**
+     * Index setting constructor.
+     *
+     * @param numberOfShards The number of shards.
+     * @param numberOfReplicas The number of replicas.
+     */
+    public IndexSetting(final Integer numberOfShards,
+        final Integer numberOfReplicas) {
+        this.numberOfShards = numberOfShards;
+        this.numberOfReplicas = numberOfReplicas;
+    }
+
+    /**
+     * Estimate shard count from the expected data volume.
+     *
+     * @param docCount Expected document count.
+     * @param docBytes Expected average document size in bytes.
+     * @param numberOfReplicas The number of replicas.
+     * @return Index setting.
+     */
+    public static IndexSetting estimate(final long docCount,
+        final long docBytes, final int numberOfReplicas) {
+
+        long bySize = ceilDivide(docCount * docBytes, TARGET_SHARD_BYTES);
+        long byDocs = ceilDivide(docCount, TARGET_SHARD_DOCS);
+        long shards =
+            Math.min(MAX_SHARDS, Math.max(1, Math.max(bySize, byDocs)));
+
+        return new IndexSetting((int) shards, numberOfReplicas);
+    }
+
+    /**
+     * Ceil divide.
+     *
+     * @param dividend The dividend.
+     * @param divisor The divisor.
+     * @return Result.
+     */
+    private static long ceilDivide(final long dividend, final long divisor) {
+        return (dividend + divisor - 1) / divisor;
+    }
+
+    /**
+     * Gets numberOfShards.
+     *
+     * @return Value of numberOfShards.
+     */
+    public Integer getNumberOfShards() {
+        return this.numberOfShards;
+    }
+
+    /**
+     * Sets numberOfShards.
+     *
+     * @param numberOfShards Simple param.
+     */
+    public void setNumberOfShards(final Integer numberOfShards) {
+        this.numberOfShards = numberOfShards;
+    }
+
+    /**
+     * Gets numberOfReplicas.
+     *
+     * @return Value of numberOfReplicas.
+     */
+    public Integer getNumberOfReplicas() {
+        return this.numberOfReplicas;
+    }
+
+    /**
+     * Sets numberOfReplicas.
+     *
+     * @param numberOfReplicas Simple param.
+     */
+    public void setNumberOfReplicas(final Integer numberOfReplicas) {
+        this.numberOfReplicas = numberOfReplicas;
+    }
+
+    /**
+     * Gets refreshInterval.
+     *
+     * @return Value of refreshInterval.
+     */
+    public String getRefreshInterval() {
+        return this.refreshInterval;
+    }
+
+    /**
+     * Sets refreshInterval.
+     *
+     * @param refreshInterval Simple param.
+     */
+    public void setRefreshInterval(final String refreshInterval) {
+        this.refreshInterval = refreshInterval;
+    }
+
+    /**
+     * Gets fieldOptions.
+     *
+     * @return Value of fieldOptions.
+     */
+    public Map<String, FieldOption> getFieldOptions() {
+        return this.fieldOptions;
+    }
+
+    /**
+     * Sets fieldOptions.
+     *
+     * @param fieldOptions Simple param.
+     */
+    public void setFieldOptions(final Map<String, FieldOption> fieldOptions) {
+        this.fieldOptions = fieldOptions;
+    }
+}
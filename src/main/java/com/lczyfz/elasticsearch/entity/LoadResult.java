@@ -0,0 +1,84 @@
+package com.lczyfz.elasticsearch.entity;
+
+import java.io.Serializable;
+
+/**
+ * The bulk load result.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+public final class LoadResult implements Serializable {
+
+    /**
+     * The rows read.
+     */
+    private final long rows;
+
+    /**
+     * The rows rejected by elasticsearch.
+     */
+    private final long failedRows;
+
+    /**
+     * The bulk requests sent.
+     */
+    private final long batches;
+
+    /**
+     * The elapsed time in milliseconds.
+     */
+    private final long tookMillis;
+
+    /**
+     * Load result constructor.
+     *
+     * @param rows The rows read.
+     * @param failedRows The rows rejected.
+     * @param batches The bulk requests sent.
+     * @param tookMillis The elapsed time in milliseconds.
+     */
+    public LoadResult(final long rows, final long failedRows,
+        final long batches, final long tookMillis) {
+        this.rows = rows;
+        this.failedRows = failedRows;
+        this.batches = batches;
+        this.tookMillis = tookMillis;
+    }
+
+    /**
+     * Gets rows.
+     *
+     * @return Value of rows.
+     */
+    public long getRows() {
+        return this.rows;
+    }
+
+    /**
+     * Gets failedRows.
+     *
+     * @return Value of failedRows.
+     */
+    public long getFailedRows() {
+        return this.failedRows;
+    }
+
+    /**
+     * Gets batches.
+     *
+     * @return Value of batches.
+     */
+    public long getBatches() {
+        return this.batches;
+    }
+
+    /**
+     * Gets tookMillis.
+     *
+     * @return Value of tookMillis.
+     */
+    public long getTookMillis() {
+        return this.tookMillis;
+    }
+}
@@ -0,0 +1,83 @@
+package com.lczyfz.elasticsearch.entity;
+
+import java.io.Serializable;
+
+/**
+ * Search profiling setting. A sampled fraction of the searches runs with
+ * the elasticsearch profile api, a search slower than the threshold is
+ * profiled again within a budget, both go to the slow log.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+public final class ProfileSetting implements Serializable {
+
+    /**
+     * The fraction of searches profiled, between 0 and 1.
+     */
+    private double sampleRate = 0.01;
+
+    /**
+     * The latency in milliseconds a search is logged after.
+     */
+    private long slowMillis = 1000;
+
+    /**
+     * The max slow searches profiled again per second.
+     */
+    private int maxProfilesPerSecond = 1;
+
+    /**
+     * Gets sampleRate.
+     *
+     * @return Value of sampleRate.
+     */
+    public double getSampleRate() {
+        return this.sampleRate;
+    }
+
+    /**
+     * Sets sampleRate.
+     *
+     * @param sampleRate Simple param.
+     */
+    public void setSampleRate(final double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * Gets slowMillis.
+     *
+     * @return Value of slowMillis.
+     */
+    public long getSlowMillis() {
+        return this.slowMillis;
+    }
+
+    /**
+     * Sets slowMillis.
+     *
+     * @param slowMillis Simple param.
+     */
+    public void setSlowMillis(final long slowMillis) {
+        this.slowMillis = slowMillis;
+    }
+
+    /**
+     * Gets maxProfilesPerSecond.
+     *
+     * @return Value of maxProfilesPerSecond.
+     */
+    public int getMaxProfilesPerSecond() {
+        return this.maxProfilesPerSecond;
+    }
+
+    /**
+     * Sets maxProfilesPerSecond.
+     *
+     * @param maxProfilesPerSecond Simple param.
+     */
+    public void setMaxProfilesPerSecond(final int maxProfilesPerSecond) {
+        this.maxProfilesPerSecond = maxProfilesPerSecond;
+    }
+}
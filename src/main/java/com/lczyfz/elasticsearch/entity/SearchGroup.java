@@ -0,0 +1,84 @@
+package com.lczyfz.elasticsearch.entity;
+
+import com.lczyfz.elasticsearch.constant.GroupOperator;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Nested search group, the fields and the sub groups are combined with
+ * the operator, see {@link GroupOperator}.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+public final class SearchGroup implements Serializable {
+
+    /**
+     * The operator, AND by default.
+     */
+    private String operator = GroupOperator.AND;
+
+    /**
+     * The fields.
+     */
+    private List<SearchField> fields;
+
+    /**
+     * The sub groups.
+     */
+    private List<SearchGroup> groups;
+
+    /**
+     * Gets operator.
+     *
+     * @return Value of operator.
+     */
+    public String getOperator() {
+        return this.operator;
+    }
+
+    /**
+     * Sets operator.
+     *
+     * @param operator Simple param.
+     */
+    public void setOperator(final String operator) {
+        this.operator = operator;
+    }
+
+    /**
+     * Gets fields.
+     *
+     * @return Value of fields.
+     */
+    public List<SearchField> getFields() {
+        return this.fields;
+    }
+
+    /**
+     * Sets fields.
+     *
+     * @param fields Simple param.
+     */
+    public void setFields(final List<SearchField> fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * Gets groups.
+     *
+     * @return Value of groups.
+     */
+    public List<SearchGroup> getGroups() {
+        return this.groups;
+    }
+
+    /**
+     * Sets groups.
+     *
+     * @param groups Simple param.
+     */
+    public void setGroups(final List<SearchGroup> groups) {
+        this.groups = groups;
+    }
+}
@@ -0,0 +1,186 @@
+package com.lczyfz.elasticsearch.entity;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable search result, free of any JSON library. The lists are
+ * sized to the page and can not be modified.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+public final class SearchResult implements Serializable {
+
+    /**
+     * The total hits.
+     */
+    private long total;
+
+    /**
+     * The total relation, eq or gte, null if not tracked.
+     */
+    private String totalRelation;
+
+    /**
+     * The source of every hit.
+     */
+    private List<Map<String, Object>> data;
+
+    /**
+     * The highlight fragments of every hit key as field name, null means
+     * no highlight.
+     */
+    private List<Map<String, List<String>>> highlights;
+
+    /**
+     * The aggregation results, null means no aggregation.
+     */
+    private List<AggregationResult> aggregations;
+
+    /**
+     * The index of every hit, null unless federated.
+     */
+    private List<String> hitIndices;
+
+    /**
+     * The document count key as index name, null unless federated.
+     */
+    private Map<String, Long> indexTotals;
+
+    /**
+     * Search result constructor.
+     *
+     * @param total The total hits.
+     * @param data The source of every hit.
+     * @param highlights The highlight fragments, may be null.
+     */
+    public SearchResult(final long total,
+        final List<Map<String, Object>> data,
+        final List<Map<String, List<String>>> highlights) {
+        this.total = total;
+        this.data = data;
+        this.highlights = highlights;
+    }
+
+    /**
+     * Copy constructor.
+     *
+     * @param source The copied result.
+     */
+    private SearchResult(final SearchResult source) {
+        this.total = source.total;
+        this.totalRelation = source.totalRelation;
+        this.data = source.data;
+        this.highlights = source.highlights;
+        this.aggregations = source.aggregations;
+        this.hitIndices = source.hitIndices;
+        this.indexTotals = source.indexTotals;
+    }
+
+    /**
+     * Copy with the total and its relation.
+     *
+     * @param newTotal The total hits.
+     * @param relation The total relation.
+     * @return Search result.
+     */
+    public SearchResult withTotal(final long newTotal, final String relation) {
+        SearchResult result = new SearchResult(this);
+        result.total = newTotal;
+        result.totalRelation = relation;
+        return result;
+    }
+
+    /**
+     * Copy with the aggregation results.
+     *
+     * @param results The aggregation results.
+     * @return Search result.
+     */
+    public SearchResult withAggregations(
+        final List<AggregationResult> results) {
+        SearchResult result = new SearchResult(this);
+        result.aggregations = results;
+        return result;
+    }
+
+    /**
+     * Copy with the index of every hit and the index totals.
+     *
+     * @param indices The index of every hit.
+     * @param totals The document count key as index name.
+     * @return Search result.
+     */
+    public SearchResult withIndices(final List<String> indices,
+        final Map<String, Long> totals) {
+        SearchResult result = new SearchResult(this);
+        result.hitIndices = indices;
+        result.indexTotals = totals;
+        return result;
+    }
+
+    /**
+     * Gets total.
+     *
+     * @return Value of total.
+     */
+    public long getTotal() {
+        return this.total;
+    }
+
+    /**
+     * Gets totalRelation.
+     *
+     * @return Value of totalRelation.
+     */
+    public String getTotalRelation() {
+        return this.totalRelation;
+    }
+
+    /**
+     * Gets data.
+     *
+     * @return Value of data.
+     */
+    public List<Map<String, Object>> getData() {
+        return this.data;
+    }
+
+    /**
+     * Gets highlights.
+     *
+     * @return Value of highlights.
+     */
+    public List<Map<String, List<String>>> getHighlights() {
+        return this.highlights;
+    }
+
+    /**
+     * Gets aggregations.
+     *
+     * @return Value of aggregations.
+     */
+    public List<AggregationResult> getAggregations() {
+        return this.aggregations;
+    }
+
+    /**
+     * Gets hitIndices.
+     *
+     * @return Value of hitIndices.
+     */
+    public List<String> getHitIndices() {
+        return this.hitIndices;
+    }
+
+    /**
+     * Gets indexTotals.
+     *
+     * @return Value of indexTotals.
+     */
+    public Map<String, Long> getIndexTotals() {
+        return this.indexTotals;
+    }
+}
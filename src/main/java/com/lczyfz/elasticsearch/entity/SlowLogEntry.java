@@ -0,0 +1,291 @@
+package com.lczyfz.elasticsearch.entity;
+
+import java.io.Serializable;
+
+/**
+ * Slow log entry of a profiled or slow search. The wait time minus the
+ * took time is spent on the network, in the client and in scroll round
+ * trips.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+public final class SlowLogEntry implements Serializable {
+
+    /**
+     * The searched indices.
+     */
+    private String[] indices;
+
+    /**
+     * The search source JSON.
+     */
+    private String query;
+
+    /**
+     * The page number.
+     */
+    private int pageNo;
+
+    /**
+     * Whether the search was sampled for profiling.
+     */
+    private boolean sampled;
+
+    /**
+     * Whether the search was slower than the threshold.
+     */
+    private boolean slow;
+
+    /**
+     * The time building the search source in milliseconds.
+     */
+    private long buildMillis;
+
+    /**
+     * The time from sending the first request until every
+     * response is parsed in milliseconds, scroll pages included.
+     */
+    private long waitMillis;
+
+    /**
+     * The cluster time of the first response in milliseconds.
+     */
+    private long tookMillis;
+
+    /**
+     * The time converting the hits in milliseconds.
+     */
+    private long decodeMillis;
+
+    /**
+     * The total time in milliseconds.
+     */
+    private long totalMillis;
+
+    /**
+     * The total hits.
+     */
+    private long total;
+
+    /**
+     * The profile api result JSON, null if not profiled.
+     */
+    private String profile;
+
+    /**
+     * Gets indices.
+     *
+     * @return Value of indices.
+     */
+    public String[] getIndices() {
+        return this.indices;
+    }
+
+    /**
+     * Sets indices.
+     *
+     * @param indices Simple param.
+     */
+    public void setIndices(final String[] indices) {
+        this.indices = indices;
+    }
+
+    /**
+     * Gets query.
+     *
+     * @return Value of query.
+     */
+    public String getQuery() {
+        return this.query;
+    }
+
+    /**
+     * Sets query.
+     *
+     * @param query Simple param.
+     */
+    public void setQuery(final String query) {
+        this.query = query;
+    }
+
+    /**
+     * Gets pageNo.
+     *
+     * @return Value of pageNo.
+     */
+    public int getPageNo() {
+        return this.pageNo;
+    }
+
+    /**
+     * Sets pageNo.
+     *
+     * @param pageNo Simple param.
+     */
+    public void setPageNo(final int pageNo) {
+        this.pageNo = pageNo;
+    }
+
+    /**
+     * Gets sampled.
+     *
+     * @return Value of sampled.
+     */
+    public boolean isSampled() {
+        return this.sampled;
+    }
+
+    /**
+     * Sets sampled.
+     *
+     * @param sampled Simple param.
+     */
+    public void setSampled(final boolean sampled) {
+        this.sampled = sampled;
+    }
+
+    /**
+     * Gets slow.
+     *
+     * @return Value of slow.
+     */
+    public boolean isSlow() {
+        return this.slow;
+    }
+
+    /**
+     * Sets slow.
+     *
+     * @param slow Simple param.
+     */
+    public void setSlow(final boolean slow) {
+        this.slow = slow;
+    }
+
+    /**
+     * Gets buildMillis.
+     *
+     * @return Value of buildMillis.
+     */
+    public long getBuildMillis() {
+        return this.buildMillis;
+    }
+
+    /**
+     * Sets buildMillis.
+     *
+     * @param buildMillis Simple param.
+     */
+    public void setBuildMillis(final long buildMillis) {
+        this.buildMillis = buildMillis;
+    }
+
+    /**
+     * Gets waitMillis.
+     *
+     * @return Value of waitMillis.
+     */
+    public long getWaitMillis() {
+        return this.waitMillis;
+    }
+
+    /**
+     * Sets waitMillis.
+     *
+     * @param waitMillis Simple param.
+     */
+    public void setWaitMillis(final long waitMillis) {
+        this.waitMillis = waitMillis;
+    }
+
+    /**
+     * Gets tookMillis.
+     *
+     * @return Value of tookMillis.
+     */
+    public long getTookMillis() {
+        return this.tookMillis;
+    }
+
+    /**
+     * Sets tookMillis.
+     *
+     * @param tookMillis Simple param.
+     */
+    public void setTookMillis(final long tookMillis) {
+        this.tookMillis = tookMillis;
+    }
+
+    /**
+     * Gets decodeMillis.
+     *
+     * @return Value of decodeMillis.
+     */
+    public long getDecodeMillis() {
+        return this.decodeMillis;
+    }
+
+    /**
+     * Sets decodeMillis.
+     *
+     * @param decodeMillis Simple param.
+     */
+    public void setDecodeMillis(final long decodeMillis) {
+        this.decodeMillis = decodeMillis;
+    }
+
+    /**
+     * Gets totalMillis.
+     *
+     * @return Value of totalMillis.
+     */
+    public long getTotalMillis() {
+        return this.totalMillis;
+    }
+
+    /**
+     * Sets totalMillis.
+     *
+     * @param totalMillis Simple param.
+     */
+    public void setTotalMillis(final long totalMillis) {
+        this.totalMillis = totalMillis;
+    }
+
+    /**
+     * Gets total.
+     *
+     * @return Value of total.
+     */
+    public long getTotal() {
+        return this.total;
+    }
+
+    /**
+     * Sets total.
+     *
+     * @param total Simple param.
+     */
+    public void setTotal(final long total) {
+        this.total = total;
+    }
+
+    /**
+     * Gets profile.
+     *
+     * @return Value of profile.
+     */
+    public String getProfile() {
+        return this.profile;
+    }
+
+    /**
+     * Sets profile.
+     *
+     * @param profile Simple param.
+     */
+    public void setProfile(final String profile) {
+        this.profile = profile;
+    }
+}
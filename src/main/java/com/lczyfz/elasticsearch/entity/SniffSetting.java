@@ -0,0 +1,59 @@
+package com.lczyfz.elasticsearch.entity;
+
+import java.io.Serializable;
+
+/**
+ * Node sniffing setting.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+public final class SniffSetting implements Serializable {
+
+    /**
+     * The delay between sniffs in milliseconds.
+     */
+    private long intervalMillis = 5 * 60 * 1000L;
+
+    /**
+     * The min delay between sniffs caused by node failures in
+     * milliseconds.
+     */
+    private long failureDelayMillis = 60 * 1000L;
+
+    /**
+     * Gets intervalMillis.
+     *
+     * @return Value of intervalMillis.
+     */
+    public long getIntervalMillis() {
+        return this.intervalMillis;
+    }
+
+    /**
+     * Sets intervalMillis.
+     *
+     * @param intervalMillis Simple param.
+     */
+    public void setIntervalMillis(final long intervalMillis) {
+        this.intervalMillis = intervalMillis;
+    }
+
+    /**
+     * Gets failureDelayMillis.
+     *
+     * @return Value of failureDelayMillis.
+     */
+    public long getFailureDelayMillis() {
+        return this.failureDelayMillis;
+    }
+
+    /**
+     * Sets failureDelayMillis.
+     *
+     * @param failureDelayMillis Simple param.
+     */
+    public void setFailureDelayMillis(final long failureDelayMillis) {
+        this.failureDelayMillis = failureDelayMillis;
+    }
+}
@@ -18,6 +18,18 @@ public class SortField implements Serializable {
      */
     private String sortType;
 
+    /**
+     * Sort value of documents missing the field, _last, _first or a
+     * value, null means _last.
+     */
+    private String missing;
+
+    /**
+     * Type of the field in indices that do not map it, null means the
+     * mapped type.
+     */
+    private String unmappedType;
+
     /**
      * Gets fieldName.
      *
@@ -53,4 +65,40 @@ public class SortField implements Serializable {
     public void setSortType(String sortType) {
         this.sortType = sortType;
     }
+
+    /**
+     * Gets missing.
+     *
+     * @return Value of missing.
+     */
+    public String getMissing() {
+        return this.missing;
+    }
+
+    /**
+     * Sets missing.
+     *
+     * @param missing Simple param.
+     */
+    public void setMissing(String missing) {
+        this.missing = missing;
+    }
+
+    /**
+     * Gets unmappedType.
+     *
+     * @return Value of unmappedType.
+     */
+    public String getUnmappedType() {
+        return this.unmappedType;
+    }
+
+    /**
+     * Sets unmappedType.
+     *
+     * @param unmappedType Simple param.
+     */
+    public void setUnmappedType(String unmappedType) {
+        this.unmappedType = unmappedType;
+    }
 }
@@ -0,0 +1,82 @@
+package com.lczyfz.elasticsearch.entity;
+
+import java.io.Serializable;
+
+/**
+ * Dump spool setting, disk usage is bounded by the segment size times
+ * the max segments.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+public final class SpoolSetting implements Serializable {
+
+    /**
+     * The segment file size in bytes.
+     */
+    private int segmentBytes = 64 * 1024 * 1024;
+
+    /**
+     * The max segment files.
+     */
+    private int maxSegments = 16;
+
+    /**
+     * The delay between drains in milliseconds.
+     */
+    private long drainIntervalMillis = 1000;
+
+    /**
+     * Gets segmentBytes.
+     *
+     * @return Value of segmentBytes.
+     */
+    public int getSegmentBytes() {
+        return this.segmentBytes;
+    }
+
+    /**
+     * Sets segmentBytes.
+     *
+     * @param segmentBytes Simple param.
+     */
+    public void setSegmentBytes(final int segmentBytes) {
+        this.segmentBytes = segmentBytes;
+    }
+
+    /**
+     * Gets maxSegments.
+     *
+     * @return Value of maxSegments.
+     */
+    public int getMaxSegments() {
+        return this.maxSegments;
+    }
+
+    /**
+     * Sets maxSegments.
+     *
+     * @param maxSegments Simple param.
+     */
+    public void setMaxSegments(final int maxSegments) {
+        this.maxSegments = maxSegments;
+    }
+
+    /**
+     * Gets drainIntervalMillis.
+     *
+     * @return Value of drainIntervalMillis.
+     */
+    public long getDrainIntervalMillis() {
+        return this.drainIntervalMillis;
+    }
+
+    /**
+     * Sets drainIntervalMillis.
+     *
+     * @param drainIntervalMillis Simple param.
+     */
+    public void setDrainIntervalMillis(final long drainIntervalMillis) {
+        this.drainIntervalMillis = drainIntervalMillis;
+    }
+}
@@ -0,0 +1,153 @@
+package com.lczyfz.elasticsearch.entity;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Incremental sync condition, describe which rows of a table changed
+ * since the last sync.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+public final class SyncCondition implements Serializable {
+
+    /**
+     * The index name of elasticsearch.
+     */
+    private String indexName;
+
+    /**
+     * The source table, such as {@code SCHEMA.TABLE}.
+     */
+    private String tableName;
+
+    /**
+     * The synced columns, null means every column.
+     */
+    private List<String> columns;
+
+    /**
+     * The column raised on every change, such as an update time.
+     */
+    private String watermarkColumn;
+
+    /**
+     * The phoenix type of the watermark column, a date or numeric
+     * type.
+     */
+    private String watermarkType;
+
+    /**
+     * The primary key columns, joined as the document id.
+     */
+    private List<String> primaryKeys;
+
+    /**
+     * Gets indexName.
+     *
+     * @return Value of indexName.
+     */
+    public String getIndexName() {
+        return this.indexName;
+    }
+
+    /**
+     * Sets indexName.
+     *
+     * @param indexName Simple param.
+     */
+    public void setIndexName(final String indexName) {
+        this.indexName = indexName;
+    }
+
+    /**
+     * Gets tableName.
+     *
+     * @return Value of tableName.
+     */
+    public String getTableName() {
+        return this.tableName;
+    }
+
+    /**
+     * Sets tableName.
+     *
+     * @param tableName Simple param.
+     */
+    public void setTableName(final String tableName) {
+        this.tableName = tableName;
+    }
+
+    /**
+     * Gets columns.
+     *
+     * @return Value of columns.
+     */
+    public List<String> getColumns() {
+        return this.columns;
+    }
+
+    /**
+     * Sets columns.
+     *
+     * @param columns Simple param.
+     */
+    public void setColumns(final List<String> columns) {
+        this.columns = columns;
+    }
+
+    /**
+     * Gets watermarkColumn.
+     *
+     * @return Value of watermarkColumn.
+     */
+    public String getWatermarkColumn() {
+        return this.watermarkColumn;
+    }
+
+    /**
+     * Sets watermarkColumn.
+     *
+     * @param watermarkColumn Simple param.
+     */
+    public void setWatermarkColumn(final String watermarkColumn) {
+        this.watermarkColumn = watermarkColumn;
+    }
+
+    /**
+     * Gets watermarkType.
+     *
+     * @return Value of watermarkType.
+     */
+    public String getWatermarkType() {
+        return this.watermarkType;
+    }
+
+    /**
+     * Sets watermarkType.
+     *
+     * @param watermarkType Simple param.
+     */
+    public void setWatermarkType(final String watermarkType) {
+        this.watermarkType = watermarkType;
+    }
+
+    /**
+     * Gets primaryKeys.
+     *
+     * @return Value of primaryKeys.
+     */
+    public List<String> getPrimaryKeys() {
+        return this.primaryKeys;
+    }
+
+    /**
+     * Sets primaryKeys.
+     *
+     * @param primaryKeys Simple param.
+     */
+    public void setPrimaryKeys(final List<String> primaryKeys) {
+        this.primaryKeys = primaryKeys;
+    }
+}
@@ -0,0 +1,256 @@
+package com.lczyfz.elasticsearch.client;
+
+import com.lczyfz.elasticsearch.constant.MatchMethod;
+import com.lczyfz.elasticsearch.entity.AdvancedSearchCondition;
+import com.lczyfz.elasticsearch.entity.HighlightSetting;
+import com.lczyfz.elasticsearch.entity.SearchField;
+import java.math.BigDecimal;
+import java.text.ParseException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import org.elasticsearch.index.query.BoolQueryBuilder;
+import org.elasticsearch.index.query.RangeQueryBuilder;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Advanced query builder test.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+public final class AdvancedQueryBuilderTest {
+
+    /**
+     * Test equal condition on the routing field selects the routing.
+     */
+    @Test
+    public void routingTest() {
+        Map<String, String> routingFields = new HashMap<>(1);
+        routingFields.put("app_log", "userId");
+
+        AdvancedSearchCondition condition =
+            this.condition("userId", MatchMethod.EQUALS, "u1");
+        condition.setIndexName("app_log");
+        Assert.assertEquals(
+            "u1", AdvancedQueryBuilder.routing(condition, routingFields)
+        );
+
+        condition.setIndexName("app_log", "other");
+        Assert.assertNull(
+            AdvancedQueryBuilder.routing(condition, routingFields)
+        );
+    }
+
+    /**
+     * Test not equal condition keeps searching every shard.
+     */
+    @Test
+    public void routingNotEqualsTest() {
+        Map<String, String> routingFields = new HashMap<>(1);
+        routingFields.put("app_log", "userId");
+
+        AdvancedSearchCondition condition =
+            this.condition("userId", MatchMethod.NOT_EQUALS, "u1");
+        condition.setIndexName("app_log");
+        Assert.assertNull(
+            AdvancedQueryBuilder.routing(condition, routingFields)
+        );
+    }
+
+    /**
+     * Test highlight defaults to the CONTAINS fields and projects source.
+     */
+    @Test
+    public void highlightTest() {
+        AdvancedSearchCondition condition =
+            this.condition("address", MatchMethod.CONTAINS, "road");
+        HighlightSetting setting = new HighlightSetting();
+        setting.setSourceFields(Collections.singletonList("name"));
+
+        SearchSourceBuilder source = new SearchSourceBuilder();
+        AdvancedQueryBuilder.highlight(source, setting,
+            AdvancedQueryBuilder.matchFields(condition));
+        Assert.assertEquals("unified", source.highlighter().highlighterType());
+        Assert.assertEquals(
+            "address", source.highlighter().fields().get(0).name()
+        );
+        Assert.assertArrayEquals(
+            new String[] {"name"}, source.fetchSource().includes()
+        );
+
+        SearchSourceBuilder none = new SearchSourceBuilder();
+        AdvancedQueryBuilder.highlight(none, null,
+            AdvancedQueryBuilder.matchFields(condition));
+        Assert.assertNull(none.highlighter());
+        Assert.assertNull(none.fetchSource());
+    }
+
+    /**
+     * Test a field without type name takes the mapped type.
+     *
+     * @throws ParseException If something goes wrong.
+     */
+    @Test
+    public void inferTypeTest() throws ParseException {
+        AdvancedSearchCondition condition =
+            this.condition("amount", MatchMethod.GT, "10");
+        condition.getSearchMethod().get(0).setTypeName(null);
+        Assert.assertTrue(AdvancedQueryBuilder.needsFieldTypes(condition));
+
+        BoolQueryBuilder query = AdvancedQueryBuilder.build(
+            condition, Collections.singletonMap("amount", "scaled_float")
+        );
+        Assert.assertTrue(query.must().get(0) instanceof RangeQueryBuilder);
+    }
+
+    /**
+     * Test a field missing from the mapping is rejected.
+     *
+     * @throws ParseException If something goes wrong.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void inferUnknownTypeTest() throws ParseException {
+        AdvancedSearchCondition condition =
+            this.condition("amount", MatchMethod.GT, "10");
+        condition.getSearchMethod().get(0).setTypeName(null);
+        AdvancedQueryBuilder.build(condition, Collections.emptyMap());
+    }
+
+    /**
+     * Test values are converted to primitive bounds by type.
+     *
+     * @throws ParseException If something goes wrong.
+     */
+    @Test
+    public void typedConditionTest() throws ParseException {
+        AdvancedSearchCondition condition =
+            this.condition("amount", MatchMethod.GTE, " 10 ");
+        condition.getSearchMethod().get(0).setTypeName("BIGINT");
+        FieldCondition field = AdvancedQueryBuilder.compile(
+            condition, Collections.emptyMap()
+        ).get(0);
+        Assert.assertEquals(FieldCondition.Kind.INTEGRAL, field.getKind());
+        Assert.assertEquals(10L, field.getLowerLong());
+        Assert.assertEquals(
+            10L, ((RangeQueryBuilder) field.toQuery()).from()
+        );
+
+        condition.getSearchMethod().get(0).setTypeName("DOUBLE");
+        field = AdvancedQueryBuilder.compile(
+            condition, Collections.emptyMap()
+        ).get(0);
+        Assert.assertEquals(FieldCondition.Kind.FLOATING, field.getKind());
+        Assert.assertEquals(10.0, field.value());
+    }
+
+    /**
+     * Test a decimal bound keeps every digit.
+     *
+     * @throws ParseException If something goes wrong.
+     */
+    @Test
+    public void decimalConditionTest() throws ParseException {
+        AdvancedSearchCondition condition = this.condition(
+            "amount", MatchMethod.GTE, "12345678901234567.89"
+        );
+        condition.getSearchMethod().get(0).setTypeName("DECIMAL(19,2)");
+        FieldCondition field = AdvancedQueryBuilder.compile(
+            condition, Collections.emptyMap()
+        ).get(0);
+        Assert.assertEquals(FieldCondition.Kind.DECIMAL, field.getKind());
+        Assert.assertEquals(
+            new BigDecimal("12345678901234567.89"), field.value()
+        );
+    }
+
+    /**
+     * Test a date range is parsed to epoch milliseconds.
+     *
+     * @throws ParseException If something goes wrong.
+     */
+    @Test
+    public void dateRangeTest() throws ParseException {
+        AdvancedSearchCondition condition =
+            this.condition("createTime", MatchMethod.RANGE, null);
+        SearchField search = condition.getSearchMethod().get(0);
+        search.setTypeName("TIMESTAMP");
+        search.setBeginTime("2020-1-1 0:00:00");
+        search.setEndTime("2020-01-01 00:00:01");
+        FieldCondition field = AdvancedQueryBuilder.compile(
+            condition, Collections.emptyMap()
+        ).get(0);
+        Assert.assertEquals(FieldCondition.Kind.DATE, field.getKind());
+        Assert.assertEquals(
+            1000L, field.getUpperLong() - field.getLowerLong()
+        );
+    }
+
+    /**
+     * Test an invalid number fails before any request, naming the field.
+     *
+     * @throws ParseException If something goes wrong.
+     */
+    @Test
+    public void invalidNumberTest() throws ParseException {
+        AdvancedSearchCondition condition =
+            this.condition("amount", MatchMethod.EQUALS, "ten");
+        condition.getSearchMethod().get(0).setTypeName("INTEGER");
+        try {
+            AdvancedQueryBuilder.build(condition);
+            Assert.fail();
+        } catch (final IllegalArgumentException ex) {
+            Assert.assertEquals("Invalid number of amount: ten",
+                ex.getMessage());
+        }
+    }
+
+    /**
+     * Test a method the type does not support is rejected.
+     *
+     * @throws ParseException If something goes wrong.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void unsupportedMethodTest() throws ParseException {
+        AdvancedQueryBuilder.build(
+            this.condition("name", MatchMethod.GT, "a")
+        );
+    }
+
+    /**
+     * Test an invalid date is rejected.
+     *
+     * @throws ParseException If the date is invalid.
+     */
+    @Test(expected = ParseException.class)
+    public void invalidDateTest() throws ParseException {
+        AdvancedSearchCondition condition =
+            this.condition("createTime", MatchMethod.GT, null);
+        SearchField search = condition.getSearchMethod().get(0);
+        search.setTypeName("DATE");
+        search.setBeginTime("2020-13-01");
+        AdvancedQueryBuilder.build(condition);
+    }
+
+    /**
+     * Create single field condition.
+     *
+     * @param fieldName The field name.
+     * @param method The method.
+     * @param value The value.
+     * @return Condition.
+     */
+    private AdvancedSearchCondition condition(final String fieldName,
+        final String method, final String value) {
+        SearchField field = new SearchField();
+        field.setFieldName(fieldName);
+        field.setTypeName("VARCHAR");
+        field.setMethod(method);
+        field.setValue(value);
+        AdvancedSearchCondition condition = new AdvancedSearchCondition();
+        condition.setSearchMethod(Collections.singletonList(field));
+        return condition;
+    }
+}
@@ -0,0 +1,93 @@
+package com.lczyfz.elasticsearch.client;
+
+import com.lczyfz.elasticsearch.entity.AdvancedSearchCondition;
+import com.lczyfz.elasticsearch.entity.SearchResult;
+import java.util.Collections;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Advanced searcher test.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+public final class AdvancedSearcherTest {
+
+    /**
+     * Test a count below the threshold is accurate.
+     */
+    @Test
+    public void belowThresholdTest() {
+        SearchResult result = AdvancedSearcher.withThreshold(
+            page(), 99, false, 100
+        );
+        Assert.assertEquals(99, result.getTotal());
+        Assert.assertEquals("eq", result.getTotalRelation());
+    }
+
+    /**
+     * Test a count reaching the threshold is a lower bound.
+     */
+    @Test
+    public void atThresholdTest() {
+        SearchResult result = AdvancedSearcher.withThreshold(
+            page(), 100, null, 100
+        );
+        Assert.assertEquals(100, result.getTotal());
+        Assert.assertEquals("gte", result.getTotalRelation());
+
+        // Every shard counts up to the threshold, the sum is capped.
+        result = AdvancedSearcher.withThreshold(page(), 250, true, 100);
+        Assert.assertEquals(100, result.getTotal());
+        Assert.assertEquals("gte", result.getTotalRelation());
+    }
+
+    /**
+     * Test a terminated shard makes the count a lower bound.
+     */
+    @Test
+    public void terminatedTest() {
+        SearchResult result = AdvancedSearcher.withThreshold(
+            page(), 60, true, 100
+        );
+        Assert.assertEquals(60, result.getTotal());
+        Assert.assertEquals("gte", result.getTotalRelation());
+    }
+
+    /**
+     * Test the count request fetches no hits and stops per shard.
+     */
+    @Test
+    public void countRequestTest() {
+        AdvancedSearchCondition condition = new AdvancedSearchCondition();
+        condition.setIndexName("user");
+        condition.setPreference("session");
+        AdvancedSearcher searcher =
+            new AdvancedSearcher(null, Collections.emptyMap(), null);
+
+        SearchRequest request = searcher.countRequest(
+            condition, QueryBuilders.matchAllQuery(), 100
+        );
+        Assert.assertArrayEquals(new String[] {"user"}, request.indices());
+        Assert.assertEquals("session", request.preference());
+        Assert.assertEquals(0, request.source().size());
+        Assert.assertEquals(100, request.source().terminateAfter());
+
+        request = searcher.countRequest(
+            condition, QueryBuilders.matchAllQuery(), null
+        );
+        Assert.assertEquals(0, request.source().terminateAfter());
+    }
+
+    /**
+     * A page result without total.
+     *
+     * @return Search result.
+     */
+    private static SearchResult page() {
+        return new SearchResult(0, Collections.emptyList(), null);
+    }
+}
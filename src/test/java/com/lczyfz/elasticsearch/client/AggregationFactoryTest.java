@@ -0,0 +1,172 @@
+package com.lczyfz.elasticsearch.client;
+
+import com.lczyfz.elasticsearch.constant.AggregationMethod;
+import com.lczyfz.elasticsearch.entity.AggregationField;
+import com.lczyfz.elasticsearch.entity.AggregationResult;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.lucene.util.BytesRef;
+import org.elasticsearch.search.DocValueFormat;
+import org.elasticsearch.search.aggregations.Aggregations;
+import org.elasticsearch.search.aggregations.BucketOrder;
+import org.elasticsearch.search.aggregations.InternalAggregations;
+import org.elasticsearch.search.aggregations.bucket.range.RangeAggregationBuilder;
+import org.elasticsearch.search.aggregations.bucket.range.RangeAggregator;
+import org.elasticsearch.search.aggregations.bucket.terms.StringTerms;
+import org.elasticsearch.search.aggregations.bucket.terms.TermsAggregationBuilder;
+import org.elasticsearch.search.aggregations.metrics.max.InternalMax;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Aggregation factory test.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+public final class AggregationFactoryTest {
+
+    /**
+     * Test range boundaries are open at both ends.
+     */
+    @Test
+    public void rangeTest() {
+        AggregationField field = field(AggregationMethod.RANGE, "INTEGER");
+        field.setRanges(Arrays.asList(10.0, 20.0));
+
+        List<RangeAggregator.Range> ranges = ((RangeAggregationBuilder)
+            AggregationFactory.create(field, Collections.emptyMap()))
+            .ranges();
+        Assert.assertEquals(3, ranges.size());
+        Assert.assertEquals(Double.NEGATIVE_INFINITY,
+            ranges.get(0).getFrom(), 0);
+        Assert.assertEquals(10.0, ranges.get(0).getTo(), 0);
+        Assert.assertEquals(10.0, ranges.get(1).getFrom(), 0);
+        Assert.assertEquals(20.0, ranges.get(1).getTo(), 0);
+        Assert.assertEquals(20.0, ranges.get(2).getFrom(), 0);
+        Assert.assertEquals(Double.POSITIVE_INFINITY,
+            ranges.get(2).getTo(), 0);
+
+        field.setRanges(Collections.emptyList());
+        try {
+            AggregationFactory.create(field, Collections.emptyMap());
+            Assert.fail("Ranges are required");
+        } catch (final IllegalArgumentException ex) {
+            // expected
+        }
+    }
+
+    /**
+     * Test the field type must fit the method.
+     */
+    @Test
+    public void typeTest() {
+        AggregationField field = field(AggregationMethod.AVG, "VARCHAR");
+        try {
+            AggregationFactory.create(field, Collections.emptyMap());
+            Assert.fail("Average of text is invalid");
+        } catch (final IllegalArgumentException ex) {
+            Assert.assertTrue(ex.getMessage().contains("avg"));
+        }
+
+        field = field(AggregationMethod.MAX, "TIMESTAMP");
+        Assert.assertEquals("value", AggregationFactory.create(
+            field, Collections.emptyMap()).getName());
+    }
+
+    /**
+     * Test a text field is aggregated on its keyword sub field.
+     */
+    @Test
+    public void termsKeywordTest() {
+        AggregationField field = field(AggregationMethod.TERMS, "VARCHAR");
+        Map<String, String> fieldTypes = new HashMap<>();
+        fieldTypes.put("name", "text");
+        fieldTypes.put("name.keyword", "keyword");
+
+        TermsAggregationBuilder terms = (TermsAggregationBuilder)
+            AggregationFactory.create(field, fieldTypes);
+        Assert.assertEquals("name.keyword", terms.field());
+        Assert.assertEquals(10, terms.size());
+        Assert.assertTrue(AggregationFactory.needsFieldTypes(
+            Collections.singletonList(field)
+        ));
+
+        fieldTypes.remove("name.keyword");
+        try {
+            AggregationFactory.create(field, fieldTypes);
+            Assert.fail("Text without keyword can not be aggregated");
+        } catch (final IllegalArgumentException ex) {
+            Assert.assertTrue(ex.getMessage().contains("name"));
+        }
+
+        fieldTypes.put("name", "keyword");
+        Assert.assertEquals("name", ((TermsAggregationBuilder)
+            AggregationFactory.create(field, fieldTypes)).field());
+    }
+
+    /**
+     * Test buckets and values are extracted in the field order.
+     */
+    @Test
+    public void extractTest() {
+        StringTerms terms = new StringTerms("value", BucketOrder.count(false),
+            10, 1, Collections.emptyList(), Collections.emptyMap(),
+            DocValueFormat.RAW, 10, false, 0, Arrays.asList(
+                bucket("a", 3), bucket("b", 1)
+            ), 0);
+        InternalMax max = new InternalMax("max", 7.5, DocValueFormat.RAW,
+            Collections.emptyList(), Collections.emptyMap());
+        AggregationField maxField = field(AggregationMethod.MAX, "DOUBLE");
+        maxField.setName("max");
+
+        List<AggregationResult> results = AggregationFactory.extract(
+            new Aggregations(Arrays.asList(terms, max)),
+            Arrays.asList(maxField, field(AggregationMethod.TERMS, "CHAR"))
+        );
+        Assert.assertEquals(2, results.size());
+        Assert.assertEquals("max", results.get(0).getName());
+        Assert.assertEquals(7.5, results.get(0).getValue(), 0);
+        Assert.assertNull(results.get(0).getBuckets());
+        Assert.assertEquals("a", results.get(1).getBuckets().get(0).getKey());
+        Assert.assertEquals(3,
+            results.get(1).getBuckets().get(0).getDocCount());
+        Assert.assertEquals(2, results.get(1).getBuckets().size());
+
+        Assert.assertTrue(AggregationFactory.extract(
+            null, Collections.singletonList(maxField)).isEmpty());
+    }
+
+    /**
+     * Aggregation field on the name field.
+     *
+     * @param method Aggregation method.
+     * @param typeName Phoenix type name.
+     * @return Aggregation field.
+     */
+    private static AggregationField field(final String method,
+        final String typeName) {
+        AggregationField field = new AggregationField();
+        field.setName("value");
+        field.setFieldName("name");
+        field.setMethod(method);
+        field.setTypeName(typeName);
+        return field;
+    }
+
+    /**
+     * Terms bucket.
+     *
+     * @param key Bucket key.
+     * @param docCount Document count.
+     * @return Bucket.
+     */
+    private static StringTerms.Bucket bucket(final String key,
+        final long docCount) {
+        return new StringTerms.Bucket(new BytesRef(key), docCount,
+            InternalAggregations.EMPTY, false, 0, DocValueFormat.RAW);
+    }
+}
@@ -0,0 +1,38 @@
+package com.lczyfz.elasticsearch.client;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Bulk loader test.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+public final class BulkLoaderTest {
+
+    /**
+     * Test raw column values become mapped text, skipped columns and null
+     * values are left out.
+     */
+    @Test
+    public void rowsTest() {
+        String[] columns = {"id", "amount", "createTime", null, "remark"};
+        Timestamp time = Timestamp.valueOf("2026-10-19 08:30:00.125");
+        Object[] values = {7L, new BigDecimal("1E+3"), time, new byte[1], null};
+
+        List<Map<String, String>> rows = BulkLoader.rows(
+            columns, Collections.singletonList(values)
+        );
+        Map<String, String> row = rows.get(0);
+        Assert.assertEquals(3, row.size());
+        Assert.assertEquals("7", row.get("id"));
+        Assert.assertEquals("1000", row.get("amount"));
+        Assert.assertEquals("2026-10-19 08:30:00.125", row.get("createTime"));
+    }
+}
@@ -0,0 +1,85 @@
+package com.lczyfz.elasticsearch.client;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.apache.http.HttpHost;
+import org.elasticsearch.common.unit.TimeValue;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Client registry test.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+public final class ClientRegistryTest {
+
+    /**
+     * Test clients are shared until the hosts change.
+     *
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void swapTest() throws IOException {
+        try (ClientRegistry registry = new ClientRegistry()) {
+            registry.retireGrace(TimeValue.ZERO);
+            registry.register("search", Collections.singletonList(
+                new HttpHost("localhost", 9200)
+            ));
+            ClientRegistry.Lease lease = registry.lease("search");
+            EasyRestHighLevelClient client = lease.getClient();
+            client.close();
+            Assert.assertSame(client, registry.client("search"));
+
+            registry.register("search", Collections.singletonList(
+                new HttpHost("localhost", 9200)
+            ));
+            Assert.assertSame(client, registry.client("search"));
+
+            registry.register("search", Collections.singletonList(
+                new HttpHost("localhost", 9201)
+            ));
+            Assert.assertNotSame(client, registry.client("search"));
+            Assert.assertSame(client, lease.getClient());
+            lease.close();
+            lease.close();
+        }
+    }
+
+    /**
+     * Test a swapped in client keeps the settings of the old one.
+     *
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void settingsTest() throws IOException {
+        try (ClientRegistry registry = new ClientRegistry()) {
+            registry.retireGrace(TimeValue.ZERO);
+            List<HttpHost> hosts = new ArrayList<>();
+            hosts.add(new HttpHost("localhost", 9200));
+            EasyRestHighLevelClient client = registry.client("search", hosts);
+            client.routingField("user", "city");
+            Assert.assertSame(client, registry.client("search", hosts));
+
+            synchronized (hosts) {
+                hosts.set(0, new HttpHost("localhost", 9201));
+            }
+            EasyRestHighLevelClient swapped =
+                registry.client("search", hosts);
+            Assert.assertNotSame(client, swapped);
+            Assert.assertEquals("city",
+                swapped.settings().getRoutingFields().get("user"));
+        }
+    }
+
+    /**
+     * Test an unknown client is rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownTest() {
+        new ClientRegistry().lease("missing");
+    }
+}
@@ -0,0 +1,82 @@
+package com.lczyfz.elasticsearch.client;
+
+import com.lczyfz.elasticsearch.entity.FieldOption;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Data type mapping test.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+public final class DataTypeMappingTest {
+
+    /**
+     * Test numeric types use the narrowest elasticsearch type.
+     */
+    @Test
+    public void numericTest() {
+        Assert.assertEquals(
+            "short", DataTypeMapping.field("SMALLINT", null).get("type")
+        );
+        Assert.assertEquals(
+            "float", DataTypeMapping.field("float", null).get("type")
+        );
+        Assert.assertEquals(
+            "date", DataTypeMapping.field("TIMESTAMP", null).get("type")
+        );
+    }
+
+    /**
+     * Test decimal with scale becomes scaled float.
+     */
+    @Test
+    public void decimalTest() {
+        Map<String, Object> field =
+            DataTypeMapping.field("DECIMAL(10,2)", null);
+        Assert.assertEquals("scaled_float", field.get("type"));
+        Assert.assertEquals(100.0, field.get("scaling_factor"));
+        Assert.assertEquals(
+            "double", DataTypeMapping.field("DECIMAL", null).get("type")
+        );
+    }
+
+    /**
+     * Test decimal whose scaled value overflows a long stays double.
+     */
+    @Test
+    public void wideDecimalTest() {
+        Assert.assertEquals("scaled_float",
+            DataTypeMapping.field("DECIMAL(18,6)", null).get("type"));
+        Assert.assertEquals("double",
+            DataTypeMapping.field("DECIMAL(19,2)", null).get("type"));
+        Assert.assertEquals("double",
+            DataTypeMapping.field("DECIMAL(10,8)", null).get("type"));
+    }
+
+    /**
+     * Test field option is applied without touching shared mapping.
+     */
+    @Test
+    public void optionTest() {
+        FieldOption option = new FieldOption();
+        option.setDocValues(false);
+        option.setIndex(false);
+        Map<String, Object> field = DataTypeMapping.field("BIGINT", option);
+        Assert.assertEquals(false, field.get("doc_values"));
+        Assert.assertEquals(false, field.get("index"));
+        Assert.assertNull(
+            DataTypeMapping.field("BIGINT", null).get("doc_values")
+        );
+    }
+
+    /**
+     * Test unknown type is skipped.
+     */
+    @Test
+    public void unknownTest() {
+        Assert.assertNull(DataTypeMapping.field("VARBINARY", null));
+    }
+}
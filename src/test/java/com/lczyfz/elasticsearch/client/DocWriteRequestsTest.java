@@ -0,0 +1,157 @@
+package com.lczyfz.elasticsearch.client;
+
+import com.lczyfz.elasticsearch.constant.WriteMethod;
+import com.lczyfz.elasticsearch.entity.DumpCondition;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.update.UpdateRequest;
+import org.elasticsearch.index.VersionType;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Document write requests test.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+public final class DocWriteRequestsTest {
+
+    /**
+     * Test id derived from primary keys.
+     */
+    @Test
+    public void documentIdTest() {
+        DumpCondition condition = new DumpCondition();
+        condition.setPrimaryKeys(Arrays.asList("tenant", "id"));
+        condition.setWriteMethod(WriteMethod.CREATE);
+
+        DocWriteRequest<?> request = DocWriteRequests.create(
+            "jack_pan_test", this.row(), condition
+        );
+        Assert.assertEquals("t1|42", request.id());
+        Assert.assertEquals(DocWriteRequest.OpType.CREATE, request.opType());
+    }
+
+    /**
+     * Test the delimiter inside a key value is escaped.
+     */
+    @Test
+    public void escapedIdTest() {
+        Map<String, String> first = new HashMap<>(2);
+        first.put("a", "a|b");
+        first.put("b", "c");
+        Map<String, String> second = new HashMap<>(2);
+        second.put("a", "a");
+        second.put("b", "b|c");
+        Assert.assertNotEquals(
+            DocWriteRequests.documentId(first, Arrays.asList("a", "b")),
+            DocWriteRequests.documentId(second, Arrays.asList("a", "b"))
+        );
+        Assert.assertEquals("a\\|b|c",
+            DocWriteRequests.documentId(first, Arrays.asList("a", "b")));
+    }
+
+    /**
+     * Test a version that is not a number names the column.
+     */
+    @Test
+    public void badVersionTest() {
+        DumpCondition condition = new DumpCondition();
+        condition.setPrimaryKeys(Arrays.asList("id"));
+        condition.setVersionField("name");
+        try {
+            DocWriteRequests.create("jack_pan_test", this.row(), condition);
+            Assert.fail();
+        } catch (final IllegalArgumentException ex) {
+            Assert.assertTrue(ex.getMessage().contains("name"));
+            Assert.assertTrue(ex.getMessage().contains("42"));
+        }
+    }
+
+    /**
+     * Test upsert request.
+     */
+    @Test
+    public void upsertTest() {
+        DumpCondition condition = new DumpCondition();
+        condition.setPrimaryKeys(Arrays.asList("id"));
+        condition.setWriteMethod(WriteMethod.UPSERT);
+
+        DocWriteRequest<?> request = DocWriteRequests.create(
+            "jack_pan_test", this.row(), condition
+        );
+        Assert.assertTrue(request instanceof UpdateRequest);
+        Assert.assertTrue(((UpdateRequest) request).docAsUpsert());
+    }
+
+    /**
+     * Test external version.
+     */
+    @Test
+    public void externalVersionTest() {
+        DumpCondition condition = new DumpCondition();
+        condition.setPrimaryKeys(Arrays.asList("id"));
+        condition.setVersionField("version");
+
+        IndexRequest request = (IndexRequest) DocWriteRequests.create(
+            "jack_pan_test", this.row(), condition
+        );
+        Assert.assertEquals(7L, request.version());
+        Assert.assertEquals(VersionType.EXTERNAL, request.versionType());
+    }
+
+    /**
+     * Test an unknown write method and a versioned create are rejected.
+     */
+    @Test
+    public void writeMethodTest() {
+        DumpCondition condition = new DumpCondition();
+        condition.setPrimaryKeys(Arrays.asList("id"));
+        condition.setWriteMethod("Upsert");
+        try {
+            DocWriteRequests.create("jack_pan_test", this.row(), condition);
+            Assert.fail();
+        } catch (final IllegalArgumentException ex) {
+            Assert.assertEquals("Unknown write method: Upsert",
+                ex.getMessage());
+        }
+
+        condition.setWriteMethod(WriteMethod.CREATE);
+        condition.setVersionField("version");
+        try {
+            DocWriteRequests.create("jack_pan_test", this.row(), condition);
+            Assert.fail();
+        } catch (final IllegalArgumentException ex) {
+            Assert.assertEquals("External version is not supported by create",
+                ex.getMessage());
+        }
+    }
+
+    /**
+     * Test missing primary key value.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void missingPrimaryKeyTest() {
+        DumpCondition condition = new DumpCondition();
+        condition.setPrimaryKeys(Arrays.asList("missing"));
+        DocWriteRequests.create("jack_pan_test", this.row(), condition);
+    }
+
+    /**
+     * Create a test row.
+     *
+     * @return Row data.
+     */
+    private Map<String, String> row() {
+        Map<String, String> data = new HashMap<>(4);
+        data.put("tenant", "t1");
+        data.put("id", "42");
+        data.put("version", "7");
+        data.put("name", "jackPan");
+        return data;
+    }
+}
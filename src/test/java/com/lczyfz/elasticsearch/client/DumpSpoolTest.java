@@ -0,0 +1,132 @@
+package com.lczyfz.elasticsearch.client;
+
+import com.alibaba.fastjson.JSON;
+import com.lczyfz.elasticsearch.entity.SpoolSetting;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import org.elasticsearch.ElasticsearchStatusException;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.index.IndexResponse;
+import org.elasticsearch.index.shard.ShardId;
+import org.elasticsearch.rest.RestStatus;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Dump spool test.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+public final class DumpSpoolTest {
+
+    /**
+     * Temporary spool directory.
+     */
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Test failed rows are split into retryable and refused ones.
+     */
+    @Test
+    public void failedRowsTest() {
+        List<Map<String, String>> dataList = Arrays.asList(
+            Collections.singletonMap("id", "1"),
+            Collections.singletonMap("id", "2"),
+            Collections.singletonMap("id", "3")
+        );
+        BulkResponse response = new BulkResponse(new BulkItemResponse[] {
+            success(0),
+            failure(1, RestStatus.TOO_MANY_REQUESTS),
+            failure(2, RestStatus.BAD_REQUEST),
+        }, 1);
+
+        Assert.assertEquals(Collections.singletonList(dataList.get(1)),
+            DumpSpool.failedRows(dataList, response, true));
+        Assert.assertEquals(Collections.singletonList(dataList.get(2)),
+            DumpSpool.failedRows(dataList, response, false));
+    }
+
+    /**
+     * Test a partly written replay spools only the rows refused with 429
+     * and dead letters the rows refused for good.
+     *
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void partialReplayTest() throws IOException {
+        List<Map<String, String>> dataList = Arrays.asList(
+            Collections.singletonMap("id", "1"),
+            Collections.singletonMap("id", "2"),
+            Collections.singletonMap("id", "3")
+        );
+        Deque<BulkResponse> responses = new ArrayDeque<>();
+        responses.add(new BulkResponse(new BulkItemResponse[] {
+            success(0), failure(1, RestStatus.TOO_MANY_REQUESTS),
+            failure(2, RestStatus.BAD_REQUEST),
+        }, 1));
+        responses.add(new BulkResponse(new BulkItemResponse[] {
+            success(0),
+        }, 1));
+        List<List<Map<String, String>>> sent = new ArrayList<>();
+        DumpSpool.BatchWriter writer = (indexName, rows, condition) -> {
+            sent.add(rows);
+            if (sent.size() == 1) {
+                throw new IOException("connection refused");
+            }
+            return responses.poll();
+        };
+
+        try (DumpSpool spool = new DumpSpool(writer, () -> true,
+            this.folder.getRoot().toPath(), new SpoolSetting())) {
+            Assert.assertNull(spool.dump("user", dataList, null));
+            Assert.assertFalse(spool.drain());
+            Assert.assertEquals(dataList, sent.get(1));
+            Assert.assertEquals("3", JSON.parseObject(spool.takeDeadLetter())
+                .getJSONArray("data").getJSONObject(0).getString("id"));
+
+            Assert.assertTrue(spool.drain());
+            Assert.assertEquals(Collections.singletonList(dataList.get(1)),
+                sent.get(2));
+            Assert.assertTrue(spool.isEmpty());
+            Assert.assertNull(spool.takeDeadLetter());
+        }
+    }
+
+    /**
+     * Written bulk item.
+     *
+     * @param id Item id.
+     * @return Bulk item.
+     */
+    private static BulkItemResponse success(final int id) {
+        return new BulkItemResponse(id, DocWriteRequest.OpType.INDEX,
+            new IndexResponse(new ShardId("user", "_na_", 0), "_doc",
+                String.valueOf(id), 1, 1, 1, true));
+    }
+
+    /**
+     * Failed bulk item.
+     *
+     * @param id Item id.
+     * @param status Failure status.
+     * @return Bulk item.
+     */
+    private static BulkItemResponse failure(final int id,
+        final RestStatus status) {
+        return new BulkItemResponse(id, DocWriteRequest.OpType.INDEX,
+            new BulkItemResponse.Failure("user", "_doc", String.valueOf(id),
+                new ElasticsearchStatusException("failed", status)));
+    }
+}
@@ -0,0 +1,116 @@
+package com.lczyfz.elasticsearch.client;
+
+import com.lczyfz.elasticsearch.entity.FederatedSearchCondition;
+import com.lczyfz.elasticsearch.entity.SearchResult;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.lucene.util.BytesRef;
+import org.elasticsearch.action.OriginalIndices;
+import org.elasticsearch.common.bytes.BytesArray;
+import org.elasticsearch.common.text.Text;
+import org.elasticsearch.index.shard.ShardId;
+import org.elasticsearch.search.DocValueFormat;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.SearchHits;
+import org.elasticsearch.search.SearchShardTarget;
+import org.elasticsearch.search.aggregations.AggregationBuilder;
+import org.elasticsearch.search.aggregations.Aggregations;
+import org.elasticsearch.search.aggregations.BucketOrder;
+import org.elasticsearch.search.aggregations.InternalAggregations;
+import org.elasticsearch.search.aggregations.bucket.terms.StringTerms;
+import org.elasticsearch.search.aggregations.bucket.terms.TermsAggregationBuilder;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Federated searcher test.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+public final class FederatedSearcherTest {
+
+    /**
+     * Test the source aggregates the totals on the index field.
+     */
+    @Test
+    public void sourceTest() {
+        FederatedSearchCondition condition = new FederatedSearchCondition();
+        condition.setIndexName("user", "order");
+        condition.setKeyword("jack");
+        Map<String, Float> boosts = new HashMap<>(1);
+        boosts.put("user", 2.0F);
+        condition.setIndexBoosts(boosts);
+
+        SearchSourceBuilder source = FederatedSearcher.source(condition, 20);
+        Assert.assertEquals(20, source.size());
+        Assert.assertEquals(1, source.indexBoosts().size());
+        Assert.assertEquals(2.0F, source.indexBoosts().get(0).getBoost(), 0);
+        AggregationBuilder aggregation = source.aggregations()
+            .getAggregatorFactories().iterator().next();
+        TermsAggregationBuilder terms = (TermsAggregationBuilder) aggregation;
+        Assert.assertEquals("index_totals", terms.getName());
+        Assert.assertEquals("_index", terms.field());
+        Assert.assertEquals(1000, terms.size());
+    }
+
+    /**
+     * Test the hits keep their index and the totals follow the buckets.
+     */
+    @Test
+    public void resultTest() {
+        SearchHits hits = new SearchHits(new SearchHit[] {
+            hit("1", "user"), hit("2", "order"), hit("3", "user")
+        }, 9, 1.0F);
+        StringTerms totals = new StringTerms("index_totals",
+            BucketOrder.count(false), 10, 1, Collections.emptyList(),
+            Collections.emptyMap(), DocValueFormat.RAW, 10, false, 0,
+            Arrays.asList(bucket("user", 7), bucket("order", 2)), 0);
+
+        SearchResult result = FederatedSearcher.result(hits,
+            new Aggregations(Collections.singletonList(totals)), null);
+        Assert.assertEquals(9, result.getTotal());
+        Assert.assertEquals(Arrays.asList("user", "order", "user"),
+            result.getHitIndices());
+        Assert.assertEquals(Arrays.asList("user", "order"),
+            Arrays.asList(result.getIndexTotals().keySet().toArray()));
+        Assert.assertEquals(Long.valueOf(7),
+            result.getIndexTotals().get("user"));
+
+        Assert.assertTrue(FederatedSearcher.result(hits, null, null)
+            .getIndexTotals().isEmpty());
+    }
+
+    /**
+     * Search hit of an index.
+     *
+     * @param id Document id.
+     * @param index Index name.
+     * @return Search hit.
+     */
+    private static SearchHit hit(final String id, final String index) {
+        SearchHit hit = new SearchHit(
+            Integer.parseInt(id), id, new Text("_doc"), Collections.emptyMap()
+        );
+        hit.sourceRef(new BytesArray("{\"id\":\"" + id + "\"}"));
+        hit.shard(new SearchShardTarget("node", new ShardId(index, "_na_", 0),
+            null, OriginalIndices.NONE));
+        return hit;
+    }
+
+    /**
+     * Terms bucket.
+     *
+     * @param key Bucket key.
+     * @param docCount Document count.
+     * @return Bucket.
+     */
+    private static StringTerms.Bucket bucket(final String key,
+        final long docCount) {
+        return new StringTerms.Bucket(new BytesRef(key), docCount,
+            InternalAggregations.EMPTY, false, 0, DocValueFormat.RAW);
+    }
+}
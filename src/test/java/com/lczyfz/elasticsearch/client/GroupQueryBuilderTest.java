@@ -0,0 +1,145 @@
+package com.lczyfz.elasticsearch.client;
+
+import com.lczyfz.elasticsearch.constant.GroupOperator;
+import com.lczyfz.elasticsearch.constant.MatchMethod;
+import com.lczyfz.elasticsearch.entity.SearchField;
+import com.lczyfz.elasticsearch.entity.SearchGroup;
+import java.text.ParseException;
+import java.util.Arrays;
+import java.util.Collections;
+import org.elasticsearch.index.query.BoolQueryBuilder;
+import org.elasticsearch.index.query.RangeQueryBuilder;
+import org.elasticsearch.index.query.TermsQueryBuilder;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Group query builder test.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+public final class GroupQueryBuilderTest {
+
+    /**
+     * Test equals of one field in an OR group become a terms query.
+     *
+     * @throws ParseException If something goes wrong.
+     */
+    @Test
+    public void orEqualsTest() throws ParseException {
+        SearchGroup group = this.group(GroupOperator.OR,
+            this.field("status", MatchMethod.EQUALS, "a"),
+            this.field("status", MatchMethod.EQUALS, "b"),
+            this.field("status", MatchMethod.EQUALS, "a"));
+
+        BoolQueryBuilder query = GroupQueryBuilder.build(
+            null, group, Collections.emptyMap()
+        );
+        Assert.assertEquals(1, query.must().size());
+        TermsQueryBuilder terms = (TermsQueryBuilder) query.must().get(0);
+        Assert.assertEquals("status", terms.fieldName());
+        Assert.assertEquals(Arrays.asList("a", "b"), terms.values());
+    }
+
+    /**
+     * Test bounds of one field in nested AND groups merge into one range.
+     *
+     * @throws ParseException If something goes wrong.
+     */
+    @Test
+    public void andRangeTest() throws ParseException {
+        SearchGroup inner = this.group(GroupOperator.AND,
+            this.field("age", MatchMethod.GTE, "7"),
+            this.field("age", MatchMethod.LT, "10"));
+        SearchGroup group = this.group(GroupOperator.AND,
+            this.field("age", MatchMethod.GT, "5"),
+            this.field("age", MatchMethod.GT, "7"));
+        group.setGroups(Collections.singletonList(inner));
+
+        BoolQueryBuilder query = GroupQueryBuilder.build(
+            Collections.singletonList(
+                this.field("age", MatchMethod.LTE, "20")
+            ), group, Collections.emptyMap()
+        );
+        Assert.assertEquals(1, query.must().size());
+        RangeQueryBuilder range = (RangeQueryBuilder) query.must().get(0);
+        Assert.assertEquals(7L, range.from());
+        Assert.assertFalse(range.includeLower());
+        Assert.assertEquals(10L, range.to());
+        Assert.assertFalse(range.includeUpper());
+    }
+
+    /**
+     * Test NOT groups exclude their members and duplicates are dropped.
+     *
+     * @throws ParseException If something goes wrong.
+     */
+    @Test
+    public void notTest() throws ParseException {
+        SearchGroup not = this.group(GroupOperator.NOT,
+            this.field("status", MatchMethod.EQUALS, "a"),
+            this.field("status", MatchMethod.EQUALS, "b"));
+        SearchGroup group = this.group(GroupOperator.AND,
+            this.field("status", MatchMethod.NOT_EQUALS, "c"),
+            this.field("status", MatchMethod.NOT_EQUALS, "c"));
+        group.setGroups(Collections.singletonList(not));
+
+        BoolQueryBuilder query = GroupQueryBuilder.build(
+            null, group, Collections.emptyMap()
+        );
+        Assert.assertEquals(1, query.mustNot().size());
+        BoolQueryBuilder nested = (BoolQueryBuilder) query.must().get(0);
+        Assert.assertTrue(
+            nested.mustNot().get(0) instanceof TermsQueryBuilder
+        );
+    }
+
+    /**
+     * Test an unknown operator is rejected.
+     *
+     * @throws ParseException If something goes wrong.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownOperatorTest() throws ParseException {
+        SearchGroup group = this.group("XOR",
+            this.field("status", MatchMethod.EQUALS, "a"));
+        GroupQueryBuilder.build(null, group, Collections.emptyMap());
+    }
+
+    /**
+     * Create group.
+     *
+     * @param operator The operator.
+     * @param fields The fields.
+     * @return Group.
+     */
+    private SearchGroup group(final String operator,
+        final SearchField... fields) {
+        SearchGroup group = new SearchGroup();
+        group.setOperator(operator);
+        group.setFields(Arrays.asList(fields));
+        return group;
+    }
+
+    /**
+     * Create field, names starting with status are strings, others are
+     * integers.
+     *
+     * @param fieldName The field name.
+     * @param method The method.
+     * @param value The value.
+     * @return Field.
+     */
+    private SearchField field(final String fieldName, final String method,
+        final String value) {
+        SearchField field = new SearchField();
+        field.setFieldName(fieldName);
+        field.setTypeName(
+            fieldName.startsWith("status") ? "VARCHAR" : "INTEGER"
+        );
+        field.setMethod(method);
+        field.setValue(value);
+        return field;
+    }
+}
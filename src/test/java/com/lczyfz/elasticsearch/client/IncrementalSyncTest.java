@@ -0,0 +1,99 @@
+package com.lczyfz.elasticsearch.client;
+
+import com.lczyfz.elasticsearch.entity.SyncCondition;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Incremental sync test.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+public final class IncrementalSyncTest {
+
+    /**
+     * Temporary checkpoint directory.
+     */
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Test the select statement is bounded by the watermarks.
+     */
+    @Test
+    public void queryTest() {
+        SyncCondition condition = this.condition();
+        IncrementalSync.validate(condition);
+        Assert.assertEquals("SELECT * FROM DB.ORDERS WHERE UPDATED <= ?",
+            IncrementalSync.query(condition, false));
+
+        condition.setColumns(Arrays.asList("ID", "NAME", "UPDATED"));
+        Assert.assertEquals("SELECT ID, NAME, UPDATED FROM DB.ORDERS"
+                + " WHERE UPDATED <= ? AND UPDATED >= ?",
+            IncrementalSync.query(condition, true));
+
+        condition.setWatermarkColumn("UPDATED; DROP TABLE X");
+        try {
+            IncrementalSync.validate(condition);
+            Assert.fail();
+        } catch (final IllegalArgumentException ex) {
+            Assert.assertTrue(ex.getMessage().startsWith("Invalid"));
+        }
+
+        condition = this.condition();
+        condition.setWatermarkType("VARCHAR");
+        try {
+            IncrementalSync.validate(condition);
+            Assert.fail();
+        } catch (final IllegalArgumentException ex) {
+            Assert.assertTrue(ex.getMessage().startsWith("Watermark type"));
+        }
+    }
+
+    /**
+     * Test the watermark text and the checkpoint round trip.
+     *
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void checkpointTest() throws IOException {
+        Assert.assertEquals("1500", IncrementalSync.text(new Timestamp(1500)));
+        Assert.assertEquals("12.50",
+            IncrementalSync.text(new BigDecimal("12.50")));
+        Assert.assertEquals("7", IncrementalSync.text(7L));
+        Assert.assertNull(IncrementalSync.text(null));
+
+        Path directory = this.folder.getRoot().toPath().resolve("sync");
+        IncrementalSync sync = new IncrementalSync(null, directory);
+        Assert.assertNull(sync.watermark("orders"));
+        sync.checkpoint("orders", "1500");
+        Assert.assertEquals("1500",
+            new IncrementalSync(null, directory).watermark("orders"));
+        sync.reset("orders");
+        Assert.assertNull(sync.watermark("orders"));
+    }
+
+    /**
+     * A valid sync condition.
+     *
+     * @return Sync condition.
+     */
+    private SyncCondition condition() {
+        SyncCondition condition = new SyncCondition();
+        condition.setIndexName("orders");
+        condition.setTableName("DB.ORDERS");
+        condition.setWatermarkColumn("UPDATED");
+        condition.setWatermarkType("TIMESTAMP");
+        condition.setPrimaryKeys(Collections.singletonList("ID"));
+        return condition;
+    }
+}
@@ -0,0 +1,92 @@
+package com.lczyfz.elasticsearch.client;
+
+import com.alibaba.fastjson.JSON;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.elasticsearch.action.admin.indices.alias.IndicesAliasesRequest.AliasActions;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Index alias manager test.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+public final class IndexAliasManagerTest {
+
+    /**
+     * Generation index of the test alias.
+     */
+    private static final String GENERATION =
+        "db_orders_0123456789abcdef0123456789abcdef";
+
+    /**
+     * Test only uuid suffixed indices of the alias are generations.
+     */
+    @Test
+    public void generationTest() {
+        Assert.assertTrue(
+            IndexAliasManager.isGeneration("db_orders", GENERATION));
+        Assert.assertFalse(IndexAliasManager.isGeneration("db_orders",
+            "db_orders_archive"));
+        Assert.assertFalse(IndexAliasManager.isGeneration("db",
+            "db_orders_0123456789abcdef0123456789abcdef"));
+        Assert.assertFalse(IndexAliasManager.isGeneration("db_orders",
+            "db_orders_0123456789abcdef0123456789abcdef_suggest"));
+    }
+
+    /**
+     * Test the swap removes the previous indices and adds the new one in
+     * one request.
+     */
+    @Test
+    public void swapRequestTest() {
+        List<AliasActions> actions = IndexAliasManager.swapRequest(
+            "db_orders", Arrays.asList("old_1", "old_2"), GENERATION
+        ).getAliasActions();
+        Assert.assertEquals(2, actions.size());
+        Assert.assertEquals(AliasActions.Type.REMOVE,
+            actions.get(0).actionType());
+        Assert.assertArrayEquals(new String[] {"old_1", "old_2"},
+            actions.get(0).indices());
+        Assert.assertEquals(AliasActions.Type.ADD,
+            actions.get(1).actionType());
+        Assert.assertArrayEquals(new String[] {GENERATION},
+            actions.get(1).indices());
+        Assert.assertArrayEquals(new String[] {"db_orders"},
+            actions.get(1).aliases());
+
+        Assert.assertEquals(1, IndexAliasManager.swapRequest("db_orders",
+            Collections.emptyList(), GENERATION).getAliasActions().size());
+    }
+
+    /**
+     * Test a reindex with failures or a timeout is rejected.
+     *
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void checkReindexTest() throws IOException {
+        IndexAliasManager.checkReindex(JSON.parseObject(
+            "{\"completed\":true,\"response\":"
+                + "{\"timed_out\":false,\"failures\":[]}}"));
+        String[] failed = {
+            "{\"completed\":true,\"error\":{\"type\":\"x\"}}",
+            "{\"completed\":true,\"response\":"
+                + "{\"timed_out\":false,\"failures\":[{\"id\":\"1\"}]}}",
+            "{\"completed\":true,\"response\":"
+                + "{\"timed_out\":true,\"failures\":[]}}"
+        };
+        for (final String status : failed) {
+            try {
+                IndexAliasManager.checkReindex(JSON.parseObject(status));
+                Assert.fail(status);
+            } catch (final IOException ex) {
+                Assert.assertTrue(ex.getMessage().startsWith("Reindex"));
+            }
+        }
+    }
+}
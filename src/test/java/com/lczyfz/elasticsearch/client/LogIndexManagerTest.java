@@ -0,0 +1,101 @@
+package com.lczyfz.elasticsearch.client;
+
+import com.lczyfz.elasticsearch.constant.MatchMethod;
+import com.lczyfz.elasticsearch.entity.AdvancedSearchCondition;
+import com.lczyfz.elasticsearch.entity.SearchField;
+import java.time.LocalDate;
+import java.util.Collections;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Log index manager test.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+public final class LogIndexManagerTest {
+
+    /**
+     * Test createTime range prunes to daily indices.
+     */
+    @Test
+    public void pruneRangeTest() {
+        LocalDate today = LocalDate.of(2026, 10, 19);
+        SearchField field = new SearchField();
+        field.setFieldName("createTime");
+        field.setTypeName("DATE");
+        field.setMethod(MatchMethod.RANGE);
+        field.setBeginTime("2026-10-17 00:00:00");
+        field.setEndTime("2026-10-18 23:59:59");
+        AdvancedSearchCondition condition = new AdvancedSearchCondition();
+        condition.setSearchMethod(Collections.singletonList(field));
+
+        Assert.assertArrayEquals(
+            new String[] {
+                "app_log-2026.10.16-*",
+                "app_log-2026.10.17-*",
+                "app_log-2026.10.18-*",
+            },
+            LogIndexManager.indices("app_log", 30, condition, today)
+        );
+    }
+
+    /**
+     * Test the range is cut at the retention days.
+     */
+    @Test
+    public void pruneRetentionTest() {
+        SearchField field = new SearchField();
+        field.setFieldName("createTime");
+        field.setTypeName("DATE");
+        field.setMethod(MatchMethod.GTE);
+        field.setBeginTime("2020-01-01 00:00:00");
+        AdvancedSearchCondition condition = new AdvancedSearchCondition();
+        condition.setSearchMethod(Collections.singletonList(field));
+
+        Assert.assertArrayEquals(
+            new String[] {
+                "app_log-2026.10.17-*",
+                "app_log-2026.10.18-*",
+                "app_log-2026.10.19-*",
+            },
+            LogIndexManager.indices(
+                "app_log", 1, condition, LocalDate.of(2026, 10, 19)
+            )
+        );
+    }
+
+    /**
+     * Test no createTime condition searches every log index.
+     */
+    @Test
+    public void pruneUnboundedTest() {
+        Assert.assertArrayEquals(
+            new String[] {"app_log-*"},
+            LogIndexManager.indices("app_log", 30,
+                new AdvancedSearchCondition(), LocalDate.now())
+        );
+    }
+
+    /**
+     * Test the pruned condition is a copy.
+     */
+    @Test
+    public void pruneCopyTest() {
+        AdvancedSearchCondition condition = new AdvancedSearchCondition();
+        condition.setIndexName("other");
+        condition.setPreference("session");
+
+        AdvancedSearchCondition pruned =
+            new LogIndexManager(null, "app_log").prune(condition);
+
+        Assert.assertArrayEquals(
+            new String[] {"other"}, condition.getIndexName()
+        );
+        Assert.assertArrayEquals(
+            new String[] {"app_log-*"}, pruned.getIndexName()
+        );
+        Assert.assertEquals("session", pruned.getPreference());
+    }
+}
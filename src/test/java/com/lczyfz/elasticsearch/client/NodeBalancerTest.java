@@ -0,0 +1,98 @@
+package com.lczyfz.elasticsearch.client;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.apache.http.HttpHost;
+import org.elasticsearch.client.Node;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Node balancer test.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+public final class NodeBalancerTest {
+
+    /**
+     * Test dedicated masters are skipped unless no other node is left.
+     */
+    @Test
+    public void masterTest() {
+        Node master = node("master", new Node.Roles(true, false, false));
+        Node data = node("data", new Node.Roles(true, true, false));
+        NodeBalancer balancer = new NodeBalancer();
+
+        List<Node> nodes = new ArrayList<>(Arrays.asList(master, data));
+        balancer.select(nodes);
+        Assert.assertEquals(Collections.singletonList(data), nodes);
+
+        nodes = new ArrayList<>(Collections.singletonList(master));
+        balancer.select(nodes);
+        Assert.assertEquals(Collections.singletonList(master), nodes);
+    }
+
+    /**
+     * Test the best node is always kept and a slow node is kept less.
+     */
+    @Test
+    public void weightTest() {
+        Node fast = node("fast", null);
+        Node slow = node("slow", null);
+        NodeBalancer balancer = new NodeBalancer();
+        balancer.record(fast.getHost(), 10, false);
+        balancer.record(slow.getHost(), 10, true);
+        Assert.assertTrue(balancer.score(slow.getHost())
+            > balancer.score(fast.getHost()));
+
+        int slowKept = 0;
+        for (int i = 0; i < 1000; i++) {
+            List<Node> nodes = new ArrayList<>(Arrays.asList(slow, fast));
+            balancer.select(nodes);
+            Assert.assertTrue(nodes.contains(fast));
+            slowKept += nodes.size() - 1;
+        }
+        Assert.assertTrue(slowKept > 0 && slowKept < 900);
+    }
+
+    /**
+     * Test parsing of the nodes info response.
+     */
+    @Test
+    public void parseTest() {
+        String body = "{\"nodes\":{"
+            + "\"a\":{\"name\":\"es-1\",\"version\":\"6.5.4\","
+            + "\"roles\":[\"master\",\"data\",\"ingest\"],"
+            + "\"http\":{\"publish_address\":\"es-1/10.0.0.1:9200\"}},"
+            + "\"b\":{\"name\":\"es-2\",\"version\":\"6.5.4\","
+            + "\"roles\":[\"master\"],"
+            + "\"http\":{\"publish_address\":\"10.0.0.2:9201\"}},"
+            + "\"c\":{\"name\":\"es-3\",\"roles\":[\"data\"]}}}";
+        List<Node> nodes = NodeSniffer.parse(body, "https");
+        Assert.assertEquals(2, nodes.size());
+        Node first = nodes.get(0);
+        Assert.assertEquals(new HttpHost("es-1", 9200, "https"),
+            first.getHost());
+        Assert.assertEquals("es-1", first.getName());
+        Assert.assertTrue(first.getRoles().isData());
+        Node second = nodes.get(1);
+        Assert.assertEquals(new HttpHost("10.0.0.2", 9201, "https"),
+            second.getHost());
+        Assert.assertFalse(second.getRoles().isData());
+    }
+
+    /**
+     * A test node.
+     *
+     * @param name Host name.
+     * @param roles Node roles, may be null.
+     * @return Node.
+     */
+    private static Node node(final String name, final Node.Roles roles) {
+        return new Node(new HttpHost(name, 9200), null, name, null, roles,
+            null);
+    }
+}
@@ -0,0 +1,287 @@
+package com.lczyfz.elasticsearch.client;
+
+import com.lczyfz.elasticsearch.entity.ConcurrencySetting;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+import org.elasticsearch.ElasticsearchStatusException;
+import org.elasticsearch.rest.RestStatus;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Request guard test.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+public final class RequestGuardTest {
+
+    /**
+     * Fake clock in milliseconds.
+     */
+    private final AtomicLong time = new AtomicLong();
+
+    /**
+     * Test calls over the in-flight limit are rejected.
+     *
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void limiterTest() throws IOException {
+        ConcurrencySetting setting = setting();
+        setting.setInitialLimit(2);
+        RequestGuard guard = this.guard(setting);
+
+        Assert.assertTrue(guard.tryAcquire());
+        Assert.assertTrue(guard.tryAcquire());
+        Assert.assertFalse(guard.tryAcquire());
+        this.assertRejected(guard);
+        guard.finish(10, null);
+        Assert.assertEquals("ok", guard.call(this.latency(10)));
+    }
+
+    /**
+     * Test the limit grows additively and shrinks multiplicatively.
+     *
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void aimdTest() throws IOException {
+        ConcurrencySetting setting = setting();
+        setting.setInitialLimit(2);
+        // Keep the circuit closed.
+        setting.setMinimumCalls(100);
+        RequestGuard guard = this.guard(setting);
+
+        // 2 + 1/2 + 1/2.5 + 1/2.9
+        for (int i = 0; i < 3; i++) {
+            guard.call(this.latency(10));
+        }
+        Assert.assertEquals(3, guard.limit());
+
+        setting.setInitialLimit(10);
+        guard = this.guard(setting);
+        guard.call(this.latency(10));
+        Assert.assertEquals(10, guard.limit());
+        // Over twice the baseline, but far from the limit.
+        guard.call(this.latency(50));
+        Assert.assertEquals(10, guard.limit());
+        try {
+            guard.call(() -> {
+                throw new IOException("connection reset");
+            });
+            Assert.fail("Failure is rethrown");
+        } catch (final IOException ex) {
+            // expected
+        }
+        Assert.assertEquals(9, guard.limit());
+
+        // A bad request is a fast answer of the cluster.
+        try {
+            guard.call(() -> {
+                throw new ElasticsearchStatusException(
+                    "bad", RestStatus.BAD_REQUEST
+                );
+            });
+            Assert.fail("Failure is rethrown");
+        } catch (final ElasticsearchStatusException ex) {
+            // expected
+        }
+        Assert.assertEquals(9, guard.limit());
+
+        guard = this.guard(setting);
+        guard.call(this.latency(10));
+        // Over twice the baseline with 9 of 10 in flight.
+        for (int i = 0; i < 8; i++) {
+            Assert.assertTrue(guard.tryAcquire());
+        }
+        guard.call(this.latency(50));
+        Assert.assertEquals(9, guard.limit());
+    }
+
+    /**
+     * Test the spread of cheap and heavy requests keeps the limit.
+     *
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void mixedLatencyTest() throws IOException {
+        ConcurrencySetting setting = setting();
+        setting.setMinimumCalls(100);
+        RequestGuard guard = this.guard(setting);
+        for (int i = 0; i < 3; i++) {
+            Assert.assertTrue(guard.tryAcquire());
+        }
+        long[] latencies = {5, 200, 40, 5, 900, 15};
+        for (int i = 0; i < 3000; i++) {
+            guard.call(this.latency(latencies[i % latencies.length]));
+        }
+        Assert.assertTrue(guard.limit() >= 10);
+    }
+
+    /**
+     * Test the circuit opens, lets one probe through and closes.
+     *
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void circuitTest() throws IOException {
+        RequestGuard guard = this.guard(setting());
+        this.fail(guard);
+        this.fail(guard);
+        this.assertRejected(guard);
+
+        this.time.addAndGet(1000);
+        Assert.assertEquals("ok", guard.call(() -> {
+            // Only the probe passes.
+            this.assertRejected(guard);
+            Assert.assertFalse(guard.tryAcquire());
+            return "ok";
+        }));
+        Assert.assertEquals("ok", guard.call(this.latency(10)));
+        Assert.assertEquals("ok", guard.call(this.latency(10)));
+    }
+
+    /**
+     * Test only the probe decides the half open circuit.
+     *
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void probeTest() throws IOException {
+        RequestGuard guard = this.guard(setting());
+        Assert.assertTrue(guard.tryAcquire());
+        this.fail(guard);
+        this.fail(guard);
+
+        this.time.addAndGet(1000);
+        try {
+            guard.call(() -> {
+                // A call started before the circuit opened succeeds.
+                guard.finish(10, null);
+                this.assertRejected(guard);
+                throw new IOException("still down");
+            });
+            Assert.fail("Failure is rethrown");
+        } catch (final RejectedRequestException ex) {
+            throw ex;
+        } catch (final IOException ex) {
+            // expected
+        }
+        this.assertRejected(guard);
+    }
+
+    /**
+     * Test an unknown runtime exception is not recorded.
+     *
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void neutralTest() throws IOException {
+        RequestGuard guard = this.guard(setting());
+        for (int i = 0; i < 3; i++) {
+            this.bug(guard);
+        }
+        Assert.assertEquals(10, guard.limit());
+        Assert.assertEquals("ok", guard.call(this.latency(10)));
+
+        RequestGuard opened = this.guard(setting());
+        this.fail(opened);
+        this.fail(opened);
+        this.time.addAndGet(1000);
+        this.bug(opened);
+        // The circuit stays open and the next call probes again.
+        Assert.assertEquals("ok", opened.call(this.latency(10)));
+        Assert.assertEquals("ok", opened.call(this.latency(10)));
+    }
+
+    /**
+     * Setting opening on half of two calls for one second.
+     *
+     * @return Concurrency setting.
+     */
+    private static ConcurrencySetting setting() {
+        ConcurrencySetting setting = new ConcurrencySetting();
+        setting.setInitialLimit(10);
+        setting.setWindowSize(2);
+        setting.setMinimumCalls(2);
+        setting.setFailureRateThreshold(0.5);
+        setting.setOpenMillis(1000);
+        return setting;
+    }
+
+    /**
+     * Guard on the fake clock.
+     *
+     * @param setting Concurrency setting.
+     * @return Request guard.
+     */
+    private RequestGuard guard(final ConcurrencySetting setting) {
+        return new RequestGuard("test", setting, this.time::get);
+    }
+
+    /**
+     * Call taking the latency on the fake clock.
+     *
+     * @param millis Latency in milliseconds.
+     * @return Request call.
+     */
+    private RequestGuard.RequestCall<String> latency(final long millis) {
+        return () -> {
+            this.time.addAndGet(millis);
+            return "ok";
+        };
+    }
+
+    /**
+     * Fail a call with a 503.
+     *
+     * @param guard Request guard.
+     * @throws IOException If the call is rejected.
+     */
+    private void fail(final RequestGuard guard) throws IOException {
+        try {
+            guard.call(() -> {
+                throw new ElasticsearchStatusException(
+                    "unavailable", RestStatus.SERVICE_UNAVAILABLE
+                );
+            });
+            Assert.fail("Failure is rethrown");
+        } catch (final ElasticsearchStatusException ex) {
+            // expected
+        }
+    }
+
+    /**
+     * Fail a call with a client side bug.
+     *
+     * @param guard Request guard.
+     * @throws IOException If the call is rejected.
+     */
+    private void bug(final RequestGuard guard) throws IOException {
+        try {
+            guard.call(() -> {
+                throw new IllegalStateException("bug");
+            });
+            Assert.fail("Failure is rethrown");
+        } catch (final IllegalStateException ex) {
+            // expected
+        }
+    }
+
+    /**
+     * Assert the next call is rejected.
+     *
+     * @param guard Request guard.
+     */
+    private void assertRejected(final RequestGuard guard) {
+        try {
+            guard.call(this.latency(10));
+            Assert.fail("Call must be rejected");
+        } catch (final RejectedRequestException ex) {
+            // expected
+        } catch (final IOException ex) {
+            throw new AssertionError(ex);
+        }
+    }
+}
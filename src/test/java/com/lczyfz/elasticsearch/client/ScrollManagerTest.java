@@ -0,0 +1,159 @@
+package com.lczyfz.elasticsearch.client;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.search.ShardSearchFailure;
+import org.elasticsearch.search.internal.InternalSearchResponse;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Scroll manager test.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+public final class ScrollManagerTest {
+
+    /**
+     * Scroll ids of every clear scroll request.
+     */
+    private final List<List<String>> cleared = new ArrayList<>();
+
+    /**
+     * Whether the clear scroll call fails.
+     */
+    private boolean failing;
+
+    /**
+     * Scroll manager recording the clear scroll requests.
+     */
+    private final ScrollManager scrolls = new ScrollManager(request -> {
+        if (this.failing) {
+            throw new IOException("unavailable");
+        }
+        this.cleared.add(new ArrayList<>(request.getScrollIds()));
+    });
+
+    /**
+     * Test scroll ids are cleared in batches of 100.
+     *
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void batchClearTest() throws IOException {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            ids.add("id" + i);
+        }
+        this.scrolls.clear(ids);
+
+        Assert.assertEquals(3, this.cleared.size());
+        Assert.assertEquals(100, this.cleared.get(0).size());
+        Assert.assertEquals(100, this.cleared.get(1).size());
+        Assert.assertEquals(Arrays.asList("id200", "id249"), Arrays.asList(
+            this.cleared.get(2).get(0), this.cleared.get(2).get(49)
+        ));
+
+        this.cleared.clear();
+        this.scrolls.clear(ids.subList(0, ScrollManager.CLEAR_BATCH));
+        Assert.assertEquals(1, this.cleared.size());
+    }
+
+    /**
+     * Test a failed clear is swallowed and retried by close.
+     *
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void clearQuietlyTest() throws IOException {
+        ScrollManager.Cursor cursor = this.cursor("a", "1");
+        this.failing = true;
+        this.scrolls.clearQuietly(cursor.getScrollIds());
+        Assert.assertTrue(this.cleared.isEmpty());
+
+        this.failing = false;
+        this.scrolls.close();
+        Assert.assertEquals(
+            Arrays.asList(Arrays.asList("1")), this.cleared
+        );
+
+        // Cleared ids are not cleared again.
+        this.cleared.clear();
+        this.scrolls.close();
+        Assert.assertTrue(this.cleared.isEmpty());
+    }
+
+    /**
+     * Test the least recently used cursor is cleared over the max.
+     */
+    @Test
+    public void lruTest() {
+        for (int i = 0; i < ScrollManager.MAX_CURSORS; i++) {
+            this.scrolls.keep("s" + i, this.cursor("a", "id" + i), 60_000);
+        }
+        // Touch the eldest session, the second one becomes the eldest.
+        ScrollManager.Cursor first = this.scrolls.take(
+            "s0", request("a"), 2
+        );
+        Assert.assertNotNull(first);
+        this.scrolls.keep("s0", first, 60_000);
+        Assert.assertTrue(this.cleared.isEmpty());
+
+        this.scrolls.keep("new", this.cursor("a", "new"), 60_000);
+        Assert.assertEquals(
+            Arrays.asList(Arrays.asList("id1")), this.cleared
+        );
+        Assert.assertNull(this.scrolls.take("s1", request("a"), 2));
+        Assert.assertNotNull(this.scrolls.take("s0", request("a"), 2));
+    }
+
+    /**
+     * Test a cursor of another search is cleared instead of continued.
+     */
+    @Test
+    public void takeTest() {
+        this.scrolls.keep("s", this.cursor("a", "1"), 60_000);
+        Assert.assertNull(this.scrolls.take("s", request("b"), 2));
+        Assert.assertEquals(
+            Arrays.asList(Arrays.asList("1")), this.cleared
+        );
+
+        this.scrolls.keep("s", this.cursor("a", "2"), -1);
+        Assert.assertNull(this.scrolls.take("s", request("a"), 2));
+        Assert.assertEquals(2, this.cleared.size());
+    }
+
+    /**
+     * Open a cursor on the index.
+     *
+     * @param index The index name.
+     * @param scrollId The scroll id.
+     * @return Cursor.
+     */
+    private ScrollManager.Cursor cursor(final String index,
+        final String scrollId) {
+        SearchResponse response = new SearchResponse(
+            InternalSearchResponse.empty(), scrollId, 1, 1, 0, 1,
+            ShardSearchFailure.EMPTY_ARRAY, SearchResponse.Clusters.EMPTY
+        );
+        ScrollManager.Cursor cursor =
+            new ScrollManager.Cursor(request(index), response);
+        this.scrolls.opened(cursor, response);
+        return cursor;
+    }
+
+    /**
+     * Search request of the index.
+     *
+     * @param index The index name.
+     * @return Search request.
+     */
+    private static SearchRequest request(final String index) {
+        return new SearchRequest(index);
+    }
+}
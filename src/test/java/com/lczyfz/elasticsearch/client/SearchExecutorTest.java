@@ -0,0 +1,75 @@
+package com.lczyfz.elasticsearch.client;
+
+import com.lczyfz.elasticsearch.entity.HedgeSetting;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Search executor test.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+public final class SearchExecutorTest {
+
+    /**
+     * Test the hedge copies the request with a random custom preference.
+     */
+    @Test
+    public void hedgePreferenceTest() {
+        SearchRequest request = new SearchRequest(
+            new String[] {"user"}, new SearchSourceBuilder().size(5)
+        );
+        request.routing("1");
+        request.preference("session");
+
+        SearchRequest hedge = SearchExecutor.hedge(request);
+        Assert.assertArrayEquals(request.indices(), hedge.indices());
+        Assert.assertEquals("1", hedge.routing());
+        Assert.assertSame(request.source(), hedge.source());
+        Assert.assertFalse(hedge.preference().startsWith("_"));
+        Assert.assertNotEquals("session", hedge.preference());
+        Assert.assertNotEquals(hedge.preference(),
+            SearchExecutor.hedge(request).preference());
+        Assert.assertFalse(SearchExecutor.hedge(new SearchRequest("user"))
+            .preference().startsWith("_"));
+    }
+
+    /**
+     * Test a built in preference is not hedged.
+     */
+    @Test
+    public void hedgeableTest() {
+        SearchRequest request = new SearchRequest("user");
+        Assert.assertTrue(SearchExecutor.isHedgeable(request));
+        request.preference("session");
+        Assert.assertTrue(SearchExecutor.isHedgeable(request));
+        request.preference("_shards:0");
+        Assert.assertFalse(SearchExecutor.isHedgeable(request));
+    }
+
+    /**
+     * Test the hedge waits for the latency percentile.
+     */
+    @Test
+    public void hedgeDelayTest() {
+        HedgeSetting setting = new HedgeSetting();
+        setting.setPercentile(0.95);
+        setting.setMinDelayMillis(10);
+        LatencyTracker latency = new LatencyTracker();
+        Assert.assertEquals(Long.MAX_VALUE,
+            SearchExecutor.hedgeDelay(latency, setting));
+
+        for (int i = 100; i > 0; i--) {
+            latency.record(i);
+        }
+        Assert.assertEquals(95, SearchExecutor.hedgeDelay(latency, setting));
+        setting.setPercentile(0.05);
+        Assert.assertEquals(10, SearchExecutor.hedgeDelay(latency, setting));
+        setting.setMinDelayMillis(200);
+        setting.setPercentile(0.95);
+        Assert.assertEquals(200, SearchExecutor.hedgeDelay(latency, setting));
+    }
+}
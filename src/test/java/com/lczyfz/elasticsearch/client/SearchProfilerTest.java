@@ -0,0 +1,95 @@
+package com.lczyfz.elasticsearch.client;
+
+import com.lczyfz.elasticsearch.entity.ProfileSetting;
+import com.lczyfz.elasticsearch.entity.SearchResult;
+import com.lczyfz.elasticsearch.entity.SlowLogEntry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Search profiler test.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+public final class SearchProfilerTest {
+
+    /**
+     * Test a sampled search is profiled and logged with its query.
+     */
+    @Test
+    public void sampleTest() {
+        ProfileSetting setting = new ProfileSetting();
+        setting.setSampleRate(1);
+        setting.setSlowMillis(Long.MAX_VALUE);
+        List<SlowLogEntry> entries = new ArrayList<>();
+        SearchProfiler profiler =
+            new SearchProfiler(null, setting, entries::add);
+
+        SlowLogEntry entry = trace(profiler, entries);
+        Assert.assertTrue(entry.isSampled());
+        Assert.assertFalse(entry.isSlow());
+        Assert.assertArrayEquals(new String[] {"index"}, entry.getIndices());
+        Assert.assertTrue(entry.getQuery().contains("\"profile\":true"));
+        Assert.assertTrue(entry.getQuery().contains("match_all"));
+        Assert.assertEquals(2, entry.getPageNo());
+        Assert.assertEquals(5, entry.getTotal());
+    }
+
+    /**
+     * Test a slow search is logged without profile once the budget is
+     * spent and a fast search is not logged.
+     */
+    @Test
+    public void slowTest() {
+        ProfileSetting setting = new ProfileSetting();
+        setting.setSampleRate(0);
+        setting.setSlowMillis(0);
+        setting.setMaxProfilesPerSecond(0);
+        List<SlowLogEntry> entries = new ArrayList<>();
+        SearchProfiler profiler =
+            new SearchProfiler(null, setting, entries::add);
+
+        SlowLogEntry entry = trace(profiler, entries);
+        Assert.assertFalse(entry.isSampled());
+        Assert.assertTrue(entry.isSlow());
+        Assert.assertNull(entry.getProfile());
+        Assert.assertFalse(entry.getQuery().contains("profile"));
+
+        setting.setSlowMillis(Long.MAX_VALUE);
+        entries.clear();
+        SearchSourceBuilder source = new SearchSourceBuilder();
+        SearchProfiler.Trace trace = SearchProfiler.start(profiler);
+        trace.built(source);
+        trace.waited();
+        trace.finish(new SearchRequest("index").source(source), 1,
+            new SearchResult(0, Collections.emptyList(), null));
+        Assert.assertTrue(entries.isEmpty());
+    }
+
+    /**
+     * Trace a search and take the only entry.
+     *
+     * @param profiler The profiler.
+     * @param entries The logged entries.
+     * @return Slow log entry.
+     */
+    private static SlowLogEntry trace(final SearchProfiler profiler,
+        final List<SlowLogEntry> entries) {
+        SearchSourceBuilder source =
+            new SearchSourceBuilder().query(QueryBuilders.matchAllQuery());
+        SearchProfiler.Trace trace = SearchProfiler.start(profiler);
+        trace.built(source);
+        trace.waited();
+        trace.finish(new SearchRequest("index").source(source), 2,
+            new SearchResult(5, Collections.emptyList(), null));
+        Assert.assertEquals(1, entries.size());
+        return entries.get(0);
+    }
+}
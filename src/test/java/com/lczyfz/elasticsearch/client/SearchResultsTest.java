@@ -0,0 +1,63 @@
+package com.lczyfz.elasticsearch.client;
+
+import com.alibaba.fastjson.JSONObject;
+import com.lczyfz.elasticsearch.entity.SearchResult;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.elasticsearch.common.bytes.BytesArray;
+import org.elasticsearch.common.text.Text;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.SearchHits;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Search results test.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+public final class SearchResultsTest {
+
+    /**
+     * Test the result is immutable and the JSON keeps the old keys.
+     */
+    @Test
+    public void resultTest() {
+        SearchHit hit = new SearchHit(
+            1, "1", new Text("_doc"), Collections.emptyMap()
+        );
+        hit.sourceRef(new BytesArray("{\"name\":\"a\"}"));
+        SearchHits hits = new SearchHits(new SearchHit[] {hit}, 5, 1.0F);
+
+        SearchResult result = SearchResults.result(hits, null);
+        Assert.assertEquals(5, result.getTotal());
+        Assert.assertEquals("a", result.getData().get(0).get("name"));
+        Assert.assertNull(result.getHighlights());
+        try {
+            result.getData().clear();
+            Assert.fail("Data must be immutable");
+        } catch (final UnsupportedOperationException ex) {
+            // expected
+        }
+
+        JSONObject json = ResultSink.json().accept(
+            result.withTotal(3, "gte")
+        );
+        Assert.assertEquals(3L,
+            json.get(EasyRestHighLevelClient.SINGLE_INDEX_TOTAL));
+        Assert.assertEquals("gte",
+            json.get(EasyRestHighLevelClient.SINGLE_INDEX_TOTAL_RELATION));
+        List<?> data =
+            (List<?>) json.get(EasyRestHighLevelClient.SINGLE_INDEX_DATA);
+        Assert.assertEquals("a", ((Map<?, ?>) data.get(0)).get("name"));
+        Assert.assertFalse(
+            json.containsKey(EasyRestHighLevelClient.SINGLE_INDEX_HIGHLIGHT)
+        );
+
+        ((List<?>) json.get(EasyRestHighLevelClient.SINGLE_INDEX_DATA))
+            .clear();
+        Assert.assertEquals(1, result.getData().size());
+    }
+}
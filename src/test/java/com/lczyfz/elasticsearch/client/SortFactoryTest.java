@@ -0,0 +1,118 @@
+package com.lczyfz.elasticsearch.client;
+
+import com.lczyfz.elasticsearch.entity.SortField;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.sort.FieldSortBuilder;
+import org.elasticsearch.search.sort.SortBuilder;
+import org.elasticsearch.search.sort.SortOrder;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Sort factory test.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+public final class SortFactoryTest {
+
+    /**
+     * Test text sorts use the keyword sub field and a tiebreaker is added.
+     */
+    @Test
+    public void keywordTest() {
+        Map<String, String> fieldTypes = new HashMap<>(3);
+        fieldTypes.put("name", "text");
+        fieldTypes.put("name.keyword", "keyword");
+        fieldTypes.put("age", "integer");
+        SortField age = this.sortField("age", "desc");
+        age.setMissing("_first");
+
+        List<SortBuilder<?>> sorts = SortFactory.create(
+            Arrays.asList(this.sortField("name", "ASC"), age), fieldTypes,
+            null
+        );
+        Assert.assertEquals(3, sorts.size());
+        FieldSortBuilder name = (FieldSortBuilder) sorts.get(0);
+        Assert.assertEquals("name.keyword", name.getFieldName());
+        Assert.assertEquals("keyword", name.unmappedType());
+        FieldSortBuilder second = (FieldSortBuilder) sorts.get(1);
+        Assert.assertEquals(SortOrder.DESC, second.order());
+        Assert.assertEquals("_first", second.missing());
+        Assert.assertEquals(
+            "_doc", ((FieldSortBuilder) sorts.get(2)).getFieldName()
+        );
+
+        SearchSourceBuilder source = new SearchSourceBuilder()
+            .query(QueryBuilders.termQuery("age", 3));
+        sorts.forEach(source::sort);
+        String preference = SortFactory.preference(source);
+        Assert.assertTrue(preference.startsWith("sort"));
+        Assert.assertEquals(preference, SortFactory.preference(
+            new SearchSourceBuilder().query(QueryBuilders.termQuery("age", 3))
+                .sort("age").sort("_doc")
+        ));
+        Assert.assertNull(SortFactory.preference(
+            new SearchSourceBuilder().sort("age")
+        ));
+    }
+
+    /**
+     * Test the tiebreaker field of the condition replaces the index order.
+     */
+    @Test
+    public void tiebreakerTest() {
+        Map<String, String> fieldTypes = new HashMap<>(2);
+        fieldTypes.put("code", "text");
+        fieldTypes.put("code.keyword", "keyword");
+        List<SortBuilder<?>> sorts = SortFactory.create(Arrays.asList(
+            this.sortField("age", "desc")
+        ), fieldTypes, "code");
+        Assert.assertEquals(2, sorts.size());
+        FieldSortBuilder tiebreaker = (FieldSortBuilder) sorts.get(1);
+        Assert.assertEquals("code.keyword", tiebreaker.getFieldName());
+        Assert.assertEquals(SortOrder.ASC, tiebreaker.order());
+        Assert.assertTrue(SortFactory.needsFieldTypes(Arrays.asList(
+            this.sortField("_score", null)
+        ), "code"));
+
+        Assert.assertEquals(1, SortFactory.create(Arrays.asList(
+            this.sortField("_doc", null)
+        ), new HashMap<>(0), null).size());
+        Assert.assertEquals(1, SortFactory.create(Arrays.asList(
+            this.sortField("code", "desc")
+        ), fieldTypes, "code").size());
+    }
+
+    /**
+     * Test a text field without keyword sub field is rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void textTest() {
+        Map<String, String> fieldTypes = new HashMap<>(1);
+        fieldTypes.put("name", "text");
+        SortFactory.create(
+            Arrays.asList(this.sortField("name", "ASC")), fieldTypes, null
+        );
+    }
+
+    /**
+     * Create sort field.
+     *
+     * @param fieldName The field name.
+     * @param sortType The sort type.
+     * @return Sort field.
+     */
+    private SortField sortField(final String fieldName,
+        final String sortType) {
+        SortField field = new SortField();
+        field.setFieldName(fieldName);
+        field.setSortType(sortType);
+        return field;
+    }
+}
@@ -0,0 +1,101 @@
+package com.lczyfz.elasticsearch.client;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Spool log test.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+public final class SpoolLogTest {
+
+    /**
+     * Segment size, two records of ten bytes per segment.
+     */
+    private static final int SEGMENT_BYTES = 40;
+
+    /**
+     * Temporary spool directory.
+     */
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Test records are read in order across segments and the committed
+     * position survives a reopen.
+     *
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void resumeTest() throws IOException {
+        Path directory = this.folder.getRoot().toPath();
+        SpoolLog log = new SpoolLog(directory, SEGMENT_BYTES, 3);
+        for (int i = 0; i < 5; i++) {
+            log.append(this.payload(i));
+        }
+        SpoolLog.Record record = log.peek();
+        Assert.assertEquals("record-000", this.text(record));
+        log.commit(record);
+        log.commit(log.peek());
+        Assert.assertEquals("record-002", this.text(log.peek()));
+        log.close();
+
+        SpoolLog reopened = new SpoolLog(directory, SEGMENT_BYTES, 3);
+        Assert.assertFalse(reopened.isEmpty());
+        for (int i = 2; i < 5; i++) {
+            record = reopened.peek();
+            Assert.assertEquals(String.format("record-%03d", i),
+                this.text(record));
+            reopened.commit(record);
+        }
+        Assert.assertNull(reopened.peek());
+        Assert.assertTrue(reopened.isEmpty());
+        Assert.assertEquals(1, Files.list(directory)
+            .filter(file -> file.toString().endsWith(".seg")).count());
+        reopened.close();
+    }
+
+    /**
+     * Test appending beyond the max segments fails.
+     *
+     * @throws IOException If something goes wrong.
+     */
+    @Test(expected = IOException.class)
+    public void fullTest() throws IOException {
+        SpoolLog log = new SpoolLog(
+            this.folder.getRoot().toPath(), SEGMENT_BYTES, 1
+        );
+        for (int i = 0; i < 3; i++) {
+            log.append(this.payload(i));
+        }
+    }
+
+    /**
+     * Test payload.
+     *
+     * @param i Sequence.
+     * @return Ten bytes payload.
+     */
+    private byte[] payload(final int i) {
+        return String.format("record-%03d", i)
+            .getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Payload text.
+     *
+     * @param record The record.
+     * @return Text.
+     */
+    private String text(final SpoolLog.Record record) {
+        return new String(record.getPayload(), StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,145 @@
+package com.lczyfz.elasticsearch.client;
+
+import com.lczyfz.elasticsearch.entity.DumpCondition;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.index.IndexResponse;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.search.ShardSearchFailure;
+import org.elasticsearch.common.text.Text;
+import org.elasticsearch.index.shard.ShardId;
+import org.elasticsearch.search.SearchHits;
+import org.elasticsearch.search.internal.InternalSearchResponse;
+import org.elasticsearch.search.suggest.Suggest;
+import org.elasticsearch.search.suggest.completion.CompletionSuggestion;
+import org.elasticsearch.search.suggest.completion.CompletionSuggestionBuilder;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Suggest index test.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+public final class SuggestIndexTest {
+
+    /**
+     * Test a value is stored once and unusable values are skipped.
+     */
+    @Test
+    public void requestsTest() {
+        Map<String, String> data = new HashMap<>();
+        data.put("name", " Alice ");
+        data.put("city", "");
+        data.put("note", String.join("", Collections.nCopies(101, "a")));
+        data.put("other", "Alice");
+
+        List<IndexRequest> requests = SuggestIndex.requests("user", data,
+            Arrays.asList("name", "city", "note", "missing", "other"));
+        Assert.assertEquals(2, requests.size());
+        Assert.assertEquals("user_suggest", requests.get(0).index());
+        Assert.assertEquals("Alice",
+            requests.get(0).sourceAsMap().get(SuggestIndex.FIELD));
+        Assert.assertEquals(requests.get(0).id(), requests.get(1).id());
+    }
+
+    /**
+     * Test the suggestion searches the side indices leniently.
+     */
+    @Test
+    public void searchRequestTest() {
+        SearchRequest request = SuggestIndex.searchRequest(
+            "al", Arrays.asList("user", "order"), 5
+        );
+        Assert.assertArrayEquals(
+            new String[] {"user_suggest", "order_suggest"}, request.indices()
+        );
+        Assert.assertTrue(request.indicesOptions().ignoreUnavailable());
+        Assert.assertEquals(0, request.source().size());
+        CompletionSuggestionBuilder suggestion = (CompletionSuggestionBuilder)
+            request.source().suggest().getSuggestions().get("prefix");
+        Assert.assertEquals(SuggestIndex.FIELD, suggestion.field());
+        Assert.assertEquals(Integer.valueOf(5), suggestion.size());
+    }
+
+    /**
+     * Test values are extracted in order without duplicates.
+     */
+    @Test
+    public void extractTest() {
+        CompletionSuggestion.Entry entry =
+            new CompletionSuggestion.Entry(new Text("al"), 0, 2);
+        for (final String value : new String[] {"Alice", "Alan", "Alice"}) {
+            entry.addOption(new CompletionSuggestion.Entry.Option(
+                1, new Text(value), 1.0F, Collections.emptyMap()
+            ));
+        }
+        CompletionSuggestion suggestion =
+            new CompletionSuggestion("prefix", 5, false);
+        suggestion.addTerm(entry);
+        SearchResponse response = new SearchResponse(
+            new InternalSearchResponse(SearchHits.empty(), null,
+                new Suggest(Collections.singletonList(suggestion)),
+                null, false, null, 1),
+            null, 1, 1, 0, 1, ShardSearchFailure.EMPTY_ARRAY,
+            SearchResponse.Clusters.EMPTY
+        );
+
+        Assert.assertEquals(Arrays.asList("Alice", "Alan"),
+            SuggestIndex.extract(response, 5));
+        Assert.assertEquals(Collections.singletonList("Alice"),
+            SuggestIndex.extract(response, 1));
+    }
+
+    /**
+     * Test only rows written to the table feed suggestions.
+     */
+    @Test
+    public void dumpedTest() {
+        Map<String, String> first = Collections.singletonMap("name", "a");
+        Map<String, String> second = Collections.singletonMap("name", "b");
+        BulkResponse response = new BulkResponse(new BulkItemResponse[] {
+            new BulkItemResponse(0, DocWriteRequest.OpType.INDEX,
+                new BulkItemResponse.Failure("user", "_doc", "1",
+                    new IllegalArgumentException("mapping"))),
+            new BulkItemResponse(1, DocWriteRequest.OpType.INDEX,
+                new IndexResponse(new ShardId("user", "_na_", 0), "_doc",
+                    "2", 1, 1, 1, true)),
+        }, 1);
+
+        Assert.assertEquals(Collections.singletonList(second),
+            SuggestIndex.dumped(Arrays.asList(first, second), response));
+    }
+
+    /**
+     * Test failed suggestion items are counted and a dump without suggest
+     * fields feeds nothing.
+     */
+    @Test
+    public void failedTest() {
+        BulkResponse response = new BulkResponse(new BulkItemResponse[] {
+            new BulkItemResponse(0, DocWriteRequest.OpType.INDEX,
+                new BulkItemResponse.Failure("user_suggest", "_doc", "1",
+                    new IllegalArgumentException("mapping"))),
+            new BulkItemResponse(1, DocWriteRequest.OpType.INDEX,
+                new IndexResponse(new ShardId("user_suggest", "_na_", 0),
+                    "_doc", "2", 1, 1, 1, true)),
+        }, 1);
+        Assert.assertEquals(1, SuggestIndex.failed(response));
+
+        SuggestIndex index = new SuggestIndex(null, null);
+        Assert.assertEquals(0, index.feed("user",
+            Collections.singletonList(Collections.singletonMap("name", "a")),
+            response, new DumpCondition()));
+        Assert.assertEquals(0, index.failures());
+    }
+}
@@ -0,0 +1,45 @@
+package com.lczyfz.elasticsearch.entity;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Index setting test.
+ *
+ * @author Jack Pan
+ * @version 1.00 2026-10-19
+ */
+public final class IndexSettingTest {
+
+    /**
+     * Test small table gets a single shard.
+     */
+    @Test
+    public void estimateSmallTest() {
+        IndexSetting setting = IndexSetting.estimate(1_000L, 512L, 1);
+        Assert.assertEquals(Integer.valueOf(1), setting.getNumberOfShards());
+        Assert.assertEquals(Integer.valueOf(1), setting.getNumberOfReplicas());
+    }
+
+    /**
+     * Test large table is split by size.
+     */
+    @Test
+    public void estimateLargeTest() {
+        IndexSetting setting = IndexSetting.estimate(500_000_000L, 1024L, 1);
+        Assert.assertEquals(Integer.valueOf(16), setting.getNumberOfShards());
+    }
+
+    /**
+     * Test shard count is capped.
+     */
+    @Test
+    public void estimateCapTest() {
+        IndexSetting setting =
+            IndexSetting.estimate(50_000_000_000L, 4096L, 1);
+        Assert.assertEquals(
+            Integer.valueOf(IndexSetting.MAX_SHARDS),
+            setting.getNumberOfShards()
+        );
+    }
+}